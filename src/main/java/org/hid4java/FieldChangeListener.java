@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.EventListener;
+
+
+/**
+ * FieldChangeListener. receives changes of an input field.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@FunctionalInterface
+public interface FieldChangeListener extends EventListener {
+
+    /**
+     * @param field the field changed
+     * @param value {@link ReportLayout.Field#getValue(byte[])} of the report
+     * @param event the report, reused after this returns
+     */
+    void onFieldChanged(ReportLayout.Field field, int value, HidDeviceEvent event);
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * FieldSubscriptions. calls listeners of input fields changed only.
+ * <p>
+ * a report is compared with the previous report of the same report ID, an identical report ends at one comparison.
+ * otherwise the reports are xor-ed word by word from the first difference, and each changed bit is mapped
+ * to the field covering it by a bit to field index built from the {@link ReportLayout}.
+ * the first report of a report ID changes all of its fields.
+ * <p>
+ * reports must come from a thread at a time as {@link HidDeviceListener}s do.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public final class FieldSubscriptions implements HidDeviceListener {
+
+    /** reads 8 bytes of a report as a word, the bit order of HID is little endian */
+    private static final VarHandle WORD = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /** */
+    private final ReportLayout layout;
+
+    /** */
+    private final ReportLayout.Field[] fields;
+
+    /** field indices by bit by report ID, -1 for a bit of no field, null for a report ID of no field */
+    private final int[][] fieldOfBit = new int[256][];
+
+    /** the previous report by report ID */
+    private final byte[][] previous = new byte[256][];
+    private final int[] previousLengths = new int[256];
+
+    /** listeners by field index, replaced on every modification */
+    private volatile FieldChangeListener[][] subscribers;
+
+    /** reports ended at the first comparison */
+    private long identical;
+
+    /** */
+    public FieldSubscriptions(ReportLayout layout) {
+        this.layout = layout;
+        List<ReportLayout.Field> fields = layout.getInputFields();
+        this.fields = fields.toArray(ReportLayout.Field[]::new);
+        this.subscribers = new FieldChangeListener[this.fields.length][];
+
+        for (ReportLayout.Field field : this.fields) {
+            int[] index = fieldOfBit[field.reportId];
+            if (index == null) {
+                index = new int[layout.getInputReportSize(field.reportId) * 8];
+                Arrays.fill(index, -1);
+                fieldOfBit[field.reportId] = index;
+            }
+            for (int bit = field.bitOffset; bit < field.bitOffset + field.bitSize; bit++) {
+                index[bit] = field.index;
+            }
+        }
+    }
+
+    /**
+     * Creates subscriptions by the report descriptor of the device and listens to it.
+     */
+    public static FieldSubscriptions attach(HidDevice device) throws IOException {
+        byte[] descriptor = new byte[HidDevice.HID_API_MAX_REPORT_DESCRIPTOR_SIZE];
+        int length = device.getReportDescriptor(descriptor);
+        if (length <= 0) {
+            throw new IOException("no report descriptor: " + device.getPath());
+        }
+        FieldSubscriptions subscriptions = new FieldSubscriptions(ReportLayout.parse(descriptor, length));
+        device.addInputReportListener(subscriptions);
+        return subscriptions;
+    }
+
+    /** */
+    public ReportLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * @param field a field of {@link #getLayout()}
+     */
+    public synchronized void subscribe(ReportLayout.Field field, FieldChangeListener listener) {
+        FieldChangeListener[][] table = subscribers.clone();
+        FieldChangeListener[] current = table[field.index] != null ? table[field.index] : new FieldChangeListener[0];
+        FieldChangeListener[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = listener;
+        table[field.index] = next;
+        subscribers = table;
+    }
+
+    /** */
+    public synchronized void unsubscribe(ReportLayout.Field field, FieldChangeListener listener) {
+        FieldChangeListener[] current = subscribers[field.index];
+        if (current == null) {
+            return;
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                FieldChangeListener[] next = new FieldChangeListener[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                FieldChangeListener[][] table = subscribers.clone();
+                table[field.index] = next.length == 0 ? null : next;
+                subscribers = table;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onInputReport(HidDeviceEvent event) {
+        int reportId = layout.hasReportIds() ? event.getReportId() & 0xff : 0;
+        int[] index = fieldOfBit[reportId];
+        if (index == null) {
+            return;
+        }
+        byte[] report = event.getReport();
+        int length = event.getLength();
+        FieldChangeListener[][] subscribers = this.subscribers;
+
+        byte[] last = previous[reportId];
+        if (last == null || previousLengths[reportId] != length) {
+            if (last == null || last.length < length) {
+                last = new byte[length];
+                previous[reportId] = last;
+            }
+            System.arraycopy(report, 0, last, 0, length);
+            previousLengths[reportId] = length;
+            for (ReportLayout.Field field : fields) {
+                if (field.reportId == reportId) {
+                    fire(subscribers, field.index, event);
+                }
+            }
+            return;
+        }
+
+        int first = Arrays.mismatch(last, 0, length, report, 0, length);
+        if (first < 0) {
+            identical++;
+            return;
+        }
+
+        int lastField = -1;
+        for (int p = first & ~7; p < length; p += 8) {
+            long x;
+            if (p + 8 <= length) {
+                x = (long) WORD.get(last, p) ^ (long) WORD.get(report, p);
+            } else {
+                x = 0;
+                for (int k = p; k < length; k++) {
+                    x |= (long) ((last[k] ^ report[k]) & 0xff) << ((k - p) * 8);
+                }
+            }
+            int base = p * 8;
+            while (x != 0) {
+                int bit = base + Long.numberOfTrailingZeros(x);
+                int f = bit < index.length ? index[bit] : -1;
+                int end;
+                if (f >= 0) {
+                    if (f != lastField) {
+                        lastField = f;
+                        fire(subscribers, f, event);
+                    }
+                    // the rest of the field in this word is done
+                    end = fields[f].bitOffset + fields[f].bitSize - base;
+                } else {
+                    end = bit - base + 1;
+                }
+                x = end >= 64 ? 0 : x & (-1L << end);
+            }
+        }
+        System.arraycopy(report, first, last, first, length - first);
+    }
+
+    /** */
+    private void fire(FieldChangeListener[][] subscribers, int f, HidDeviceEvent event) {
+        FieldChangeListener[] listeners = subscribers[f];
+        if (listeners != null) {
+            ReportLayout.Field field = fields[f];
+            int value = field.getValue(event.getReport());
+            for (FieldChangeListener listener : listeners) {
+                listener.onFieldChanged(field, value, event);
+            }
+        }
+    }
+
+    /** @return the number of reports identical to the previous one, by the thread of reports */
+    public long getIdenticalReports() {
+        return identical;
+    }
+}
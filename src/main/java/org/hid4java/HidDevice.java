@@ -26,9 +26,27 @@
 package org.hid4java;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.management.ObjectName;
+
+import org.hid4java.HidSpecification.OverflowPolicy;
 
 
 /**
@@ -46,10 +64,81 @@ public class HidDevice {
 
     private final Runnable afterWrite;
     private final Info info;
-    private final NativeHidDevice nativeDevice;
+
+    /** creates {@link #nativeDevice} lazily, null when given at construction */
+    private final NativeHidDevices nativeManager;
+
+    /** created on {@link #open()} or the first I/O */
+    private NativeHidDevice nativeDevice;
+
+    /** input report listeners of this device, valid before the native device is created */
+    private final HidDeviceListenerSupport listeners = new HidDeviceListenerSupport();
 
     private boolean isOpen;
 
+    /** hash of the fields identifying this device across scans, see {@link #identityHash(Info)} */
+    final int identity;
+
+    /** the generation of {@link HidDevices#scan()} which found this device last */
+    int scanGeneration;
+
+    /** pending output reports by report ID, the latest one wins */
+    private final Map<Integer, OutputReport> pendingOutputs = new LinkedHashMap<>();
+
+    /** true while a flush of {@link #pendingOutputs} is scheduled */
+    private boolean flushScheduled;
+
+    /** an exception of the scheduled flush, thrown at the next {@link #enqueue(int, byte[])} */
+    private IOException flushException;
+
+    /** milliseconds, 0 means output reports are written at {@link #enqueue(int, byte[])} */
+    private volatile int outputFlushInterval;
+
+    /** the number of input reports queued, 0 means listeners are called by the reader */
+    private int inputQueueSize;
+
+    /** */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /** between the reader and listeners, created on {@link #open()} when {@link #inputQueueSize} is not 0 */
+    private volatile InputReportRing inputQueue;
+
+    /** intervals between input reports read */
+    private final LatencyHistogram inputIntervals = new LatencyHistogram();
+
+    /** delays from reading input reports to calling listeners */
+    private final LatencyHistogram dispatchDelays = new LatencyHistogram();
+
+    /** counters, exposed by JMX when {@link HidSpecification#isJmxEnabled()} */
+    private final HidDeviceMetrics metrics = new HidDeviceMetrics(this);
+
+    /** registered while open, null when not registered */
+    private ObjectName objectName;
+
+    /** numbers instances for the object names, devices of the same path may be open at a time */
+    private static final AtomicInteger instances = new AtomicInteger();
+
+    /** records output reports, null when not recording */
+    private volatile ReportRecorder recorder;
+
+    /** the time of the last input report read, by the reader only */
+    private long lastInputTime;
+
+    /** publishers having subscribers, completed on {@link #close()} */
+    private final List<ReportPublisher> publishers = new CopyOnWriteArrayList<>();
+
+    /** the publisher of {@link #reports()}, created lazily */
+    private ReportPublisher reports;
+
+    /** creates the dispatcher thread of {@link #inputQueue}, null means the default */
+    HidSpecification specification;
+
+    /** gives the executor flushing the output queue, set by {@link HidDevices}, null means {@link #outputExecutor} */
+    Supplier<ScheduledExecutorService> outputExecutors;
+
+    /** flushes the output queue of this device only, when not given by {@link HidDevices}, shut down on {@link #close()} */
+    private ScheduledExecutorService outputExecutor;
+
     /**
      * Maximum expected HID Report descriptor size in bytes.
      *
@@ -149,12 +238,60 @@ public class HidDevice {
         }
     }
 
+    /**
+     * An output report for {@link #writeBatch(List)} and {@link #enqueue(int, byte[])}.
+     */
+    public static final class OutputReport {
+
+        final int reportId;
+        final byte[] data;
+        final int length;
+
+        /**
+         * @param reportId The report ID
+         * @param data     The message including the report ID as the first byte, not copied
+         * @param length   The length of the message
+         */
+        public OutputReport(int reportId, byte[] data, int length) {
+            this.reportId = reportId;
+            this.data = data;
+            this.length = length;
+        }
+
+        /** */
+        public OutputReport(int reportId, byte[] data) {
+            this(reportId, data, data.length);
+        }
+
+        /** */
+        public int getReportId() {
+            return reportId;
+        }
+    }
+
     /**
      * @param info          The HID device info structure providing details
      * @param afterWrite The HID device afterWrite providing access to device enumeration for post IO scanning
      * @since 0.1.0
      */
     public HidDevice(Info info, NativeHidDevice nativeDevice, Runnable afterWrite) throws IOException {
+        this(info, null, nativeDevice, afterWrite);
+    }
+
+    /**
+     * The native device is not created until {@link #open()} or the first I/O,
+     * so enumerated devices cost no native resources.
+     *
+     * @param info          The HID device info structure providing details
+     * @param nativeManager The native device provider to create the native device lazily
+     * @param afterWrite The HID device afterWrite providing access to device enumeration for post IO scanning
+     */
+    public HidDevice(Info info, NativeHidDevices nativeManager, Runnable afterWrite) {
+        this(info, nativeManager, null, afterWrite);
+    }
+
+    /** */
+    private HidDevice(Info info, NativeHidDevices nativeManager, NativeHidDevice nativeDevice, Runnable afterWrite) {
 
         this.afterWrite = afterWrite;
 
@@ -166,11 +303,89 @@ public class HidDevice {
         // In Java 8 Short.toUnsignedInt() is available.
         this.info.vendorId = this.info.vendorId & 0xffff;
         this.info.productId = this.info.productId & 0xffff;
+        this.identity = identityHash(info);
 
-        this.nativeDevice = nativeDevice;
+        this.nativeManager = nativeManager;
+        if (nativeDevice != null) {
+            setNativeDevice(nativeDevice);
+        }
 logger.finest(getPath() + "(@" + hashCode() + "): " + nativeDevice);
     }
 
+    /**
+     * Computes a hash of the stable identity fields (path, VID/PID, serial, usage pair).
+     * this does not allocate, so it is cheap enough to call for every device on every scan.
+     *
+     * @param info The device information enumerated
+     * @return The hash
+     */
+    static int identityHash(Info info) {
+        int h = info.path == null ? 0 : info.path.hashCode();
+        h = 31 * h + (info.vendorId & 0xffff);
+        h = 31 * h + (info.productId & 0xffff);
+        h = 31 * h + (info.serialNumber == null ? 0 : info.serialNumber.hashCode());
+        h = 31 * h + info.usagePage;
+        h = 31 * h + info.usage;
+        return h;
+    }
+
+    /**
+     * @param other    The device information enumerated
+     * @param identity {@link #identityHash(Info)} of other
+     * @return True if other denotes the same device as this
+     */
+    boolean isSameDevice(Info other, int identity) {
+        return this.identity == identity &&
+                Objects.equals(info.path, other.path) &&
+                info.vendorId == (other.vendorId & 0xffff) &&
+                info.productId == (other.productId & 0xffff) &&
+                Objects.equals(info.serialNumber, other.serialNumber) &&
+                info.usagePage == other.usagePage &&
+                info.usage == other.usage;
+    }
+
+    /** bridges input reports of the native device to the listeners of this device */
+    private void setNativeDevice(NativeHidDevice nativeDevice) {
+        this.nativeDevice = nativeDevice;
+        nativeDevice.addInputReportListener(this::onInputReport);
+    }
+
+    /** from the reader of the native device */
+    private void onInputReport(HidDeviceEvent event) {
+        long time = event.getTime();
+        if (lastInputTime != 0) {
+            inputIntervals.record(time - lastInputTime);
+        }
+        lastInputTime = time;
+        metrics.read(event.getLength());
+
+        InputReportRing inputQueue = this.inputQueue;
+        if (inputQueue != null) {
+            inputQueue.onInputReport(event);
+        } else {
+            dispatch(event);
+        }
+    }
+
+    /** calls listeners, by the reader or the dispatcher of {@link #inputQueue} */
+    private void dispatch(HidDeviceEvent event) {
+        long start = System.nanoTime();
+        dispatchDelays.record(start - event.getTime());
+        listeners.fireOnInputReport(event);
+        metrics.dispatched(System.nanoTime() - start);
+    }
+
+    /**
+     * @return the native device, created at the first call
+     */
+    private synchronized NativeHidDevice nativeDevice() throws IOException {
+        if (nativeDevice == null) {
+            setNativeDevice(nativeManager.create(info));
+logger.finest(getPath() + "(@" + hashCode() + "): created: " + nativeDevice);
+        }
+        return nativeDevice;
+    }
+
     /**
      * The "path" is well-supported across Windows, Mac and Linux so makes a
      * better choice for a unique ID
@@ -266,7 +481,18 @@ logger.finest(getPath() + "(@" + hashCode() + "): " + nativeDevice);
      * @since 0.1.0
      */
     public void open() throws IOException {
-        nativeDevice.open();
+        NativeHidDevice device = nativeDevice();
+        synchronized (this) {
+            lastInputTime = 0;
+            if (specification != null && specification.isJmxEnabled() && objectName == null) {
+                objectName = Management.register(metrics, "type=HidDevice,id=" + instances.getAndIncrement() + ",path=" + ObjectName.quote(getPath()));
+            }
+            if (inputQueueSize > 0 && inputQueue == null) {
+                inputQueue = new InputReportRing(this, inputQueueSize, overflowPolicy, this::dispatch,
+                        specification != null ? specification : new HidSpecification(), getPath());
+            }
+        }
+        device.open();
         isOpen = true;
     }
 
@@ -283,18 +509,112 @@ logger.finest(getPath() + "(@" + hashCode() + "): " + nativeDevice);
      *
      * @since 0.1.0
      */
-    public void close() throws IOException {
+    public synchronized void close() throws IOException {
 logger.finest("close native: " + nativeDevice);
+        if (nativeDevice == null) {
+            // Never used, nothing to release
+            return;
+        }
+        // Write the reports left in the output queue, the failure is thrown after the device is closed
+        IOException flushFailure = null;
+        try {
+            flush();
+        } catch (IOException e) {
+            flushFailure = e;
+        }
+        synchronized (pendingOutputs) {
+            if (outputExecutor != null) {
+                outputExecutor.shutdownNow();
+                outputExecutor = null;
+            }
+        }
+        // Stop dispatching first, so the reader blocked by the full input queue returns
+        InputReportRing inputQueue = this.inputQueue;
+        if (inputQueue != null) {
+            inputQueue.close();
+        }
         // Close the Hidapi reference
         nativeDevice.close();
+        this.inputQueue = null;
+        for (ReportPublisher publisher : publishers) {
+            publisher.complete();
+        }
+        Management.unregister(objectName);
+        objectName = null;
         isOpen = false;
+        if (flushFailure != null) {
+            throw flushFailure;
+        }
     }
 
     /**
-     * Sets input report listener.
+     * Adds an input report listener, the listener receives reports of this device only.
      */
     public void addInputReportListener(HidDeviceListener l) {
-        nativeDevice.addInputReportListener(l);
+        listeners.add(l);
+    }
+
+    /**
+     * Removes an input report listener.
+     */
+    public void removeInputReportListener(HidDeviceListener l) {
+        listeners.remove(l);
+    }
+
+    /**
+     * Adds an input report listener which receives reports of the report ID only,
+     * reports of other IDs cost the listener nothing.
+     *
+     * @param reportId The report ID, 0 to 255
+     */
+    public void addInputReportListener(int reportId, HidDeviceListener l) {
+        listeners.add(reportId, l);
+    }
+
+    /**
+     * Removes an input report listener added with the report ID.
+     */
+    public void removeInputReportListener(int reportId, HidDeviceListener l) {
+        listeners.remove(reportId, l);
+    }
+
+    /**
+     * The input reports of this device for {@link Flow} pipelines, by the buffer size of
+     * {@link Flow#defaultBufferSize()} and {@link #getOverflowPolicy()} at the first call.
+     * <p>
+     * A report is copied once and shared by all subscribers, each subscriber receives reports as requested.
+     * Subscribers complete when this device is closed.
+     *
+     * @return The same publisher for every call
+     * @see #reports(int, OverflowPolicy)
+     */
+    public synchronized Flow.Publisher<InputReport> reports() {
+        if (reports == null) {
+            reports = new ReportPublisher(this, Flow.defaultBufferSize(), overflowPolicy);
+        }
+        return reports;
+    }
+
+    /**
+     * The input reports of this device for {@link Flow} pipelines.
+     *
+     * @param bufferSize The number of reports buffered per subscriber until requested
+     * @param policy     What to do when a buffer of a subscriber is full,
+     *                   {@link OverflowPolicy#BLOCK} holds the reader of this device until requested
+     * @return A new publisher
+     */
+    public Flow.Publisher<InputReport> reports(int bufferSize, OverflowPolicy policy) {
+        return new ReportPublisher(this, bufferSize, policy);
+    }
+
+    /** by a publisher getting the first subscriber */
+    void addPublisher(ReportPublisher publisher) {
+        publishers.add(publisher);
+    }
+
+    /** by a publisher losing the last subscriber */
+    void removePublisher(ReportPublisher publisher) {
+        publishers.remove(publisher);
     }
 
     /**
@@ -313,7 +633,7 @@ logger.finest("close native: " + nativeDevice);
      * @since 0.1.0
      */
     public int getFeatureReport(byte[] data, int reportId) throws IOException {
-        return nativeDevice.getFeatureReport(data, (byte) reportId);
+        return nativeDevice().getFeatureReport(data, (byte) reportId);
     }
 
     /**
@@ -341,7 +661,17 @@ logger.finest("close native: " + nativeDevice);
      * @since 0.1.0
      */
     public int sendFeatureReport(byte[] data, int reportId) throws IOException {
-        return nativeDevice.sendFeatureReport(data, (byte) reportId);
+        NativeHidDevice device = nativeDevice();
+        long start = System.nanoTime();
+        try {
+            int result = device.sendFeatureReport(data, (byte) reportId);
+            metrics.written(result, System.nanoTime() - start);
+            record(ReportJournal.FEATURE, reportId, data, data.length, start);
+            return result;
+        } catch (IOException e) {
+            metrics.writeFailed();
+            throw e;
+        }
     }
 
     /**
@@ -387,12 +717,339 @@ logger.finest("close native: " + nativeDevice);
             message = Arrays.copyOf(message, packetLength + 1);
         }
 
-        int result = nativeDevice.write(message, packetLength, (byte) reportId);
+        NativeHidDevice device = nativeDevice();
+        long start = System.nanoTime();
+        int result;
+        try {
+            result = device.write(message, packetLength, (byte) reportId);
+        } catch (IOException e) {
+            metrics.writeFailed();
+            throw e;
+        }
+        metrics.written(result, System.nanoTime() - start);
+        record(ReportJournal.OUTPUT, reportId, message, Math.min(packetLength, message.length), start);
+        // Update HID afterWrite
+        afterWrite.run();
+        return result;
+    }
+
+    /**
+     * Write the buffer to the HID API without padding.
+     * <p>
+     * A direct buffer is written without an intermediate copy or native allocation where the platform supports it,
+     * so this fits streaming output reports (e.g. LED, rumble) at a high rate.
+     *
+     * @param buffer   The message from the position to the limit, including the report ID as the first byte.
+     *                 the position is advanced by the bytes written
+     * @param reportId The report ID
+     * @return The number of bytes written (including report ID), or -1 if an error occurs
+     */
+    public int write(ByteBuffer buffer, int reportId) throws IOException {
+        NativeHidDevice device = nativeDevice();
+        int position = buffer.position();
+        int length = buffer.remaining();
+        long start = System.nanoTime();
+        int result;
+        try {
+            result = device.write(buffer, (byte) reportId);
+        } catch (IOException e) {
+            metrics.writeFailed();
+            throw e;
+        }
+        metrics.written(result, System.nanoTime() - start);
+        ReportRecorder recorder = this.recorder;
+        if (recorder != null) {
+            recorder.record(ReportJournal.OUTPUT, reportId, buffer, position, length, start);
+        }
         // Update HID afterWrite
         afterWrite.run();
         return result;
     }
 
+    /**
+     * Write the reports, only the last one is written for each report ID.
+     * <p>
+     * The afterWrite is notified once for the whole batch, so scanning is paused once
+     * in {@link HidSpecification.ScanMode#SCAN_AT_FIXED_INTERVAL_WITH_PAUSE_AFTER_WRITE} mode.
+     *
+     * @param reports The reports in order, the report of a report ID is written at its first position
+     * @return The number of reports written
+     */
+    public int writeBatch(List<OutputReport> reports) throws IOException {
+        if (reports.isEmpty()) {
+            return 0;
+        }
+        Map<Integer, OutputReport> latest = new LinkedHashMap<>();
+        for (OutputReport report : reports) {
+            latest.put(report.reportId, report);
+        }
+        return writeReports(latest.values());
+    }
+
+    /** writes coalesced reports */
+    private int writeReports(Collection<OutputReport> reports) throws IOException {
+        NativeHidDevice device = nativeDevice();
+        int count = 0;
+        try {
+            for (OutputReport report : reports) {
+                long start = System.nanoTime();
+                metrics.written(device.write(report.data, report.length, (byte) report.reportId), System.nanoTime() - start);
+                record(ReportJournal.OUTPUT, report.reportId, report.data, report.length, start);
+                count++;
+            }
+        } catch (IOException e) {
+            metrics.writeFailed();
+            throw e;
+        } finally {
+            if (count > 0) {
+                // Update HID afterWrite
+                afterWrite.run();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Queue an output report, replaces a pending report of the same report ID.
+     * <p>
+     * The queue is flushed every {@link #getOutputFlushInterval()} milliseconds by {@link #writeBatch(List)},
+     * so output (e.g. LED, rumble) updated at a game loop rate is written at most once per interval and report ID.
+     * When the interval is 0 the report is written immediately.
+     *
+     * @param reportId The report ID
+     * @param data     The message including the report ID as the first byte, copied
+     * @throws IOException the failure of the previous scheduled flush
+     */
+    public void enqueue(int reportId, byte[] data) throws IOException {
+        OutputReport report = new OutputReport(reportId, data.clone());
+        int interval = outputFlushInterval;
+        if (interval == 0) {
+            flush();
+            writeReports(List.of(report));
+            return;
+        }
+        synchronized (pendingOutputs) {
+            if (flushException != null) {
+                IOException e = flushException;
+                flushException = null;
+                throw e;
+            }
+            pendingOutputs.put(reportId, report);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                outputExecutor().schedule(this::flushQuietly, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Write the pending output reports now.
+     *
+     * @return The number of reports written
+     * @throws IOException the failure of this write or of the previous scheduled flush
+     */
+    public int flush() throws IOException {
+        synchronized (pendingOutputs) {
+            if (flushException != null) {
+                IOException e = flushException;
+                flushException = null;
+                throw e;
+            }
+        }
+        return flushPending();
+    }
+
+    /** writes {@link #pendingOutputs} */
+    private int flushPending() throws IOException {
+        List<OutputReport> reports;
+        synchronized (pendingOutputs) {
+            if (pendingOutputs.isEmpty()) {
+                return 0;
+            }
+            reports = new ArrayList<>(pendingOutputs.values());
+            pendingOutputs.clear();
+        }
+        return writeReports(reports);
+    }
+
+    /** for the scheduled flush */
+    private void flushQuietly() {
+        synchronized (pendingOutputs) {
+            flushScheduled = false;
+        }
+        try {
+            flushPending();
+        } catch (IOException e) {
+            logger.log(Level.FINE, "flush: " + getPath(), e);
+            synchronized (pendingOutputs) {
+                flushException = e;
+            }
+        }
+    }
+
+    /** needs the lock of {@link #pendingOutputs} */
+    private ScheduledExecutorService outputExecutor() {
+        if (outputExecutors != null) {
+            return outputExecutors.get();
+        }
+        if (outputExecutor == null) {
+            HidSpecification specification = this.specification != null ? this.specification : new HidSpecification();
+            outputExecutor = Executors.newSingleThreadScheduledExecutor(r -> specification.newThread(r, "hid4java-output"));
+        }
+        return outputExecutor;
+    }
+
+    /** */
+    public int getOutputFlushInterval() {
+        return outputFlushInterval;
+    }
+
+    /**
+     * @param outputFlushInterval The interval in milliseconds to flush the output queue, 0 to write immediately
+     * @see #enqueue(int, byte[])
+     */
+    public void setOutputFlushInterval(int outputFlushInterval) {
+        if (outputFlushInterval < 0) {
+            throw new IllegalArgumentException("'outputFlushInterval' must be greater than or equal to zero.");
+        }
+        this.outputFlushInterval = outputFlushInterval;
+    }
+
+    /** */
+    public int getInputQueueSize() {
+        return inputQueueSize;
+    }
+
+    /**
+     * Takes effect at the next {@link #open()}.
+     *
+     * @param inputQueueSize The number of input reports queued between the reader and listeners,
+     *                       0 to call listeners by the reader
+     * @see HidSpecification#setInputQueueSize(int)
+     */
+    public void setInputQueueSize(int inputQueueSize) {
+        if (inputQueueSize < 0) {
+            throw new IllegalArgumentException("'inputQueueSize' must be greater than or equal to zero.");
+        }
+        this.inputQueueSize = inputQueueSize;
+    }
+
+    /** */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Takes effect at the next {@link #open()}.
+     *
+     * @param overflowPolicy What to do when the input queue is full
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+    }
+
+    /** @return The number of input reports queued now */
+    public int getQueuedInputReports() {
+        InputReportRing inputQueue = this.inputQueue;
+        return inputQueue != null ? inputQueue.size() : 0;
+    }
+
+    /**
+     * @return The number of input reports dropped by {@link OverflowPolicy#DROP_OLDEST},
+     *         {@link OverflowPolicy#DROP_NEWEST} or {@link OverflowPolicy#CONFLATE} since {@link #open()}
+     */
+    public long getDroppedInputReports() {
+        InputReportRing inputQueue = this.inputQueue;
+        return inputQueue != null ? inputQueue.getDropped() : 0;
+    }
+
+    /** @return The number of input reports replaced by {@link OverflowPolicy#CONFLATE} since {@link #open()} */
+    public long getConflatedInputReports() {
+        InputReportRing inputQueue = this.inputQueue;
+        return inputQueue != null ? inputQueue.getConflated() : 0;
+    }
+
+    /** @return The number of times the reader waited by {@link OverflowPolicy#BLOCK} since {@link #open()} */
+    public long getBlockedInputReports() {
+        InputReportRing inputQueue = this.inputQueue;
+        return inputQueue != null ? inputQueue.getBlocked() : 0;
+    }
+
+    /**
+     * The histogram of intervals between input reports read, e.g. the jitter of the polling interval.
+     * Call {@link LatencyHistogram#reset()} to start a new measurement.
+     *
+     * @return nanoseconds, live
+     */
+    public LatencyHistogram getInputIntervalHistogram() {
+        return inputIntervals;
+    }
+
+    /**
+     * The histogram of delays from reading input reports to calling listeners,
+     * grows when listeners are slow with the input queue.
+     *
+     * @return nanoseconds, live
+     * @see #setInputQueueSize(int)
+     */
+    public LatencyHistogram getDispatchDelayHistogram() {
+        return dispatchDelays;
+    }
+
+    /** @param recorder records output reports, null to stop */
+    void setRecorder(ReportRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /** records an output report written */
+    private void record(int direction, int reportId, byte[] data, int length, long time) {
+        ReportRecorder recorder = this.recorder;
+        if (recorder != null) {
+            recorder.record(direction, reportId, data, length, time);
+        }
+    }
+
+    /** @return the device information, not copied */
+    Info getInfo() {
+        return info;
+    }
+
+    /**
+     * @return The counters of this device, live
+     * @see HidSpecification#setJmxEnabled(boolean)
+     */
+    public HidDeviceMXBean getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Read an input report into the buffer, blocks until a report arrives.
+     * <p>
+     * A direct buffer is filled without an intermediate copy where the platform supports it.
+     * Do not use this with input report listeners after {@link #open()}, both consume the same reports.
+     *
+     * @param buffer The buffer to put the report (including the report ID) from the position up to the limit.
+     *               the position is advanced by the bytes read
+     * @return The number of bytes read, 0 when no report is available
+     * @throws UnsupportedOperationException when the platform delivers input reports by listeners only
+     * @throws java.nio.ReadOnlyBufferException when the buffer is read-only, no report is consumed
+     */
+    public int read(ByteBuffer buffer) throws IOException {
+        int result;
+        try {
+            result = nativeDevice().read(buffer);
+        } catch (IOException e) {
+            metrics.readFailed();
+            throw e;
+        }
+        if (result > 0) {
+            metrics.read(result);
+        } else if (result < 0) {
+            metrics.readFailed();
+        }
+        return result;
+    }
+
     /**
      * @param vendorId     The vendor ID
      * @param productId    The product ID
@@ -412,12 +1069,12 @@ logger.finest("close native: " + nativeDevice);
 
     /** */
     public int getReportDescriptor(byte[] report) throws IOException {
-        return nativeDevice.getReportDescriptor(report);
+        return nativeDevice().getReportDescriptor(report);
     }
 
     /** */
     public int getInputDescriptor(byte[] report, int reportId) throws IOException {
-        return nativeDevice.getInputReport(report, (byte) reportId);
+        return nativeDevice().getInputReport(report, (byte) reportId);
     }
 
     @Override
@@ -10,7 +10,10 @@ import java.util.EventObject;
 
 
 /**
- * HidDeviceEvent. Assuming reuse.
+ * HidDeviceEvent. Assuming reuse, an event instance per device.
+ * <p>
+ * an input report is stamped with the time when it is read and a sequence number counted by the event,
+ * so the sequence is monotonic per device and a gap means reports lost after reading.
  *
  * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
  * @version 0.00 2023-10-08 nsano initial version <br>
@@ -24,15 +27,48 @@ public class HidDeviceEvent extends EventObject {
     private byte[] report;
     private int length;
 
+    /** {@link System#nanoTime()} when the report is read */
+    private long time;
+
+    /** counts up from 0 for each report */
+    private long sequence = -1;
+
     public HidDeviceEvent(Object source) {
         super(source);
     }
 
-    /** @param report a report data that contains first report id */
+    /**
+     * Stamps the current time.
+     *
+     * @param report a report data that contains first report id
+     */
     public HidDeviceEvent set(int reportId, byte[] report, int length) {
+        return set(reportId, report, length, System.nanoTime());
+    }
+
+    /**
+     * Counts up the sequence.
+     *
+     * @param report a report data that contains first report id
+     * @param time   {@link System#nanoTime()} when the report is read
+     */
+    public HidDeviceEvent set(int reportId, byte[] report, int length, long time) {
+        return set(reportId, report, length, time, sequence + 1);
+    }
+
+    /**
+     * For relaying a report read by another event.
+     *
+     * @param report   a report data that contains first report id
+     * @param time     {@link System#nanoTime()} when the report is read
+     * @param sequence the sequence number of the report
+     */
+    public HidDeviceEvent set(int reportId, byte[] report, int length, long time, long sequence) {
         this.reportId = reportId;
         this.report = report;
         this.length = length;
+        this.time = time;
+        this.sequence = sequence;
         return this;
     }
 
@@ -48,4 +84,14 @@ public class HidDeviceEvent extends EventObject {
     public int getLength() {
         return length;
     }
+
+    /** @return {@link System#nanoTime()} when the report is read */
+    public long getTime() {
+        return time;
+    }
+
+    /** @return the sequence number of the report, counts up from 0 per device */
+    public long getSequence() {
+        return sequence;
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.Arrays;
+
+
+/**
+ * Input report listener list of a device.
+ * <p>
+ * Listeners are held in a copy-on-write array, so listeners can be added or removed
+ * while reports are dispatched, and dispatching does not allocate.
+ * <p>
+ * Listeners of a report ID are held in a 256-entry dispatch table, so delivery to them is
+ * one array lookup per report and reports of other IDs cost them nothing.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public class HidDeviceListenerSupport {
+
+    /** */
+    private static final HidDeviceListener[] EMPTY = new HidDeviceListener[0];
+
+    /**
+     * The snapshot of registered listeners, replaced on every modification
+     */
+    private volatile HidDeviceListener[] listeners = EMPTY;
+
+    /**
+     * Listeners by report ID, null until a listener of a report ID is added, replaced on every modification
+     */
+    private volatile HidDeviceListener[][] dispatchTable;
+
+    /**
+     * @param listener The listener to add (same instance are not duplicated)
+     */
+    public final synchronized void add(HidDeviceListener listener) {
+        HidDeviceListener[] current = listeners;
+        for (HidDeviceListener l : current) {
+            if (l == listener) {
+                return;
+            }
+        }
+        HidDeviceListener[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = listener;
+        listeners = next;
+    }
+
+    /**
+     * @param listener The listener to remove
+     */
+    public final synchronized void remove(HidDeviceListener listener) {
+        HidDeviceListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                HidDeviceListener[] next = new HidDeviceListener[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                listeners = next.length == 0 ? EMPTY : next;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param reportId The report ID (0 to 255) the listener receives only
+     * @param listener The listener to add (same instance are not duplicated for the report ID)
+     */
+    public final synchronized void add(int reportId, HidDeviceListener listener) {
+        checkReportId(reportId);
+        HidDeviceListener[][] table = dispatchTable != null ? dispatchTable.clone() : new HidDeviceListener[256][];
+        HidDeviceListener[] current = table[reportId] != null ? table[reportId] : EMPTY;
+        for (HidDeviceListener l : current) {
+            if (l == listener) {
+                return;
+            }
+        }
+        HidDeviceListener[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = listener;
+        table[reportId] = next;
+        dispatchTable = table;
+    }
+
+    /**
+     * @param reportId The report ID given at {@link #add(int, HidDeviceListener)}
+     * @param listener The listener to remove
+     */
+    public final synchronized void remove(int reportId, HidDeviceListener listener) {
+        checkReportId(reportId);
+        HidDeviceListener[][] table = dispatchTable;
+        if (table == null || table[reportId] == null) {
+            return;
+        }
+        HidDeviceListener[] current = table[reportId];
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                HidDeviceListener[] next = new HidDeviceListener[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                table = table.clone();
+                table[reportId] = next.length == 0 ? null : next;
+                dispatchTable = table;
+                return;
+            }
+        }
+    }
+
+    /** */
+    private static void checkReportId(int reportId) {
+        if (reportId < 0 || reportId > 255) {
+            throw new IllegalArgumentException("reportId: " + reportId);
+        }
+    }
+
+    /**
+     * Removes all listeners
+     */
+    public final synchronized void clear() {
+        listeners = EMPTY;
+        dispatchTable = null;
+    }
+
+    /**
+     * @return True if no listener is registered
+     */
+    public final boolean isEmpty() {
+        if (listeners.length != 0) {
+            return false;
+        }
+        HidDeviceListener[][] table = dispatchTable;
+        if (table != null) {
+            for (HidDeviceListener[] ls : table) {
+                if (ls != null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fire the input report event
+     *
+     * @param event The input report
+     */
+    public void fireOnInputReport(HidDeviceEvent event) {
+        for (HidDeviceListener listener : listeners) {
+            listener.onInputReport(event);
+        }
+        HidDeviceListener[][] table = dispatchTable;
+        if (table != null) {
+            HidDeviceListener[] ls = table[event.getReportId() & 0xff];
+            if (ls != null) {
+                for (HidDeviceListener listener : ls) {
+                    listener.onInputReport(event);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+
+/**
+ * HidDeviceMXBean. management interface of an open {@link HidDevice},
+ * registered as "org.hid4java:type=HidDevice,id=n,path=..." while open when {@link HidSpecification#isJmxEnabled()}.
+ * <p>
+ * counters are kept since the device is created or {@link #reset()}, durations are in microseconds.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public interface HidDeviceMXBean {
+
+    /** */
+    String getPath();
+
+    /** */
+    int getVendorId();
+
+    /** */
+    int getProductId();
+
+    /** @return The number of input reports */
+    long getInputReports();
+
+    /** @return Input reports per second since the previous query of this at least a second ago */
+    double getInputReportsPerSecond();
+
+    /** @return Bytes of input reports including report IDs */
+    long getBytesIn();
+
+    /** @return Bytes of output and feature reports written */
+    long getBytesOut();
+
+    /** @return The number of output and feature reports written */
+    long getWrites();
+
+    /** @return The number of writes failed */
+    long getWriteErrors();
+
+    /** @return Mean microseconds of writes */
+    double getMeanWriteLatency();
+
+    /** @return Microseconds of writes at the 99th percentile */
+    long getWriteLatency99thPercentile();
+
+    /** @return Microseconds of the longest write */
+    long getMaxWriteLatency();
+
+    /** @return The number of reads failed */
+    long getReadErrors();
+
+    /** @return The number of input reports dropped by the input queue */
+    long getDroppedInputReports();
+
+    /** @return The number of input reports queued now */
+    int getQueuedInputReports();
+
+    /** @return Mean microseconds spent in input report listeners */
+    double getMeanDispatchTime();
+
+    /** @return Microseconds from reading to calling listeners at the 99th percentile */
+    long getDispatchDelay99thPercentile();
+
+    /** @return Microseconds between input reports at the 99th percentile */
+    long getInputInterval99thPercentile();
+
+    /** Clears the counters and histograms */
+    void reset();
+}
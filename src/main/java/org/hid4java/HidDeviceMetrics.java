@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * HidDeviceMetrics. counters of a {@link HidDevice}, counted always, exposed by JMX optionally.
+ * <p>
+ * counters on the read path are {@link LongAdder}s, so the reader and the dispatcher don't contend.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+final class HidDeviceMetrics implements HidDeviceMXBean {
+
+    /** the minimum window of {@link #getInputReportsPerSecond()} */
+    private static final long RATE_WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    /** */
+    private final HidDevice device;
+
+    private final LongAdder inputReports = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder writeErrors = new LongAdder();
+    private final LongAdder readErrors = new LongAdder();
+    private final LongAdder dispatchNanos = new LongAdder();
+    private final LatencyHistogram writeLatencies = new LatencyHistogram();
+
+    /** for {@link #getInputReportsPerSecond()} */
+    private long rateTime = System.nanoTime();
+    private long rateCount;
+    private double rate;
+
+    HidDeviceMetrics(HidDevice device) {
+        this.device = device;
+    }
+
+    /** by the reader */
+    void read(int length) {
+        inputReports.increment();
+        bytesIn.add(length);
+    }
+
+    /** */
+    void readFailed() {
+        readErrors.increment();
+    }
+
+    /** @param result the bytes written or -1 on error */
+    void written(int result, long nanos) {
+        if (result < 0) {
+            writeErrors.increment();
+            return;
+        }
+        writes.increment();
+        bytesOut.add(result);
+        writeLatencies.record(nanos);
+    }
+
+    /** */
+    void writeFailed() {
+        writeErrors.increment();
+    }
+
+    /** by the reader or the dispatcher */
+    void dispatched(long nanos) {
+        dispatchNanos.add(nanos);
+    }
+
+    @Override
+    public String getPath() {
+        return device.getPath();
+    }
+
+    @Override
+    public int getVendorId() {
+        return device.getVendorId();
+    }
+
+    @Override
+    public int getProductId() {
+        return device.getProductId();
+    }
+
+    @Override
+    public long getInputReports() {
+        return inputReports.sum();
+    }
+
+    @Override
+    public synchronized double getInputReportsPerSecond() {
+        long now = System.nanoTime();
+        long elapsed = now - rateTime;
+        if (elapsed >= RATE_WINDOW) {
+            long count = inputReports.sum();
+            rate = Math.max(0, count - rateCount) * 1e9 / elapsed;
+            rateCount = count;
+            rateTime = now;
+        }
+        return rate;
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    @Override
+    public long getWriteErrors() {
+        return writeErrors.sum();
+    }
+
+    @Override
+    public double getMeanWriteLatency() {
+        return writeLatencies.getMean() / 1000;
+    }
+
+    @Override
+    public long getWriteLatency99thPercentile() {
+        return TimeUnit.NANOSECONDS.toMicros(writeLatencies.getValueAtPercentile(99));
+    }
+
+    @Override
+    public long getMaxWriteLatency() {
+        return TimeUnit.NANOSECONDS.toMicros(writeLatencies.getMax());
+    }
+
+    @Override
+    public long getReadErrors() {
+        return readErrors.sum();
+    }
+
+    @Override
+    public long getDroppedInputReports() {
+        return device.getDroppedInputReports();
+    }
+
+    @Override
+    public int getQueuedInputReports() {
+        return device.getQueuedInputReports();
+    }
+
+    @Override
+    public double getMeanDispatchTime() {
+        long reports = inputReports.sum();
+        return reports == 0 ? 0 : dispatchNanos.sum() / 1000d / reports;
+    }
+
+    @Override
+    public long getDispatchDelay99thPercentile() {
+        return TimeUnit.NANOSECONDS.toMicros(device.getDispatchDelayHistogram().getValueAtPercentile(99));
+    }
+
+    @Override
+    public long getInputInterval99thPercentile() {
+        return TimeUnit.NANOSECONDS.toMicros(device.getInputIntervalHistogram().getValueAtPercentile(99));
+    }
+
+    @Override
+    public synchronized void reset() {
+        inputReports.reset();
+        bytesIn.reset();
+        bytesOut.reset();
+        writes.reset();
+        writeErrors.reset();
+        readErrors.reset();
+        dispatchNanos.reset();
+        writeLatencies.reset();
+        device.getDispatchDelayHistogram().reset();
+        device.getInputIntervalHistogram().reset();
+        rateTime = System.nanoTime();
+        rateCount = 0;
+        rate = 0;
+    }
+}
@@ -30,6 +30,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -37,8 +38,12 @@ import java.util.Properties;
 import java.util.ServiceLoader;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.management.ObjectName;
 
 import org.hid4java.HidSpecification.ScanMode;
 
@@ -97,11 +102,78 @@ public class HidDevices {
      */
     private ExecutorService scanThread;
 
+    /**
+     * Flushes the output queues of the devices, created lazily and shut down by {@link #shutdown()}
+     */
+    private ScheduledExecutorService outputExecutor;
+
+    /**
+     * True while the native provider notifies attach/detach ({@link ScanMode#EVENT_DRIVEN})
+     */
+    private boolean hotplugging;
+
+    /**
+     * Incremented on each {@link #scan()}, stamped on the devices found
+     */
+    private int scanGeneration;
+
     /**
      * The HID services listeners for receiving attach/detach events etc
      */
     private final HidDevicesListenerSupport listeners = new HidDevicesListenerSupport();
 
+    /**
+     * Counters, exposed by JMX when {@link HidSpecification#isJmxEnabled()}
+     */
+    private final HidDevicesMetrics metrics = new HidDevicesMetrics(this);
+
+    /**
+     * Registered while started, null when not registered
+     */
+    private ObjectName objectName;
+
+    /**
+     * Numbers instances for the object names
+     */
+    private static final AtomicInteger instances = new AtomicInteger();
+
+    /**
+     * Updates attached devices incrementally by the native attach/detach notification,
+     * under the same lock as {@link #scan()}.
+     * the events are fired out of the lock, so a listener may stop this while the notification thread is joined
+     */
+    private final NativeHidDevices.HotplugListener hotplugListener = new NativeHidDevices.HotplugListener() {
+        @Override
+        public void attached(List<HidDevice.Info> infos) {
+            List<HidDevice> attached = new ArrayList<>(infos.size());
+            synchronized (HidDevices.this) {
+                for (HidDevice.Info info : infos) {
+                    if (attachedDevices.containsKey(info.path)) {
+                        continue;
+                    }
+                    HidDevice attachedDevice = newHidDevice(info);
+                    // as if found by the last scan
+                    attachedDevice.scanGeneration = scanGeneration;
+logger.finest("hotplug device: " + attachedDevice.getProductId() + "," + attachedDevice);
+                    attachedDevices.put(attachedDevice.getId(), attachedDevice);
+                    attached.add(attachedDevice);
+                }
+            }
+            attached.forEach(HidDevices.this::fireAttached);
+        }
+
+        @Override
+        public void detached(String path) {
+            HidDevice detachedDevice;
+            synchronized (HidDevices.this) {
+                detachedDevice = attachedDevices.remove(path);
+            }
+            if (detachedDevice != null) {
+                fireDetached(detachedDevice);
+            }
+        }
+    };
+
     /**
      * Jar entry point to allow for version interrogation
      *
@@ -125,26 +197,47 @@ public class HidDevices {
      * @throws HidException If something goes wrong
      */
     public HidDevices(HidSpecification hidSpecification) throws IOException {
+        this(hidSpecification, findNativeHidDevices());
+    }
+
+    /**
+     * @param hidSpecification Provides various parameters for configuring HID services
+     * @param nativeManager The native device provider to use instead of the service provider found
+     * @throws HidException If something goes wrong
+     */
+    public HidDevices(HidSpecification hidSpecification, NativeHidDevices nativeManager) throws IOException {
         this.hidSpecification = hidSpecification;
+        this.nativeManager = nativeManager;
+logger.finer("native device manager: " + nativeManager.getClass().getName());
 
         // Attempt to initialise and fail fast
+        try {
+            // Check for automatic start (default behaviour for 0.6.0 and below)
+            // which will prevent an attachment event firing if the device is already
+            // attached since listeners will not have been registered at this point
+            if (hidSpecification.isAutoStart()) {
+                start();
+            }
+
+            if (hidSpecification.isAutoShutdown()) {
+                // Ensure we release resources during shutdown
+                Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+            }
+        } catch (Throwable t) {
+            // Typically this is a linking issue with the native library
+            throw new HidException("Hidapi did not initialise: " + t.getMessage(), t);
+        }
+    }
+
+    /**
+     * @return The first supported native device provider
+     * @throws HidException If no provider is supported
+     */
+    private static NativeHidDevices findNativeHidDevices() throws HidException {
         try {
             for (NativeHidDevices manager : ServiceLoader.load(NativeHidDevices.class)) {
                 if (manager.isSupported()) {
-                    nativeManager = manager;
-logger.finer("native device manager: " + nativeManager.getClass().getName());
-                    // Check for automatic start (default behaviour for 0.6.0 and below)
-                    // which will prevent an attachment event firing if the device is already
-                    // attached since listeners will not have been registered at this point
-                    if (hidSpecification.isAutoStart()) {
-                        start();
-                    }
-
-                    if (hidSpecification.isAutoShutdown()) {
-                        // Ensure we release resources during shutdown
-                        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
-                    }
-                    return;
+                    return manager;
                 }
             }
             throw new NoSuchElementException("no suitable native device maneger");
@@ -172,6 +265,15 @@ logger.log(Level.FINER, e.getMessage(), e);
             // Silently fail (user will already have been given an exception)
 logger.log(Level.FINER, e.getMessage(), e);
         }
+        synchronized (this) {
+            Management.unregister(objectName);
+            objectName = null;
+            // The devices are closed and flushed by stop()
+            if (outputExecutor != null) {
+                outputExecutor.shutdownNow();
+                outputExecutor = null;
+            }
+        }
 if (logger.isLoggable(Level.FINER)) {
  Thread.getAllStackTraces().keySet().forEach(System.err::println);
 }
@@ -201,6 +303,12 @@ logger.finer("stop: start stopping...");
     public void start() throws IOException {
         nativeManager.open(hidSpecification);
 
+        synchronized (this) {
+            if (hidSpecification.isJmxEnabled() && objectName == null) {
+                objectName = Management.register(metrics, "type=HidDevices,id=" + instances.getAndIncrement());
+            }
+        }
+
         // Check for previous start
         if (this.isScanning()) {
             return;
@@ -209,6 +317,11 @@ logger.finer("stop: start stopping...");
         // Perform a one-off scan to populate attached devices
         scan();
 
+        if (ScanMode.EVENT_DRIVEN == hidSpecification.getScanMode() && nativeManager.isHotplugSupported()) {
+            startHotplug();
+            return;
+        }
+
         // Ensure we have a scan thread available
         configureScanThread(getScanRunnable());
     }
@@ -229,57 +342,133 @@ logger.finer("stop: start stopping...");
 
     /**
      * Manually scans for HID device connection changes and triggers listener events as required
+     * <p>
+     * Enumerated devices are reconciled with the attached devices by path and identity hash,
+     * so this costs O(n) and allocates a {@link HidDevice} only for a device really attached.
      */
-    public void scan() throws IOException {
-        List<String> removeList = new ArrayList<>();
+    public synchronized void scan() throws IOException {
+        long start = System.nanoTime();
+        try {
+            reconcile(enumerate());
+        } finally {
+            metrics.scanned(System.nanoTime() - start);
+        }
+    }
 
-        List<HidDevice> attachedHidDeviceList = getHidDevices();
+    /** updates attached devices by enumerated devices */
+    private void reconcile(List<HidDevice.Info> infos) {
 
-        for (HidDevice attachedDevice : attachedHidDeviceList) {
+        int generation = ++scanGeneration;
 
-            if (!this.attachedDevices.containsKey(attachedDevice.getId())) {
+        for (HidDevice.Info info : infos) {
+            int identity = HidDevice.identityHash(info);
+            HidDevice attachedDevice = attachedDevices.get(info.path);
 
-logger.finest("device: " + attachedDevice.getProductId() + "," + attachedDevice);
-                // Device has become attached so add it but do not create
-                attachedDevices.put(attachedDevice.getId(), attachedDevice);
+            if (attachedDevice != null) {
+                if (attachedDevice.isSameDevice(info, identity)) {
+                    // Unchanged
+                    attachedDevice.scanGeneration = generation;
+                    continue;
+                }
 
-                // Fire the event on a separate thread
-                listeners.fireHidDeviceAttached(attachedDevice);
+                // Another device took over the path
+                attachedDevices.remove(info.path);
+                fireDetached(attachedDevice);
             }
-        }
 
-        for (Map.Entry<String, HidDevice> entry : attachedDevices.entrySet()) {
+            // Device has become attached so add it but do not create
+            attachedDevice = newHidDevice(info);
+            attachedDevice.scanGeneration = generation;
+logger.finest("device: " + attachedDevice.getProductId() + "," + attachedDevice);
+            attachedDevices.put(attachedDevice.getId(), attachedDevice);
 
-            String deviceId = entry.getKey();
-            HidDevice hidDevice = entry.getValue();
+            // Fire the event on a separate thread
+            fireAttached(attachedDevice);
+        }
 
-            if (!attachedHidDeviceList.contains(hidDevice)) {
+        List<HidDevice> removeList = null;
 
-                // Keep track of removals
-                removeList.add(deviceId);
+        synchronized (attachedDevices) {
+            for (Iterator<HidDevice> i = attachedDevices.values().iterator(); i.hasNext(); ) {
+                HidDevice hidDevice = i.next();
 
-                // Fire the event on a separate thread
-                listeners.fireHidDeviceDetached(this.attachedDevices.get(deviceId));
+                if (hidDevice.scanGeneration != generation) {
+                    // Not found in this scan, keep track of removals
+                    i.remove();
+                    if (removeList == null) {
+                        removeList = new ArrayList<>();
+                    }
+                    removeList.add(hidDevice);
+                }
             }
         }
 
-        if (!removeList.isEmpty()) {
-            // Update the attached devices map
-            removeList.forEach(this.attachedDevices.keySet()::remove);
+        if (removeList != null) {
+            // Fire the events out of the lock
+            removeList.forEach(this::fireDetached);
         }
     }
 
+    /** counts and fires */
+    private void fireAttached(HidDevice device) {
+        metrics.attached();
+        listeners.fireHidDeviceAttached(device);
+    }
+
+    /** counts and fires */
+    private void fireDetached(HidDevice device) {
+        metrics.detached();
+        listeners.fireHidDeviceDetached(device);
+    }
+
+    /** @return The number of devices attached now */
+    int getAttachedDeviceCount() {
+        return attachedDevices.size();
+    }
+
+    /**
+     * @return The counters of this, live
+     * @see HidSpecification#setJmxEnabled(boolean)
+     */
+    public HidDevicesMXBean getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Merges input reports of the devices into one sequence ordered by the time read, delivered by a thread.
+     * Devices are listened to, open them to start reports.
+     *
+     * @param devices  The devices to merge
+     * @param window   The time to wait for reports of other devices before delivering a report,
+     *                 longer than the delays between reading and listeners of the devices
+     * @param listener Called by the merger thread, the source of events is the {@link HidDevice}
+     * @return Close it to stop merging
+     */
+    public MergedReportStream merge(List<HidDevice> devices, long window, TimeUnit unit, HidDeviceListener listener) {
+        return new MergedReportStream(devices, unit.toNanos(window), listener, hidSpecification);
+    }
+
     /**
      * @return A list of all attached HID devices
      */
     public List<HidDevice> getHidDevices() throws IOException {
         List<HidDevice> hidDeviceList = new ArrayList<>();
 
-        List<HidDevice.Info> infos;
+        for (HidDevice.Info hidDeviceInfo : enumerate()) {
+            // Wrap in HidDevice
+            hidDeviceList.add(newHidDevice(hidDeviceInfo));
+        }
+
+        return hidDeviceList;
+    }
+
+    /**
+     * @return The information of all attached HID devices
+     */
+    private List<HidDevice.Info> enumerate() throws IOException {
         try {
             // Use 0,0 to list all attached devices
-            // This comes back as a linked list from hidapi
-            infos = nativeManager.enumerate(0, 0);
+            return nativeManager.enumerate(0, 0);
         } catch (Throwable e) {
 logger.log(Level.FINE, "hid_enumerate", e);
             // Could not initialise hidapi (possibly an unknown platform)
@@ -288,21 +477,35 @@ logger.log(Level.FINE, "hid_enumerate", e);
             // Inform the caller that something serious has gone wrong
             throw new HidException("Unable to start HidDeviceManager: " + e.getMessage());
         }
+    }
 
-        if (!infos.isEmpty()) {
+    /**
+     * @param info The device information enumerated
+     * @return The wrapped device
+     */
+    private HidDevice newHidDevice(HidDevice.Info info) {
+        // The native device is created lazily, so scanning costs no native resources
+        HidDevice device = new HidDevice(
+                info,
+                nativeManager,
+                this::afterDeviceWrite
+        );
+        device.setOutputFlushInterval(hidSpecification.getOutputFlushInterval());
+        device.setInputQueueSize(hidSpecification.getInputQueueSize());
+        device.setOverflowPolicy(hidSpecification.getOverflowPolicy());
+        device.specification = hidSpecification;
+        device.outputExecutors = this::outputExecutor;
+        return device;
+    }
 
-            for (HidDevice.Info hidDeviceInfo : infos) {
-                // Wrap in HidDevice
-                hidDeviceList.add(new HidDevice(
-                        hidDeviceInfo,
-                        nativeManager.create(hidDeviceInfo),
-                        this::afterDeviceWrite
-                ));
-                // Move to the next in the linked list
-            }
+    /**
+     * @return The executor flushing the output queues of the devices
+     */
+    private synchronized ScheduledExecutorService outputExecutor() {
+        if (outputExecutor == null) {
+            outputExecutor = Executors.newSingleThreadScheduledExecutor(r -> hidSpecification.newThread(r, "hid4java-output"));
         }
-
-        return hidDeviceList;
+        return outputExecutor;
     }
 
     /**
@@ -340,33 +543,55 @@ logger.log(Level.FINE, "hid_enumerate", e);
      * @return True if the scan thread is running, false otherwise.
      */
     public boolean isScanning() {
-        return scanThread != null && !scanThread.isTerminated();
+        return hotplugging || (scanThread != null && !scanThread.isTerminated());
     }
 
     /**
      * Stop the scan thread
+     * <p>
+     * The hotplug notification thread is joined out of the lock, the thread may wait for the lock in {@link #hotplugListener}.
      */
-    private synchronized void stopScanThread() {
+    private void stopScanThread() {
 
-        if (isScanning()) {
-            scanThread.shutdownNow();
-            scanThread = null;
+        boolean hotplugging;
+        synchronized (this) {
+            hotplugging = this.hotplugging;
+            this.hotplugging = false;
+
+            if (scanThread != null && !scanThread.isTerminated()) {
+                scanThread.shutdownNow();
+                scanThread = null;
+            }
+        }
+
+        if (hotplugging) {
+            nativeManager.stopHotplug();
         }
     }
 
+    /**
+     * Starts the native attach/detach notification
+     */
+    private synchronized void startHotplug() throws IOException {
+        nativeManager.startHotplug(hotplugListener);
+        hotplugging = true;
+    }
+
     /**
      * Configures the scan thread to allow recovery from stop or pause
      */
-    private synchronized void configureScanThread(Runnable scanRunnable) {
+    private void configureScanThread(Runnable scanRunnable) {
 
         if (isScanning()) {
             stopScanThread();
         }
 
-        scanThread = Executors.newSingleThreadExecutor();
+        synchronized (this) {
+            scanThread = Executors.newSingleThreadExecutor(r -> hidSpecification.newThread(r, "hid4java-scan"));
 
-        // Require a new one
-        scanThread.submit(scanRunnable);
+            // Require a new one
+            scanThread.submit(scanRunnable);
+        }
     }
 
     /** */
@@ -380,24 +605,12 @@ logger.log(Level.FINE, "hid_enumerate", e);
                 return () -> {
                     // Do nothing
                 };
+            case EVENT_DRIVEN:
+                // The native provider does not support hotplug
+logger.fine("hotplug is not supported, fallback to scan at fixed interval: " + nativeManager.getClass().getName());
+                return scanAtFixedInterval(scanInterval);
             case SCAN_AT_FIXED_INTERVAL:
-                return () -> {
-
-                    while (true) {
-                        try {
-                            //noinspection BusyWait
-                            Thread.sleep(scanInterval);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            break;
-                        }
-                        try {
-                            scan();
-                        } catch (IOException e) {
-                            logger.fine(e.toString());
-                        }
-                    }
-                };
+                return scanAtFixedInterval(scanInterval);
             case SCAN_AT_FIXED_INTERVAL_WITH_PAUSE_AFTER_WRITE:
                 return () -> {
                     // Provide an initial pause
@@ -428,6 +641,27 @@ logger.log(Level.FINE, "hid_enumerate", e);
         }
     }
 
+    /** @return A task scanning at the interval until interrupted */
+    private Runnable scanAtFixedInterval(int scanInterval) {
+        return () -> {
+
+            while (true) {
+                try {
+                    //noinspection BusyWait
+                    Thread.sleep(scanInterval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                try {
+                    scan();
+                } catch (IOException e) {
+                    logger.fine(e.toString());
+                }
+            }
+        };
+    }
+
     /** debug */
     NativeHidDevices getNativeHidDevices() {
         return nativeManager;
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+
+/**
+ * HidDevicesMXBean. management interface of {@link HidDevices},
+ * registered as "org.hid4java:type=HidDevices,id=n" when {@link HidSpecification#isJmxEnabled()}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public interface HidDevicesMXBean {
+
+    /** @return The number of scans */
+    long getScanCount();
+
+    /** @return Microseconds of the last scan */
+    long getLastScanDuration();
+
+    /** @return Microseconds of the longest scan */
+    long getMaxScanDuration();
+
+    /** @return Mean microseconds of scans */
+    double getMeanScanDuration();
+
+    /** @return The number of devices attached now */
+    int getAttachedDevices();
+
+    /** @return The number of attach events fired */
+    long getAttachedTotal();
+
+    /** @return The number of detach events fired */
+    long getDetachedTotal();
+
+    /** @return True while scanning or listening to hotplug */
+    boolean isScanning();
+
+    /** Clears the counters */
+    void reset();
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * HidDevicesMetrics. counters of {@link HidDevices}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+final class HidDevicesMetrics implements HidDevicesMXBean {
+
+    /** */
+    private final HidDevices devices;
+
+    private final LongAdder scans = new LongAdder();
+    private final LongAdder scanNanos = new LongAdder();
+    private final AtomicLong lastScanNanos = new AtomicLong();
+    private final AtomicLong maxScanNanos = new AtomicLong();
+    private final LongAdder attached = new LongAdder();
+    private final LongAdder detached = new LongAdder();
+
+    HidDevicesMetrics(HidDevices devices) {
+        this.devices = devices;
+    }
+
+    /** */
+    void scanned(long nanos) {
+        scans.increment();
+        scanNanos.add(nanos);
+        lastScanNanos.set(nanos);
+        maxScanNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /** */
+    void attached() {
+        attached.increment();
+    }
+
+    /** */
+    void detached() {
+        detached.increment();
+    }
+
+    @Override
+    public long getScanCount() {
+        return scans.sum();
+    }
+
+    @Override
+    public long getLastScanDuration() {
+        return TimeUnit.NANOSECONDS.toMicros(lastScanNanos.get());
+    }
+
+    @Override
+    public long getMaxScanDuration() {
+        return TimeUnit.NANOSECONDS.toMicros(maxScanNanos.get());
+    }
+
+    @Override
+    public double getMeanScanDuration() {
+        long scans = this.scans.sum();
+        return scans == 0 ? 0 : scanNanos.sum() / 1000d / scans;
+    }
+
+    @Override
+    public int getAttachedDevices() {
+        return devices.getAttachedDeviceCount();
+    }
+
+    @Override
+    public long getAttachedTotal() {
+        return attached.sum();
+    }
+
+    @Override
+    public long getDetachedTotal() {
+        return detached.sum();
+    }
+
+    @Override
+    public boolean isScanning() {
+        return devices.isScanning();
+    }
+
+    @Override
+    public void reset() {
+        scans.reset();
+        scanNanos.reset();
+        lastScanNanos.set(0);
+        maxScanNanos.set(0);
+        attached.reset();
+        detached.reset();
+    }
+}
@@ -25,6 +25,10 @@
 
 package org.hid4java;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+
 /**
  * Specification to provide the following to API consumers:
  * <ul>
@@ -61,6 +65,39 @@ public class HidSpecification {
          * scanning will be paused.
          */
         SCAN_AT_FIXED_INTERVAL_WITH_PAUSE_AFTER_WRITE,
+        /**
+         * Scan once at start, then update attached devices from the native attach/detach
+         * notifications (e.g. the udev monitor on linux) without periodic enumeration.
+         * <p>
+         * Falls back to {@link #SCAN_AT_FIXED_INTERVAL} when the native provider does not support it.
+         */
+        EVENT_DRIVEN,
+    }
+
+    /**
+     * What to do with an input report when the input queue of a device is full.
+     *
+     * @see #setInputQueueSize(int)
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * The reader waits for the listeners, the kernel queue may overflow as same as no input queue.
+         */
+        BLOCK,
+        /**
+         * The oldest queued report is dropped.
+         */
+        DROP_OLDEST,
+        /**
+         * The arrived report is dropped.
+         */
+        DROP_NEWEST,
+        /**
+         * A queued report of the same report ID is replaced by the arrived report, only the latest state
+         * of each report ID is delivered. The oldest report is dropped when no report of the same report ID is queued.
+         */
+        CONFLATE,
     }
 
     private ScanMode scanMode = ScanMode.SCAN_AT_FIXED_INTERVAL;
@@ -70,6 +107,14 @@ public class HidSpecification {
     private boolean autoStart = true;
     /** win & linux only (mac is no param for it) */
     private int dataReadInterval = 500;
+    /** 0 means output reports are written immediately */
+    private int outputFlushInterval = 0;
+    /** null means platform daemon threads */
+    private ThreadFactory threadFactory;
+    /** 0 means listeners are called by the reader */
+    private int inputQueueSize = 0;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private boolean jmxEnabled = false;
 
     /**
      * When false - all devices will be opened in exclusive mode. (Default)
@@ -86,6 +131,14 @@ public class HidSpecification {
      */
     public boolean useLibUsbVariant = false;
 
+    /**
+     * When 0 - each opened device reads input reports by its own thread. (Default)
+     * When positive - this number of threads wait on epoll for all opened devices and dispatch input reports.
+     * <p>
+     * Linux hidraw only, see org.hid4java.linux.LinuxEpollReactor for more information.
+     */
+    public int linuxReactorThreads = 0;
+
 
     /** */
     public ScanMode getScanMode() {
@@ -105,6 +158,9 @@ public class HidSpecification {
     }
 
     /**
+     * In {@link ScanMode#EVENT_DRIVEN} mode this is the wait timeout of the notification thread,
+     * it bounds the time to stop the thread.
+     *
      * @param scanInterval The interval in milliseconds between device enumeration scans
      */
     public void setScanInterval(int scanInterval) {
@@ -161,9 +217,151 @@ public class HidSpecification {
     }
 
     /**
+     * On linux this is the poll timeout of the input report reader, input reports are delivered as soon as
+     * they are queued regardless of this value. It also bounds the time to stop the reader on close.
+     *
      * @param dataReadInterval The interval in milliseconds between attempts to read device input buffer
      */
     public void setDataReadInterval(int dataReadInterval) {
         this.dataReadInterval = dataReadInterval;
     }
+
+    /** */
+    public int getOutputFlushInterval() {
+        return outputFlushInterval;
+    }
+
+    /**
+     * Reports queued by {@link HidDevice#enqueue(int, byte[])} are coalesced to the latest one per report ID
+     * and written at this interval. The initial value of devices scanned after this is set.
+     *
+     * @param outputFlushInterval The interval in milliseconds to flush output queues, 0 to write immediately
+     */
+    public void setOutputFlushInterval(int outputFlushInterval) {
+        if (outputFlushInterval < 0) {
+            throw new IllegalArgumentException("'outputFlushInterval' must be greater than or equal to zero.");
+        }
+        this.outputFlushInterval = outputFlushInterval;
+    }
+
+    /** */
+    public int getInputQueueSize() {
+        return inputQueueSize;
+    }
+
+    /**
+     * A queue of this size decouples reading input reports from listeners, listeners are called by
+     * a dispatcher thread of each device, so a slow listener doesn't stall reading.
+     * Reports are copied into the queue.
+     *
+     * @param inputQueueSize The number of input reports queued per device (rounded up to a power of two),
+     *                       0 to call listeners by the reader (default)
+     * @see HidDevice#getDroppedInputReports()
+     */
+    public void setInputQueueSize(int inputQueueSize) {
+        if (inputQueueSize < 0) {
+            throw new IllegalArgumentException("'inputQueueSize' must be greater than or equal to zero.");
+        }
+        this.inputQueueSize = inputQueueSize;
+    }
+
+    /** */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * @param overflowPolicy What to do when the input queue is full, {@link OverflowPolicy#BLOCK} is default
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /** */
+    public boolean isJmxEnabled() {
+        return jmxEnabled;
+    }
+
+    /**
+     * Metrics are counted always, this exposes them to the platform MBean server as
+     * {@link HidDevicesMXBean} while started and {@link HidDeviceMXBean} for each device while open.
+     *
+     * @param jmxEnabled True to register MXBeans (default false)
+     */
+    public void setJmxEnabled(boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+    }
+
+    /** */
+    public ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+
+    /**
+     * Input report readers of devices and the scan thread are made by this, listeners are called on those threads.
+     * The macOS backend keeps platform threads because a CFRunLoop belongs to a native thread.
+     *
+     * @param threadFactory The thread factory, null for platform daemon threads (default)
+     * @see #useVirtualThreads()
+     */
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Uses virtual threads for {@link #setThreadFactory(ThreadFactory)}.
+     *
+     * @throws UnsupportedOperationException when the runtime is older than Java 21
+     */
+    public void useVirtualThreads() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            this.threadFactory = (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("virtual threads are not available: " + System.getProperty("java.version"), e);
+        }
+    }
+
+    /**
+     * Makes a thread by {@link #getThreadFactory()}, the thread is not started.
+     *
+     * @param runnable The task
+     * @param name     The thread name
+     * @return A daemon thread
+     */
+    public Thread newThread(Runnable runnable, String name) {
+        Thread thread = threadFactory != null ? threadFactory.newThread(runnable) : new Thread(runnable);
+        thread.setName(name);
+        if (!thread.isDaemon()) {
+            thread.setDaemon(true);
+        }
+        return thread;
+    }
+
+    /** Thread#isVirtual() of Java 21 */
+    private static final Method isVirtual;
+
+    static {
+        Method method;
+        try {
+            method = Thread.class.getMethod("isVirtual");
+        } catch (NoSuchMethodException e) {
+            method = null;
+        }
+        isVirtual = method;
+    }
+
+    /**
+     * A virtual thread should not block in native code, it pins the carrier thread.
+     *
+     * @return True if the thread is a virtual thread
+     */
+    public static boolean isVirtual(Thread thread) {
+        try {
+            return isVirtual != null && (boolean) isVirtual.invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+
+/**
+ * InputReport. an immutable snapshot of an input report, shared by all subscribers of {@link HidDevice#reports()}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public final class InputReport {
+
+    /** */
+    private final int reportId;
+
+    /** the report data that contains first report id, never exposed */
+    private final byte[] data;
+
+    /** {@link System#nanoTime()} when the report is read */
+    private final long time;
+
+    /** */
+    private final long sequence;
+
+    /** copies the report of the event */
+    InputReport(HidDeviceEvent event) {
+        this.reportId = event.getReportId();
+        this.data = Arrays.copyOf(event.getReport(), event.getLength());
+        this.time = event.getTime();
+        this.sequence = event.getSequence();
+    }
+
+    /** */
+    public int getReportId() {
+        return reportId;
+    }
+
+    /** */
+    public int getLength() {
+        return data.length;
+    }
+
+    /** @return a byte of the report data that contains first report id */
+    public byte get(int index) {
+        return data[index];
+    }
+
+    /** @return the report data that contains first report id, copied */
+    public byte[] getData() {
+        return data.clone();
+    }
+
+    /** @return a read only view of the report data that contains first report id, not copied */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(data).asReadOnlyBuffer();
+    }
+
+    /** @return {@link System#nanoTime()} when the report is read */
+    public long getTime() {
+        return time;
+    }
+
+    /** @return the sequence number of the report, counts up from 0 per device */
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public String toString() {
+        return "InputReport{id=" + reportId + ", length=" + data.length + ", sequence=" + sequence + "}";
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.hid4java.HidSpecification.OverflowPolicy;
+
+
+/**
+ * InputReportRing. a lock-free ring of preallocated report slots between the reader of a device (the producer)
+ * and a dispatcher thread calling listeners (the consumer).
+ * <p>
+ * each slot is guarded by a sequence lock, the consumer copies a slot and claims it by cas on {@link #head},
+ * the copy is discarded when the producer has rewritten the slot or dropped it meanwhile.
+ * the producer drops the oldest report by the same cas, so the ring stays lock-free with any policy.
+ * <p>
+ * {@link OverflowPolicy#CONFLATE} rewrites a slot queued after the head only. the producer and the consumer
+ * race for the version of the slot, the producer locks it for writing or the consumer marks it claimed
+ * with the version it delivers, so a report is either conflated before it is delivered or queued again, never both.
+ * {@link OverflowPolicy#BLOCK} parks the producer until the consumer frees a slot.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+final class InputReportRing implements HidDeviceListener {
+
+    private static final Logger logger = Logger.getLogger(InputReportRing.class.getName());
+
+    /** the initial slot size, a slot grows for a longer report */
+    private static final int SLOT_SIZE = 64;
+
+    /** nanoseconds to park the dispatcher while empty, bounds the time to stop */
+    private static final long IDLE_PARK = 100_000_000;
+
+    /** */
+    private final OverflowPolicy policy;
+
+    /** */
+    private final int mask;
+
+    /** written by the producer only */
+    private final byte[][] slots;
+    private final int[] lengths;
+    private final int[] reportIds;
+    private final long[] sequences;
+    /** of {@link HidDeviceEvent} */
+    private final long[] times;
+    private final long[] reportSequences;
+
+    /** the version bit set while the producer writes */
+    private static final int WRITING = 1;
+
+    /** the version bit set when the consumer has claimed the report in the slot for {@link OverflowPolicy#CONFLATE} */
+    private static final int CLAIMED = 2;
+
+    /** a version is advanced by this per write */
+    private static final int VERSION_STEP = 4;
+
+    /** sequence locks of slots, see {@link #WRITING} and {@link #CLAIMED} */
+    private final AtomicIntegerArray versions;
+
+    /** the next sequence to be consumed, advanced by the consumer or the producer dropping the oldest */
+    private final AtomicLong head = new AtomicLong();
+
+    /** the next sequence to be produced, written by the producer only */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** the sequence of the last report per report ID, the producer only, for {@link OverflowPolicy#CONFLATE} */
+    private final long[] lastSequences = new long[256];
+
+    /** reports dropped by the policy */
+    private final LongAdder dropped = new LongAdder();
+
+    /** reports replaced by {@link OverflowPolicy#CONFLATE} */
+    private final LongAdder conflated = new LongAdder();
+
+    /** times the producer waited by {@link OverflowPolicy#BLOCK} */
+    private final LongAdder blocked = new LongAdder();
+
+    /** the consumer */
+    private final HidDeviceListener listener;
+
+    /** for the consumer, given to listeners */
+    private byte[] buffer = new byte[SLOT_SIZE];
+    private int length;
+    private int reportId;
+    private long time;
+    private long reportSequence;
+
+    /** for the consumer, a slot is copied into this then swapped with {@link #buffer} */
+    private byte[] scratch = new byte[SLOT_SIZE];
+    private int scratchLength;
+    private int scratchReportId;
+    private long scratchTime;
+    private long scratchReportSequence;
+    private int scratchVersion;
+
+    /** for the consumer, reused */
+    private final HidDeviceEvent event;
+
+    /** */
+    private final Thread dispatcher;
+
+    /** */
+    private volatile boolean running = true;
+
+    /** true while the dispatcher parks on empty */
+    private volatile boolean waiting;
+
+    /** the producer parked on full by {@link OverflowPolicy#BLOCK}, otherwise null */
+    private volatile Thread blockedProducer;
+
+    /**
+     * @param source the source of events to listeners
+     * @param capacity rounded up to a power of two
+     * @param listener called by the dispatcher
+     */
+    InputReportRing(Object source, int capacity, OverflowPolicy policy, HidDeviceListener listener, HidSpecification specification, String name) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.policy = policy;
+        this.slots = new byte[size][SLOT_SIZE];
+        this.lengths = new int[size];
+        this.reportIds = new int[size];
+        this.sequences = new long[size];
+        this.times = new long[size];
+        this.reportSequences = new long[size];
+        this.versions = new AtomicIntegerArray(size);
+        Arrays.fill(lastSequences, -1);
+        this.listener = listener;
+        this.event = new HidDeviceEvent(source);
+        this.dispatcher = specification.newThread(this::dispatch, "hid4java-dispatch-" + name);
+        dispatcher.start();
+    }
+
+    /** the producer, called by the reader of a device */
+    @Override
+    public void onInputReport(HidDeviceEvent event) {
+        offer(event.getReportId(), event.getReport(), event.getLength(), event.getTime(), event.getSequence());
+    }
+
+    /** the producer */
+    void offer(int reportId, byte[] report, int length, long time, long reportSequence) {
+        long t = tail.get();
+
+        if (policy == OverflowPolicy.CONFLATE) {
+            long last = lastSequences[reportId & 0xff];
+            // not the head, the consumer may be claiming it
+            if (last > head.get() && last < t) {
+                int i = (int) last & mask;
+                int version = versions.get(i);
+                if ((version & (WRITING | CLAIMED)) == 0 && sequences[i] == last &&
+                        versions.compareAndSet(i, version, version | WRITING)) {
+                    write(i, version, last, reportId, report, length, time, reportSequence);
+                    conflated.increment();
+                    return;
+                }
+                // claimed meanwhile, queue it
+            }
+        }
+
+        while (t - head.get() > mask) {
+            switch (policy) {
+            case DROP_NEWEST:
+                dropped.increment();
+                return;
+            case DROP_OLDEST:
+            case CONFLATE:
+                long h = head.get();
+                if (t - h > mask && head.compareAndSet(h, h + 1)) {
+                    dropped.increment();
+                }
+                break;
+            case BLOCK:
+                blocked.increment();
+                blockedProducer = Thread.currentThread();
+                if (t - head.get() > mask && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK);
+                }
+                blockedProducer = null;
+                if (!running) {
+                    return;
+                }
+                break;
+            }
+        }
+
+        int i = (int) t & mask;
+        write(i, lock(i), t, reportId, report, length, time, reportSequence);
+        lastSequences[reportId & 0xff] = t;
+        tail.set(t + 1);
+        if (waiting) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    /**
+     * Locks a slot for a new report, the consumer may mark the previous report in it claimed concurrently.
+     *
+     * @return the version without the flags
+     */
+    private int lock(int i) {
+        while (true) {
+            int version = versions.get(i);
+            int unflagged = version & ~(WRITING | CLAIMED);
+            if (versions.compareAndSet(i, version, unflagged | WRITING)) {
+                return unflagged;
+            }
+        }
+    }
+
+    /**
+     * Writes a slot locked and unlocks it.
+     *
+     * @param version the version locked, without the flags
+     */
+    private void write(int i, int version, long sequence, int reportId, byte[] report, int length, long time, long reportSequence) {
+        if (slots[i].length < length) {
+            slots[i] = new byte[length];
+        }
+        System.arraycopy(report, 0, slots[i], 0, length);
+        lengths[i] = length;
+        reportIds[i] = reportId;
+        times[i] = time;
+        reportSequences[i] = reportSequence;
+        sequences[i] = sequence;
+        versions.setRelease(i, version + VERSION_STEP);
+    }
+
+    /**
+     * Copies a slot into {@link #scratch} under the sequence lock.
+     *
+     * @return false when the slot is being written, rewritten while copying or not of the sequence
+     */
+    private boolean read(int i, long sequence) {
+        int version = versions.getAcquire(i);
+        if ((version & WRITING) != 0 || sequences[i] != sequence) {
+            return false;
+        }
+        byte[] slot = slots[i];
+        int length = Math.min(lengths[i], slot.length);
+        int reportId = reportIds[i];
+        long time = times[i];
+        long reportSequence = reportSequences[i];
+        if (scratch.length < length) {
+            scratch = new byte[length];
+        }
+        System.arraycopy(slot, 0, scratch, 0, length);
+        VarHandle.acquireFence();
+        if (versions.get(i) != version) {
+            return false;
+        }
+        scratchLength = length;
+        scratchReportId = reportId;
+        scratchTime = time;
+        scratchReportSequence = reportSequence;
+        scratchVersion = version;
+        return true;
+    }
+
+    /** makes the last {@link #read(int, long)} the report to be dispatched */
+    private void swap() {
+        byte[] temp = buffer;
+        buffer = scratch;
+        scratch = temp;
+        length = scratchLength;
+        reportId = scratchReportId;
+        time = scratchTime;
+        reportSequence = scratchReportSequence;
+    }
+
+    /** the consumer */
+    private void dispatch() {
+        while (running) {
+            long h = head.get();
+            if (h == tail.get()) {
+                waiting = true;
+                if (h == tail.get() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK);
+                }
+                waiting = false;
+                continue;
+            }
+
+            int i = (int) h & mask;
+            if (!read(i, h)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (!head.compareAndSet(h, h + 1)) {
+                // dropped meanwhile
+                continue;
+            }
+            swap();
+            if (blockedProducer != null) {
+                LockSupport.unpark(blockedProducer);
+            }
+
+            if (policy == OverflowPolicy.CONFLATE) {
+                // the producer may have conflated it between the copy and the claim, deliver the latest one
+                int version = scratchVersion;
+                while (!versions.compareAndSet(i, version, version | CLAIMED)) {
+                    if (read(i, h)) {
+                        swap();
+                        version = scratchVersion;
+                    } else if (sequences[i] != h) {
+                        // the slot is reused for a later report
+                        break;
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+            }
+
+            try {
+                listener.onInputReport(event.set(reportId, buffer, length, time, reportSequence));
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, e.getMessage(), e);
+            }
+        }
+    }
+
+    /** @return the number of reports queued */
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /** */
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    /** */
+    long getConflated() {
+        return conflated.sum();
+    }
+
+    /** */
+    long getBlocked() {
+        return blocked.sum();
+    }
+
+    /** stops the dispatcher, queued reports are discarded */
+    void close() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        Thread producer = blockedProducer;
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+        if (dispatcher != Thread.currentThread()) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * LatencyHistogram. a histogram of durations in nanoseconds in the manner of HdrHistogram,
+ * exact below 64ns and log-linear above with 32 sub-buckets per power of two (about 3% resolution).
+ * values above {@link #MAX_VALUE} are counted in the last bucket.
+ * <p>
+ * {@link #record(long)} allocates nothing but the counts at the first time.
+ * queries and {@link #reset()} may be called by any thread while recording,
+ * a value recorded during {@link #reset()} may be lost.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public final class LatencyHistogram {
+
+    /** log2 of sub-buckets per power of two */
+    private static final int SUB_BITS = 5;
+
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    /** the highest bit of a value recorded exactly, about 2199 seconds */
+    private static final int MAX_BIT = 40;
+
+    /** the largest value recorded exactly */
+    public static final long MAX_VALUE = (1L << (MAX_BIT + 1)) - 1;
+
+    /** the number of buckets */
+    private static final int SIZE = index(MAX_VALUE) + 1;
+
+    /** allocated at the first record */
+    private volatile AtomicLongArray counts;
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    /** @return the bucket of the value */
+    static int index(long value) {
+        if (value < SUB_COUNT << 1) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) (value >>> shift) - SUB_COUNT;
+    }
+
+    /** @return the largest value of the bucket */
+    static long highestValue(int index) {
+        if (index < SUB_COUNT << 1) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long lowest = (long) (index % SUB_COUNT + SUB_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * @param nanos a duration, a negative value is recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        AtomicLongArray counts = this.counts;
+        if (counts == null) {
+            synchronized (this) {
+                if (this.counts == null) {
+                    this.counts = new AtomicLongArray(SIZE);
+                }
+                counts = this.counts;
+            }
+        }
+        counts.incrementAndGet(index(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        min.accumulateAndGet(value, Math::min);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /** @return the number of values recorded */
+    public long getCount() {
+        return count.get();
+    }
+
+    /** @return nanoseconds, 0 when no value is recorded */
+    public long getMin() {
+        long min = this.min.get();
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    /** @return nanoseconds */
+    public long getMax() {
+        return max.get();
+    }
+
+    /** @return nanoseconds, 0 when no value is recorded */
+    public double getMean() {
+        long count = this.count.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * @param percentile 0 to 100
+     * @return nanoseconds, the largest value equivalent to the value at the percentile within the resolution,
+     *         0 when no value is recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        AtomicLongArray counts = this.counts;
+        if (counts == null) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < SIZE; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * total));
+        long n = 0;
+        for (int i = 0; i < SIZE; i++) {
+            n += counts.get(i);
+            if (n >= target) {
+                return Math.min(highestValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /** Clears all values recorded. */
+    public void reset() {
+        AtomicLongArray counts = this.counts;
+        if (counts != null) {
+            for (int i = 0; i < SIZE; i++) {
+                counts.set(i, 0);
+            }
+        }
+        count.set(0);
+        sum.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count: %d, min: %d, mean: %.0f, p50: %d, p99: %d, p99.9: %d, max: %d (us)",
+                getCount(),
+                TimeUnit.NANOSECONDS.toMicros(getMin()),
+                getMean() / 1000,
+                TimeUnit.NANOSECONDS.toMicros(getValueAtPercentile(50)),
+                TimeUnit.NANOSECONDS.toMicros(getValueAtPercentile(99)),
+                TimeUnit.NANOSECONDS.toMicros(getValueAtPercentile(99.9)),
+                TimeUnit.NANOSECONDS.toMicros(getMax()));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+
+/**
+ * Management. registers MXBeans to the platform MBean server, a failure is logged and ignored
+ * because metrics must not break devices.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+final class Management {
+
+    private static final Logger logger = Logger.getLogger(Management.class.getName());
+
+    /** the domain of object names */
+    static final String DOMAIN = "org.hid4java";
+
+    private Management() {
+    }
+
+    /**
+     * A bean registered by another is never replaced, names must be unique by an "id" key.
+     *
+     * @param properties e.g. "type=HidDevice,id=n,path=..."
+     * @return the name registered, null when failed
+     */
+    static ObjectName register(Object mbean, String properties) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(mbean, name);
+logger.finer("registered: " + name);
+            return name;
+        } catch (JMException | RuntimeException e) {
+logger.log(Level.FINE, "register: " + properties, e);
+            return null;
+        }
+    }
+
+    /** @param name null is ignored */
+    static void unregister(ObjectName name) {
+        if (name == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+logger.finer("unregistered: " + name);
+        } catch (JMException | RuntimeException e) {
+logger.log(Level.FINE, "unregister: " + name, e);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * MergedReportStream. merges input reports of devices into one sequence ordered by {@link HidDeviceEvent#getTime()},
+ * delivered to a listener by a thread.
+ * <p>
+ * each device queues copies of its reports, the reports are in time order per device,
+ * so the oldest of the heads of the queues is the next one when all devices have a report queued.
+ * otherwise the oldest head waits for the reordering window, a report of an idle device is not waited for longer.
+ * a report arriving later than the window after a newer one was delivered is delivered as late, out of order.
+ * <p>
+ * the listener receives events whose source is the {@link HidDevice}, reused per device.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see HidDevices#merge(List, long, TimeUnit, HidDeviceListener)
+ */
+public final class MergedReportStream implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(MergedReportStream.class.getName());
+
+    /** reports queued per device */
+    static final int QUEUE_SIZE = 1024;
+
+    /** nanoseconds to park the merger while empty, bounds the time to stop */
+    private static final long IDLE_PARK = 100_000_000;
+
+    /** a report copied */
+    private static final class Entry {
+        final int reportId;
+        final byte[] data;
+        final long time;
+        final long sequence;
+
+        Entry(HidDeviceEvent event) {
+            this.reportId = event.getReportId();
+            this.data = Arrays.copyOf(event.getReport(), event.getLength());
+            this.time = event.getTime();
+            this.sequence = event.getSequence();
+        }
+    }
+
+    /** */
+    private final List<HidDevice> devices;
+
+    /** listens to {@link #devices} */
+    private final HidDeviceListener[] producers;
+
+    /** by device */
+    private final List<ArrayBlockingQueue<Entry>> queues;
+
+    /** by device, the source is the device */
+    private final HidDeviceEvent[] events;
+
+    /** nanoseconds */
+    private final long window;
+
+    /** */
+    private final HidDeviceListener listener;
+
+    /** */
+    private final Thread merger;
+
+    /** */
+    private volatile boolean running = true;
+
+    /** true while the merger parks */
+    private volatile boolean waiting;
+
+    /** */
+    private final LongAdder delivered = new LongAdder();
+
+    /** by full queues */
+    private final LongAdder dropped = new LongAdder();
+
+    /** delivered out of order */
+    private final LongAdder late = new LongAdder();
+
+    /**
+     * Starts merging.
+     *
+     * @param window   nanoseconds to wait for reports of other devices
+     * @param listener called by the merger thread
+     */
+    MergedReportStream(List<HidDevice> devices, long window, HidDeviceListener listener, HidSpecification specification) {
+        if (devices.isEmpty()) {
+            throw new IllegalArgumentException("no device");
+        }
+        if (window < 0) {
+            throw new IllegalArgumentException("'window' must be greater than or equal to zero.");
+        }
+        this.devices = List.copyOf(devices);
+        this.window = window;
+        this.listener = listener;
+        int n = this.devices.size();
+        List<ArrayBlockingQueue<Entry>> queues = new ArrayList<>(n);
+        this.events = new HidDeviceEvent[n];
+        this.producers = new HidDeviceListener[n];
+        for (int i = 0; i < n; i++) {
+            ArrayBlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+            queues.add(queue);
+            events[i] = new HidDeviceEvent(this.devices.get(i));
+            producers[i] = event -> offer(queue, event);
+        }
+        this.queues = List.copyOf(queues);
+
+        this.merger = specification.newThread(this::merge, "hid4java-merge");
+        merger.start();
+        for (int i = 0; i < n; i++) {
+            this.devices.get(i).addInputReportListener(producers[i]);
+        }
+    }
+
+    /** by the reader of a device */
+    private void offer(ArrayBlockingQueue<Entry> queue, HidDeviceEvent event) {
+        if (!queue.offer(new Entry(event))) {
+            dropped.increment();
+            return;
+        }
+        if (waiting) {
+            LockSupport.unpark(merger);
+        }
+    }
+
+    /** */
+    private void merge() {
+        Entry[] heads = new Entry[queues.size()];
+        long lastTime = Long.MIN_VALUE;
+        while (running) {
+            int oldest = -1;
+            boolean all = true;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] == null) {
+                    heads[i] = queues.get(i).poll();
+                }
+                if (heads[i] == null) {
+                    all = false;
+                } else if (oldest < 0 || heads[i].time - heads[oldest].time < 0) {
+                    oldest = i;
+                }
+            }
+
+            long wait = oldest < 0 ? IDLE_PARK : all ? 0 : heads[oldest].time + window - System.nanoTime();
+            if (wait > 0) {
+                waiting = true;
+                if (!arrived(heads) && running) {
+                    LockSupport.parkNanos(this, wait);
+                }
+                waiting = false;
+                continue;
+            }
+
+            Entry entry = heads[oldest];
+            heads[oldest] = null;
+            if (entry.time - lastTime < 0 && lastTime != Long.MIN_VALUE) {
+                late.increment();
+            } else {
+                lastTime = entry.time;
+            }
+            try {
+                listener.onInputReport(events[oldest].set(entry.reportId, entry.data, entry.data.length, entry.time, entry.sequence));
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, e.getMessage(), e);
+            }
+            delivered.increment();
+        }
+    }
+
+    /** @return true when a device of no head has a report queued */
+    private boolean arrived(Entry[] heads) {
+        for (int i = 0; i < heads.length; i++) {
+            if (heads[i] == null && !queues.get(i).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return the devices merged */
+    public List<HidDevice> getDevices() {
+        return devices;
+    }
+
+    /** @return the reordering window in the unit */
+    public long getWindow(TimeUnit unit) {
+        return unit.convert(window, TimeUnit.NANOSECONDS);
+    }
+
+    /** @return the number of reports delivered */
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    /** @return the number of reports dropped by a full queue of a device */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /** @return the number of reports delivered after a newer report, arrived later than the window */
+    public long getLate() {
+        return late.sum();
+    }
+
+    /** Stops merging, reports queued are discarded. */
+    @Override
+    public void close() {
+        for (int i = 0; i < producers.length; i++) {
+            devices.get(i).removeInputReportListener(producers[i]);
+        }
+        running = false;
+        LockSupport.unpark(merger);
+        if (merger != Thread.currentThread()) {
+            try {
+                merger.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+logger.fine("merged: " + delivered.sum() + ", dropped: " + dropped.sum() + ", late: " + late.sum());
+    }
+}
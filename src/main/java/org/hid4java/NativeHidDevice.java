@@ -1,8 +1,7 @@
 package org.hid4java;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
 
 
 /**
@@ -13,18 +12,22 @@ import java.util.List;
  */
 public interface NativeHidDevice {
 
-    /** input report listeners */
-    List<HidDeviceListener> HID_DEVICE_LISTENERS = new ArrayList<>();
+    /** input report listeners of this device */
+    HidDeviceListenerSupport getInputReportListeners();
 
     /** adds {@link HidDeviceListener} */
     default void addInputReportListener(HidDeviceListener listener) {
-        HID_DEVICE_LISTENERS.add(listener);
+        getInputReportListeners().add(listener);
+    }
+
+    /** removes {@link HidDeviceListener} */
+    default void removeInputReportListener(HidDeviceListener listener) {
+        getInputReportListeners().remove(listener);
     }
 
     /** */
     default void fireOnInputReport(HidDeviceEvent event) {
-        for (HidDeviceListener listener : HID_DEVICE_LISTENERS)
-            listener.onInputReport(event);
+        getInputReportListeners().fireOnInputReport(event);
     }
 
     /**
@@ -117,4 +120,47 @@ public interface NativeHidDevice {
      * @since version 0.10.0
      */
     int getInputReport(byte[] data, byte reportId) throws IOException;
+
+    /**
+     * Writes an Output report from a buffer.
+     * <p>
+     * The default implementation copies the buffer into a heap array,
+     * a native backend passes the address of a direct buffer to the system call without copying.
+     *
+     * @param buffer   the data from the position to the limit, including the report number as the first byte.
+     *                 the position is advanced by the bytes written
+     * @param reportId The report ID (or (byte) 0x00)
+     * @return The actual number of bytes written, -1 on error
+     */
+    default int write(ByteBuffer buffer, byte reportId) throws IOException {
+        int len = buffer.remaining();
+        byte[] data;
+        if (buffer.hasArray() && buffer.arrayOffset() + buffer.position() == 0) {
+            data = buffer.array();
+        } else {
+            data = new byte[len];
+            buffer.duplicate().get(data);
+        }
+        int bytesWritten = write(data, len, reportId);
+        if (bytesWritten > 0) {
+            buffer.position(buffer.position() + Math.min(bytesWritten, len));
+        }
+        return bytesWritten;
+    }
+
+    /**
+     * Reads an Input report into a buffer, blocks until a report arrives.
+     * <p>
+     * Do not use this while the input report event system is started by {@link #open()},
+     * both consume the same reports.
+     *
+     * @param buffer the report is put from the position up to the limit, including the report id as the first byte.
+     *               the position is advanced by the bytes read
+     * @return The number of bytes read, 0 when no report is available
+     * @throws UnsupportedOperationException when the backend delivers reports by the event system only
+     * @throws java.nio.ReadOnlyBufferException when the buffer is read-only, no report is consumed
+     */
+    default int read(ByteBuffer buffer) throws IOException {
+        throw new UnsupportedOperationException("read is not supported: " + getClass().getName());
+    }
 }
@@ -70,4 +70,45 @@ public interface NativeHidDevices {
 
     /** */
     boolean isSupported();
+
+    /**
+     * Receives device attach/detach notifications from a native device provider.
+     *
+     * @see #startHotplug(HotplugListener)
+     */
+    interface HotplugListener {
+
+        /**
+         * @param infos the device attached, an entry for each usage pair
+         */
+        void attached(List<HidDevice.Info> infos);
+
+        /**
+         * @param path the path of the device detached
+         */
+        void detached(String path);
+    }
+
+    /**
+     * @return true if this provider notifies device attach/detach by itself
+     */
+    default boolean isHotplugSupported() {
+        return false;
+    }
+
+    /**
+     * Starts to notify device attach/detach until {@link #stopHotplug()} is called.
+     *
+     * @param listener notified on a thread of this provider
+     * @throws UnsupportedOperationException when {@link #isHotplugSupported()} is false
+     */
+    default void startHotplug(HotplugListener listener) throws IOException {
+        throw new UnsupportedOperationException("hotplug is not supported: " + getClass().getName());
+    }
+
+    /**
+     * Stops to notify device attach/detach.
+     */
+    default void stopHotplug() {
+    }
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.List;
+
+
+/**
+ * ReportDecoder. decodes all input fields of a report into an array at once, compiled from a {@link ReportLayout}.
+ * <p>
+ * the fields of each report ID are flattened into tables of codes (word offset, shifts and sign) and scales,
+ * fields in the same 8 bytes share a word read, a report is decoded by a loop over them without allocation.
+ * a field is stored at its index in {@link ReportLayout#getInputFields()}, which is stable for a descriptor,
+ * see {@link #indexOf(int, int)}.
+ * a field wider than 32 bits, e.g. an array item of all elements, is decoded to its lowest 32 bits.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public final class ReportDecoder {
+
+    /** reads 8 bytes of a report as a word, the bit order of HID is little endian */
+    private static final VarHandle WORD = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /** the fields of a report ID */
+    private static final class Table {
+
+        /** a code is the left shift, the right shift, the sign flag and the word offset */
+        static final int SIGNED = 1 << 12;
+        static final int WORD_OFFSET_SHIFT = 13;
+
+        /** the index of values */
+        final int[] indices;
+        /** extracts a field from the word at the offset, fields of the same word are contiguous */
+        final int[] codes;
+        /** the bytes a field needs */
+        final int[] ends;
+        /** the length of a report whose words are all read at once */
+        final int fullLength;
+        /** physical = logical * scale + bias */
+        final float[] scales;
+        final float[] biases;
+
+        Table(List<ReportLayout.Field> fields, int reportSize) {
+            int n = fields.size();
+            indices = new int[n];
+            codes = new int[n];
+            ends = new int[n];
+            scales = new float[n];
+            biases = new float[n];
+            int wordOffset = -1;
+            int fullLength = 0;
+            for (int i = 0; i < n; i++) {
+                ReportLayout.Field field = fields.get(i);
+                int size = Math.min(field.bitSize, 32);
+                if (wordOffset < 0 || field.bitOffset < wordOffset * 8 || field.bitOffset + size > wordOffset * 8 + 64) {
+                    // a word of the last bytes stays in the report
+                    wordOffset = reportSize >= 8 ? Math.min(field.bitOffset >> 3, reportSize - 8) : field.bitOffset >> 3;
+                }
+                int shift = field.bitOffset - wordOffset * 8;
+                indices[i] = field.index;
+                codes[i] = (64 - shift - size) | (64 - size) << 6 | (field.logicalMinimum < 0 && size < 32 ? SIGNED : 0) |
+                        wordOffset << WORD_OFFSET_SHIFT;
+                ends[i] = (field.bitOffset + size + 7) >> 3;
+                fullLength = Math.max(fullLength, Math.max(ends[i], wordOffset + 8));
+                double logical = (double) field.logicalMaximum - field.logicalMinimum;
+                double scale = logical == 0 ? 1 : (field.physicalMaximum - (double) field.physicalMinimum) / logical;
+                double exponent = Math.pow(10, field.unitExponent);
+                scales[i] = (float) (scale * exponent);
+                biases[i] = (float) ((field.physicalMinimum - field.logicalMinimum * scale) * exponent);
+            }
+            this.fullLength = fullLength;
+        }
+
+        /** @return the field of the code in the word */
+        static int extract(long word, int code) {
+            long bits = word << (code & 0x3f);
+            int shift = (code >>> 6) & 0x3f;
+            return (int) ((code & SIGNED) != 0 ? bits >> shift : bits >>> shift);
+        }
+    }
+
+    /** */
+    private final ReportLayout layout;
+
+    /** by report ID, null for a report ID of no field */
+    private final Table[] tables = new Table[256];
+
+    /**
+     * @param layout the fields to decode
+     */
+    public ReportDecoder(ReportLayout layout) {
+        this.layout = layout;
+        List<ReportLayout.Field> fields = layout.getInputFields();
+        for (int reportId = 0; reportId < 256; reportId++) {
+            final int id = reportId;
+            // a field of no bit has no value
+            List<ReportLayout.Field> fieldsOfId = fields.stream().filter(f -> f.reportId == id && f.bitSize > 0).toList();
+            if (!fieldsOfId.isEmpty()) {
+                tables[reportId] = new Table(fieldsOfId, layout.getInputReportSize(reportId));
+            }
+        }
+    }
+
+    /**
+     * Creates a decoder by the report descriptor of the device.
+     */
+    public static ReportDecoder of(HidDevice device) throws IOException {
+        byte[] descriptor = new byte[HidDevice.HID_API_MAX_REPORT_DESCRIPTOR_SIZE];
+        int length = device.getReportDescriptor(descriptor);
+        if (length <= 0) {
+            throw new IOException("no report descriptor: " + device.getPath());
+        }
+        return new ReportDecoder(ReportLayout.parse(descriptor, length));
+    }
+
+    /** */
+    public ReportLayout getLayout() {
+        return layout;
+    }
+
+    /** @return the length of arrays to decode into */
+    public int getFieldCount() {
+        return layout.getInputFields().size();
+    }
+
+    /**
+     * @return the index of the first field of the usage in decoded arrays, -1 when not found
+     */
+    public int indexOf(int usagePage, int usage) {
+        ReportLayout.Field field = layout.find(usagePage, usage);
+        return field != null ? field.index : -1;
+    }
+
+    /** @return the table of the report, null when no field */
+    private Table table(byte[] report, int length) {
+        if (!layout.hasReportIds()) {
+            return tables[0];
+        }
+        return length > 0 ? tables[report[0] & 0xff] : null;
+    }
+
+    /** @return the word of a report from the offset, bytes beyond the length are 0 */
+    private static long word(byte[] report, int offset, int length) {
+        if (offset + 8 <= length) {
+            return (long) WORD.get(report, offset);
+        }
+        long word = 0;
+        for (int i = length - 1; i >= offset; i--) {
+            word = word << 8 | (report[i] & 0xff);
+        }
+        return word;
+    }
+
+    /**
+     * Decodes the logical values of the fields of the report.
+     * fields of other report IDs and fields beyond the length are left as they are.
+     *
+     * @param report the report as read, including the report ID byte when declared
+     * @param values at least {@link #getFieldCount()} long
+     * @return the number of fields decoded
+     */
+    public int decode(byte[] report, int length, int[] values) {
+        Table table = table(report, length);
+        if (table == null) {
+            return 0;
+        }
+        int[] indices = table.indices;
+        int[] codes = table.codes;
+        int wordOffset = -1;
+        long word = 0;
+        if (length >= table.fullLength) {
+            for (int i = 0; i < indices.length; i++) {
+                int code = codes[i];
+                if (code >>> Table.WORD_OFFSET_SHIFT != wordOffset) {
+                    wordOffset = code >>> Table.WORD_OFFSET_SHIFT;
+                    word = (long) WORD.get(report, wordOffset);
+                }
+                values[indices[i]] = Table.extract(word, code);
+            }
+            return indices.length;
+        }
+        // a short report
+        int[] ends = table.ends;
+        int n = 0;
+        for (int i = 0; i < indices.length; i++) {
+            if (ends[i] > length) {
+                continue;
+            }
+            int code = codes[i];
+            if (code >>> Table.WORD_OFFSET_SHIFT != wordOffset) {
+                wordOffset = code >>> Table.WORD_OFFSET_SHIFT;
+                word = word(report, wordOffset, length);
+            }
+            values[indices[i]] = Table.extract(word, code);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Decodes the physical values of the fields of the report, scaled from the logical range
+     * to the physical range by the unit exponent.
+     * fields of other report IDs and fields beyond the length are left as they are.
+     *
+     * @param report the report as read, including the report ID byte when declared
+     * @param values at least {@link #getFieldCount()} long
+     * @return the number of fields decoded
+     */
+    public int decode(byte[] report, int length, float[] values) {
+        Table table = table(report, length);
+        if (table == null) {
+            return 0;
+        }
+        int[] indices = table.indices;
+        int[] codes = table.codes;
+        float[] scales = table.scales;
+        float[] biases = table.biases;
+        int wordOffset = -1;
+        long word = 0;
+        if (length >= table.fullLength) {
+            for (int i = 0; i < indices.length; i++) {
+                int code = codes[i];
+                if (code >>> Table.WORD_OFFSET_SHIFT != wordOffset) {
+                    wordOffset = code >>> Table.WORD_OFFSET_SHIFT;
+                    word = (long) WORD.get(report, wordOffset);
+                }
+                values[indices[i]] = Table.extract(word, code) * scales[i] + biases[i];
+            }
+            return indices.length;
+        }
+        // a short report
+        int[] ends = table.ends;
+        int n = 0;
+        for (int i = 0; i < indices.length; i++) {
+            if (ends[i] > length) {
+                continue;
+            }
+            int code = codes[i];
+            if (code >>> Table.WORD_OFFSET_SHIFT != wordOffset) {
+                wordOffset = code >>> Table.WORD_OFFSET_SHIFT;
+                word = word(report, wordOffset, length);
+            }
+            values[indices[i]] = Table.extract(word, code) * scales[i] + biases[i];
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+
+/**
+ * ReportDescriptorCache. shares report descriptors and their parsed results between devices of the same kind.
+ * <p>
+ * an entry is keyed by vendor id, product id, release number, descriptor length and descriptor crc32,
+ * so the raw descriptor still has to be read but parsing is done once per kind of device.
+ * entries are evicted in lru order. the descriptors and the usage pairs can be persisted,
+ * other parsed results are kept in memory only.
+ * <p>
+ * <h4>system property</h4>
+ * <li>"org.hid4java.descriptorCache.size" ... max entries, default 256</li>
+ * <li>"org.hid4java.descriptorCache.persist" ... true to load at start up and to save at shutdown, default false</li>
+ * <li>"org.hid4java.descriptorCache.file" ... the file to persist,
+ * default "descriptors.bin" in "hid4java" under the user cache directory</li>
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public final class ReportDescriptorCache {
+
+    private static final Logger logger = Logger.getLogger(ReportDescriptorCache.class.getName());
+
+    /** the persisted file format */
+    private static final int MAGIC = 0x48344a44; // "H4JD"
+
+    /** the persisted file format version */
+    private static final int VERSION = 1;
+
+    /** bytes of a persisted entry without the descriptor and the usages */
+    private static final int ENTRY_HEADER_SIZE = 2 * 3 + 4 * 3;
+
+    /** an entry identity */
+    public static final class Key {
+
+        final int vendorId;
+        final int productId;
+        final int releaseNumber;
+        final int length;
+        final int crc;
+
+        Key(int vendorId, int productId, int releaseNumber, int length, int crc) {
+            this.vendorId = vendorId & 0xffff;
+            this.productId = productId & 0xffff;
+            this.releaseNumber = releaseNumber & 0xffff;
+            this.length = length;
+            this.crc = crc;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return vendorId == key.vendorId && productId == key.productId && releaseNumber == key.releaseNumber &&
+                    length == key.length && crc == key.crc;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(vendorId, productId, releaseNumber, length, crc);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%04x:%04x:%04x/%d/%08x", vendorId, productId, releaseNumber, length, crc);
+        }
+    }
+
+    /** a cached descriptor */
+    public static final class Entry {
+
+        private final Key key;
+        private final byte[] descriptor;
+        /** usage page (upper 16 bits) and usage (lower 16 bits) pairs, null until parsed */
+        private volatile int[] usages;
+        /** parsed results by parser type, not persisted */
+        private final Map<Class<?>, Object> parsed = new HashMap<>();
+
+        private Entry(Key key, byte[] descriptor) {
+            this.key = key;
+            this.descriptor = descriptor;
+        }
+
+        /** */
+        public Key getKey() {
+            return key;
+        }
+
+        /** @return a copy of the descriptor */
+        public byte[] getDescriptor() {
+            return descriptor.clone();
+        }
+
+        /** */
+        public int getLength() {
+            return descriptor.length;
+        }
+
+        /**
+         * @param parser parses the descriptor into usage page (upper 16 bits) and usage (lower 16 bits) pairs,
+         *               called only at the first time
+         * @return the pairs, don't modify
+         */
+        public int[] getUsages(Function<byte[], int[]> parser) {
+            int[] usages = this.usages;
+            if (usages == null) {
+                usages = parser.apply(descriptor.clone());
+                this.usages = usages;
+            }
+            return usages;
+        }
+
+        /**
+         * @param type the parsed result type, a key for the result
+         * @param parser parses the descriptor, called only at the first time for the type
+         * @return the parsed result shared with devices of the same kind
+         */
+        public <T> T getParsed(Class<T> type, Function<byte[], T> parser) {
+            synchronized (parsed) {
+                Object result = parsed.get(type);
+                if (result == null) {
+                    result = parser.apply(descriptor.clone());
+                    parsed.put(type, result);
+                }
+                return type.cast(result);
+            }
+        }
+    }
+
+    /** */
+    private static ReportDescriptorCache instance;
+
+    /** @return the shared instance configured by the system properties */
+    public static synchronized ReportDescriptorCache getInstance() {
+        if (instance == null) {
+            ReportDescriptorCache cache = new ReportDescriptorCache(Integer.getInteger("org.hid4java.descriptorCache.size", 256));
+            if (Boolean.getBoolean("org.hid4java.descriptorCache.persist")) {
+                String file = System.getProperty("org.hid4java.descriptorCache.file");
+                Path path = file != null ? Paths.get(file) : defaultPath();
+                try {
+                    cache.load(path);
+                } catch (IOException e) {
+                    logger.log(Level.FINE, "load, discard: " + path, e);
+                    try {
+                        Files.deleteIfExists(path);
+                    } catch (IOException f) {
+                        logger.log(Level.FINE, "delete: " + path, f);
+                    }
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        cache.save(path);
+                    } catch (IOException e) {
+                        logger.log(Level.FINE, "save: " + path, e);
+                    }
+                }, "hid4java-descriptor-cache"));
+            }
+            instance = cache;
+        }
+        return instance;
+    }
+
+    /** the user cache directory of the platform */
+    static Path defaultPath() {
+        String os = System.getProperty("os.name").toLowerCase();
+        String home = System.getProperty("user.home");
+        Path dir;
+        if (os.contains("win")) {
+            String local = System.getenv("LOCALAPPDATA");
+            dir = local != null ? Paths.get(local) : Paths.get(home, "AppData", "Local");
+        } else if (os.contains("mac")) {
+            dir = Paths.get(home, "Library", "Caches");
+        } else {
+            String xdg = System.getenv("XDG_CACHE_HOME");
+            dir = xdg != null ? Paths.get(xdg) : Paths.get(home, ".cache");
+        }
+        return dir.resolve("hid4java").resolve("descriptors.bin");
+    }
+
+    /** */
+    private final Map<Key, Entry> entries;
+
+    /** */
+    private final AtomicLong hits = new AtomicLong();
+
+    /** */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxEntries the least recently used entry is evicted over this
+     */
+    public ReportDescriptorCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries: " + maxEntries);
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Looks up the entry for the descriptor, the descriptor is copied when it's a new one.
+     *
+     * @param descriptor the raw report descriptor
+     * @param length the valid length of the descriptor
+     * @return the cached entry
+     */
+    public Entry get(int vendorId, int productId, int releaseNumber, byte[] descriptor, int length) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(descriptor, 0, length);
+        Key key = new Key(vendorId, productId, releaseNumber, length, (int) crc32.getValue());
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits.incrementAndGet();
+                return entry;
+            }
+            misses.incrementAndGet();
+            entry = new Entry(key, Arrays.copyOf(descriptor, length));
+            entries.put(key, entry);
+logger.finer("descriptor cached: " + key);
+            return entry;
+        }
+    }
+
+    /** @return the number of lookups found */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** @return the number of lookups not found */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /** removes all entries and resets the counters */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Loads entries persisted by {@link #save(Path)}, missing file is ignored.
+     * all or nothing, counts and lengths are bounded and each descriptor is verified by its crc32.
+     *
+     * @throws IOException when the file is truncated or corrupt, no entry is loaded then
+     */
+    public void load(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        long size = Files.size(path);
+        Map<Key, Entry> loaded = new LinkedHashMap<>();
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (dis.readInt() != MAGIC || dis.readInt() != VERSION) {
+                throw new IOException("unknown format: " + path);
+            }
+            int n = dis.readInt();
+            if (n < 0 || n > size / ENTRY_HEADER_SIZE) {
+                throw new IOException("corrupt entry count: " + n + ", " + path);
+            }
+            CRC32 crc32 = new CRC32();
+            for (int i = 0; i < n; i++) {
+                Key key = new Key(dis.readUnsignedShort(), dis.readUnsignedShort(), dis.readUnsignedShort(), dis.readInt(), dis.readInt());
+                if (key.length <= 0 || key.length > HidDevice.HID_API_MAX_REPORT_DESCRIPTOR_SIZE) {
+                    throw new IOException("corrupt descriptor length: " + key + ", " + path);
+                }
+                byte[] descriptor = new byte[key.length];
+                dis.readFully(descriptor);
+                crc32.reset();
+                crc32.update(descriptor);
+                if ((int) crc32.getValue() != key.crc) {
+                    throw new IOException("corrupt descriptor: " + key + ", " + path);
+                }
+                Entry entry = new Entry(key, descriptor);
+                int u = dis.readInt();
+                if (u < -1 || u > HidDevice.HID_API_MAX_REPORT_DESCRIPTOR_SIZE) {
+                    throw new IOException("corrupt usage count: " + u + ", " + key + ", " + path);
+                }
+                if (u >= 0) {
+                    int[] usages = new int[u];
+                    for (int j = 0; j < u; j++) {
+                        usages[j] = dis.readInt();
+                    }
+                    entry.usages = usages;
+                }
+                loaded.put(key, entry);
+            }
+        }
+        synchronized (entries) {
+            entries.putAll(loaded);
+        }
+logger.fine("descriptor cache loaded: " + loaded.size() + " from " + path);
+    }
+
+    /**
+     * Saves the descriptors and the usage pairs, the file is replaced atomically.
+     */
+    public void save(Path path) throws IOException {
+        Entry[] snapshot;
+        synchronized (entries) {
+            snapshot = entries.values().toArray(Entry[]::new);
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.writeInt(snapshot.length);
+            for (Entry entry : snapshot) {
+                Key key = entry.key;
+                dos.writeShort(key.vendorId);
+                dos.writeShort(key.productId);
+                dos.writeShort(key.releaseNumber);
+                dos.writeInt(key.length);
+                dos.writeInt(key.crc);
+                dos.write(entry.descriptor);
+                int[] usages = entry.usages;
+                if (usages == null) {
+                    dos.writeInt(-1);
+                } else {
+                    dos.writeInt(usages.length);
+                    for (int usage : usages) {
+                        dos.writeInt(usage);
+                    }
+                }
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+logger.fine("descriptor cache saved: " + snapshot.length + " to " + path);
+    }
+}
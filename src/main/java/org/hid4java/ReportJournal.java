@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * ReportJournal. reads a journal of reports written by {@link ReportRecorder}.
+ * <p>
+ * the format is big endian,
+ * <pre>
+ * header: magic "H4JR", version, start time (epoch milliseconds), {@link HidDevice.Info}, report descriptor
+ * entry: time (nanoseconds from the start), direction, report id, length, payload
+ * </pre>
+ * a direction 0 ends entries, so a journal left by a crash is read up to the last entry completed.
+ * a journal is mapped at once, so it is limited to 2GB.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public final class ReportJournal {
+
+    /** the file format */
+    static final int MAGIC = 0x48344a52; // "H4JR"
+
+    /** the file format version */
+    static final int VERSION = 1;
+
+    /** an input report from the device */
+    public static final int INPUT = 1;
+    /** an output report to the device */
+    public static final int OUTPUT = 2;
+    /** a feature report to the device */
+    public static final int FEATURE = 3;
+
+    /** time, direction, report id, length */
+    static final int ENTRY_HEADER_SIZE = 8 + 1 + 1 + 4;
+
+    /** */
+    private final ByteBuffer buffer;
+
+    /** the position of the first entry */
+    private final int entries;
+
+    private final long startTime;
+    private final HidDevice.Info info;
+    private final byte[] reportDescriptor;
+
+    /** the current entry */
+    private long time;
+    private int direction;
+    private int reportId;
+    private int length;
+    private int payload;
+
+    /** */
+    private ReportJournal(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("unknown format");
+            }
+            this.startTime = buffer.getLong();
+            this.info = readInfo(buffer);
+            this.reportDescriptor = new byte[buffer.getInt()];
+            buffer.get(reportDescriptor);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("broken header", e);
+        }
+        this.entries = buffer.position();
+    }
+
+    /**
+     * Maps the journal, the file is not kept open.
+     */
+    public static ReportJournal read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("too large: " + size);
+            }
+            return new ReportJournal(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /** @return epoch milliseconds when the recording started */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /** */
+    public HidDevice.Info getInfo() {
+        return info;
+    }
+
+    /** @return copied */
+    public byte[] getReportDescriptor() {
+        return reportDescriptor.clone();
+    }
+
+    /**
+     * Moves to the next entry.
+     *
+     * @return false at the end
+     */
+    public boolean next() {
+        int position = payload + length;
+        if (position == 0) {
+            position = entries;
+        }
+        if (buffer.limit() - position < ENTRY_HEADER_SIZE) {
+            return false;
+        }
+        int direction = buffer.get(position + 8);
+        int length = buffer.getInt(position + 10);
+        if (direction == 0 || length < 0 || buffer.limit() - position - ENTRY_HEADER_SIZE < length) {
+            return false;
+        }
+        this.time = buffer.getLong(position);
+        this.direction = direction;
+        this.reportId = buffer.get(position + 9) & 0xff;
+        this.length = length;
+        this.payload = position + ENTRY_HEADER_SIZE;
+        return true;
+    }
+
+    /** Moves before the first entry. */
+    public void rewind() {
+        payload = 0;
+        length = 0;
+    }
+
+    /** @return nanoseconds from the start of the recording */
+    public long getTime() {
+        return time;
+    }
+
+    /** @return {@link #INPUT}, {@link #OUTPUT} or {@link #FEATURE} */
+    public int getDirection() {
+        return direction;
+    }
+
+    /** */
+    public int getReportId() {
+        return reportId;
+    }
+
+    /** @return the length of the payload */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Copies the payload of the current entry.
+     *
+     * @param data at least {@link #getLength()} long
+     * @return the length copied
+     */
+    public int getPayload(byte[] data) {
+        int n = Math.min(length, data.length);
+        buffer.get(payload, data, 0, n);
+        return n;
+    }
+
+    /** */
+    static void writeString(ByteBuffer buffer, String s) {
+        if (s == null) {
+            buffer.putInt(-1);
+        } else {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    /** */
+    static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** @return an upper bound of the bytes of the string by {@link #writeString(ByteBuffer, String)} */
+    static int sizeOf(String s) {
+        return 4 + (s == null ? 0 : s.length() * 3);
+    }
+
+    /** */
+    static void writeInfo(ByteBuffer buffer, HidDevice.Info info) {
+        writeString(buffer, info.path);
+        buffer.putInt(info.vendorId);
+        buffer.putInt(info.productId);
+        writeString(buffer, info.serialNumber);
+        buffer.putInt(info.releaseNumber);
+        writeString(buffer, info.manufacturer);
+        writeString(buffer, info.product);
+        buffer.putInt(info.usagePage);
+        buffer.putInt(info.usage);
+        buffer.putInt(info.interfaceNumber);
+        buffer.putInt(info.busType == null ? -1 : info.busType.ordinal());
+    }
+
+    /** */
+    static HidDevice.Info readInfo(ByteBuffer buffer) {
+        HidDevice.Info info = new HidDevice.Info();
+        info.path = readString(buffer);
+        info.vendorId = buffer.getInt();
+        info.productId = buffer.getInt();
+        info.serialNumber = readString(buffer);
+        info.releaseNumber = buffer.getInt();
+        info.manufacturer = readString(buffer);
+        info.product = readString(buffer);
+        info.usagePage = buffer.getInt();
+        info.usage = buffer.getInt();
+        info.interfaceNumber = buffer.getInt();
+        int busType = buffer.getInt();
+        info.busType = busType < 0 ? null : HidDevice.Info.HidBusType.values()[busType];
+        return info;
+    }
+
+    /** @return an upper bound of the bytes by {@link #writeInfo(ByteBuffer, HidDevice.Info)} */
+    static int sizeOf(HidDevice.Info info) {
+        return sizeOf(info.path) + sizeOf(info.serialNumber) + sizeOf(info.manufacturer) + sizeOf(info.product) + 4 * 7;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+
+/**
+ * ReportLayout. input report fields parsed from a report descriptor (HID 1.11 section 6.2.2).
+ * <p>
+ * bit offsets count from the first byte of a report as read, so they include the report ID byte
+ * when the descriptor declares report IDs.
+ * a variable item makes a field per usage, an array item makes a field of all of its elements,
+ * a constant item makes no field.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public final class ReportLayout {
+
+    /** an input field */
+    public static final class Field {
+
+        final int index;
+        final int reportId;
+        final int bitOffset;
+        final int bitSize;
+        final int usagePage;
+        final int usage;
+        final int logicalMinimum;
+        final int logicalMaximum;
+        final int physicalMinimum;
+        final int physicalMaximum;
+        final int unitExponent;
+        final boolean array;
+
+        Field(int index, int reportId, int bitOffset, int bitSize, int usagePage, int usage, int logicalMinimum, int logicalMaximum,
+              int physicalMinimum, int physicalMaximum, int unitExponent, boolean array) {
+            this.index = index;
+            this.reportId = reportId;
+            this.bitOffset = bitOffset;
+            this.bitSize = bitSize;
+            this.usagePage = usagePage;
+            this.usage = usage;
+            this.logicalMinimum = logicalMinimum;
+            this.logicalMaximum = logicalMaximum;
+            this.physicalMinimum = physicalMinimum;
+            this.physicalMaximum = physicalMaximum;
+            this.unitExponent = unitExponent;
+            this.array = array;
+        }
+
+        /** @return the index in {@link ReportLayout#getInputFields()} */
+        public int getIndex() {
+            return index;
+        }
+
+        /** @return 0 when the descriptor declares no report ID */
+        public int getReportId() {
+            return reportId;
+        }
+
+        /** @return from the first byte of the report */
+        public int getBitOffset() {
+            return bitOffset;
+        }
+
+        /** */
+        public int getBitSize() {
+            return bitSize;
+        }
+
+        /** */
+        public int getUsagePage() {
+            return usagePage;
+        }
+
+        /** @return the first usage of an array field */
+        public int getUsage() {
+            return usage;
+        }
+
+        /** */
+        public int getLogicalMinimum() {
+            return logicalMinimum;
+        }
+
+        /** */
+        public int getLogicalMaximum() {
+            return logicalMaximum;
+        }
+
+        /** @return the logical minimum when the descriptor declares no physical range */
+        public int getPhysicalMinimum() {
+            return physicalMinimum;
+        }
+
+        /** @return the logical maximum when the descriptor declares no physical range */
+        public int getPhysicalMaximum() {
+            return physicalMaximum;
+        }
+
+        /** @return the power of 10 of the physical unit, -8 to 7 */
+        public int getUnitExponent() {
+            return unitExponent;
+        }
+
+        /** @return true when the field is an array item of all elements */
+        public boolean isArray() {
+            return array;
+        }
+
+        /**
+         * Extracts the value, sign extended when the logical minimum is negative.
+         *
+         * @param report the report as read, including the report ID byte when declared
+         * @return the lowest 32 bits of the field, 0 when the report is too short
+         */
+        public int getValue(byte[] report) {
+            int size = Math.min(bitSize, 32);
+            long bits = 0;
+            int first = bitOffset >> 3;
+            int last = (bitOffset + size - 1) >> 3;
+            if (last >= report.length) {
+                return 0;
+            }
+            for (int i = last; i >= first; i--) {
+                bits = bits << 8 | (report[i] & 0xff);
+            }
+            int value = (int) ((bits >>> (bitOffset & 7)) & ((1L << size) - 1));
+            if (logicalMinimum < 0 && size < 32) {
+                value = value << (32 - size) >> (32 - size);
+            }
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Field{%d, id=%d, bit=%d+%d, usage=%04x:%04x%s}",
+                    index, reportId, bitOffset, bitSize, usagePage, usage, array ? ", array" : "");
+        }
+    }
+
+    /** */
+    private final List<Field> inputFields;
+
+    /** bits of input reports by report ID, including the report ID byte */
+    private final int[] inputBits;
+
+    /** */
+    private final boolean reportIds;
+
+    /** */
+    private ReportLayout(List<Field> inputFields, int[] inputBits, boolean reportIds) {
+        this.inputFields = Collections.unmodifiableList(inputFields);
+        this.inputBits = inputBits;
+        this.reportIds = reportIds;
+    }
+
+    /** global items */
+    private static final class Globals implements Cloneable {
+        int usagePage;
+        int logicalMinimum;
+        int logicalMaximum;
+        int physicalMinimum;
+        int physicalMaximum;
+        int unitExponent;
+        int reportSize;
+        int reportCount;
+        int reportId;
+
+        @Override
+        protected Globals clone() {
+            try {
+                return (Globals) super.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * @param descriptor a report descriptor
+     * @param length     the bytes of the descriptor
+     * @throws IllegalArgumentException when the descriptor is broken
+     */
+    public static ReportLayout parse(byte[] descriptor, int length) {
+        List<Field> fields = new ArrayList<>();
+        int[] bits = new int[256];
+        boolean reportIds = false;
+        Globals globals = new Globals();
+        Deque<Globals> stack = new ArrayDeque<>();
+        int[] usages = new int[16];
+        int usageCount = 0;
+        int usageMinimum = -1, usageMaximum = -1;
+
+        int i = 0;
+        while (i < length) {
+            int prefix = descriptor[i] & 0xff;
+            if (prefix == 0xfe) {
+                // long item
+                if (i + 1 >= length) {
+                    throw new IllegalArgumentException("broken long item at " + i);
+                }
+                i += 3 + (descriptor[i + 1] & 0xff);
+                continue;
+            }
+            int size = prefix & 3;
+            if (size == 3) {
+                size = 4;
+            }
+            if (i + size >= length) {
+                throw new IllegalArgumentException("broken item at " + i);
+            }
+            int data = 0;
+            for (int j = size; j > 0; j--) {
+                data = data << 8 | (descriptor[i + j] & 0xff);
+            }
+            // sign extended for logical minimum and maximum
+            int signed = size == 0 || size == 4 ? data : data << (32 - size * 8) >> (32 - size * 8);
+            int type = (prefix >> 2) & 3;
+            int tag = prefix >> 4;
+            i += 1 + size;
+
+            switch (type) {
+            case 0: // main
+                if (tag == 0x8) { // input
+                    int reportId = globals.reportId;
+                    int offset = bits[reportId];
+                    int total = globals.reportSize * globals.reportCount;
+                    boolean constant = (data & 1) != 0;
+                    boolean variable = (data & 2) != 0;
+                    if (!constant) {
+                        if (variable) {
+                            for (int k = 0; k < globals.reportCount; k++) {
+                                int usage;
+                                if (k < usageCount) {
+                                    usage = usages[k];
+                                } else if (usageMinimum >= 0) {
+                                    usage = Math.min(usageMinimum + k - usageCount, usageMaximum);
+                                } else {
+                                    usage = usageCount > 0 ? usages[usageCount - 1] : 0;
+                                }
+                                fields.add(newField(fields.size(), reportId, offset + k * globals.reportSize, globals.reportSize, globals, usage, false));
+                            }
+                        } else if (total > 0) {
+                            int usage = usageCount > 0 ? usages[0] : Math.max(usageMinimum, 0);
+                            fields.add(newField(fields.size(), reportId, offset, total, globals, usage, true));
+                        }
+                    }
+                    bits[reportId] = offset + total;
+                }
+                // any main item clears locals
+                usageCount = 0;
+                usageMinimum = -1;
+                usageMaximum = -1;
+                break;
+            case 1: // global
+                switch (tag) {
+                case 0x0: globals.usagePage = data; break;
+                case 0x1: globals.logicalMinimum = signed; break;
+                case 0x2: globals.logicalMaximum = globals.logicalMinimum < 0 ? signed : data; break;
+                case 0x3: globals.physicalMinimum = signed; break;
+                case 0x4: globals.physicalMaximum = globals.physicalMinimum < 0 ? signed : data; break;
+                case 0x5: globals.unitExponent = (data & 0xf) << 28 >> 28; break; // a signed nibble
+                case 0x7: globals.reportSize = data; break;
+                case 0x8:
+                    if (data < 1 || data > 255) {
+                        throw new IllegalArgumentException("report id: " + data);
+                    }
+                    globals.reportId = data;
+                    reportIds = true;
+                    if (bits[data] == 0) {
+                        bits[data] = 8;
+                    }
+                    break;
+                case 0x9: globals.reportCount = data; break;
+                case 0xa: stack.push(globals.clone()); break;
+                case 0xb:
+                    if (stack.isEmpty()) {
+                        throw new IllegalArgumentException("pop without push at " + (i - 1 - size));
+                    }
+                    globals = stack.pop();
+                    break;
+                default: break;
+                }
+                break;
+            case 2: // local
+                switch (tag) {
+                case 0x0:
+                    if (usageCount == usages.length) {
+                        usages = Arrays.copyOf(usages, usageCount * 2);
+                    }
+                    usages[usageCount++] = data;
+                    break;
+                case 0x1: usageMinimum = data; break;
+                case 0x2: usageMaximum = data; break;
+                default: break;
+                }
+                break;
+            default:
+                break;
+            }
+        }
+        return new ReportLayout(fields, bits, reportIds);
+    }
+
+    /** a usage of 4 bytes contains the usage page, the physical range of 0 and 0 is the logical range */
+    private static Field newField(int index, int reportId, int bitOffset, int bitSize, Globals globals, int usage, boolean array) {
+        int usagePage = (usage >>> 16) != 0 ? usage >>> 16 : globals.usagePage;
+        boolean physical = globals.physicalMinimum != 0 || globals.physicalMaximum != 0;
+        return new Field(index, reportId, bitOffset, bitSize, usagePage, usage & 0xffff,
+                globals.logicalMinimum, globals.logicalMaximum,
+                physical ? globals.physicalMinimum : globals.logicalMinimum,
+                physical ? globals.physicalMaximum : globals.logicalMaximum,
+                globals.unitExponent, array);
+    }
+
+    /** @return the input fields in the order of the descriptor */
+    public List<Field> getInputFields() {
+        return inputFields;
+    }
+
+    /** @return true when the descriptor declares report IDs */
+    public boolean hasReportIds() {
+        return reportIds;
+    }
+
+    /**
+     * @param reportId 0 when the descriptor declares no report ID
+     * @return the bytes of the input report including the report ID byte, 0 when not declared
+     */
+    public int getInputReportSize(int reportId) {
+        return (inputBits[reportId & 0xff] + 7) / 8;
+    }
+
+    /**
+     * @return the first field of the usage, null when not found
+     */
+    public Field find(int usagePage, int usage) {
+        for (Field field : inputFields) {
+            if (field.usagePage == usagePage && field.usage == usage) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.hid4java.HidSpecification.OverflowPolicy;
+
+
+/**
+ * ReportPublisher. publishes input reports of a device to subscribers by their demand.
+ * <p>
+ * a report is copied once into an {@link InputReport} shared by all subscribers.
+ * each subscriber has a buffer of reports not requested yet, the {@link OverflowPolicy} applies when it is full,
+ * {@link OverflowPolicy#BLOCK} holds the reader of the device until the subscriber requests.
+ * reports are delivered by the reader of the device or the thread of {@link Flow.Subscription#request(long)},
+ * one at a time per subscriber.
+ * the device is listened to while the publisher has subscribers, subscribers complete when the device is closed.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+final class ReportPublisher implements Flow.Publisher<InputReport>, HidDeviceListener {
+
+    private static final Logger logger = Logger.getLogger(ReportPublisher.class.getName());
+
+    /** milliseconds to wait by {@link OverflowPolicy#BLOCK} at once, bounds the time to notice cancel */
+    private static final long BLOCK_WAIT = 100;
+
+    /** */
+    private final HidDevice device;
+
+    /** reports buffered per subscriber */
+    private final int bufferSize;
+
+    /** */
+    private final OverflowPolicy policy;
+
+    /** */
+    private final CopyOnWriteArrayList<ReportSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param bufferSize reports buffered per subscriber
+     * @param policy     what to do when a buffer is full
+     */
+    ReportPublisher(HidDevice device, int bufferSize, OverflowPolicy policy) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("'bufferSize' must be greater than zero.");
+        }
+        this.device = device;
+        this.bufferSize = bufferSize;
+        this.policy = Objects.requireNonNull(policy);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super InputReport> subscriber) {
+        Objects.requireNonNull(subscriber);
+        ReportSubscription subscription = new ReportSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        synchronized (this) {
+            if (subscription.cancelled) {
+                return;
+            }
+            if (subscriptions.isEmpty()) {
+                device.addInputReportListener(this);
+                device.addPublisher(this);
+            }
+            subscriptions.add(subscription);
+        }
+    }
+
+    /** */
+    private synchronized void remove(ReportSubscription subscription) {
+        if (subscriptions.remove(subscription) && subscriptions.isEmpty()) {
+            device.removeInputReportListener(this);
+            device.removePublisher(this);
+        }
+    }
+
+    @Override
+    public void onInputReport(HidDeviceEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        InputReport report = new InputReport(event);
+        for (ReportSubscription subscription : subscriptions) {
+            subscription.offer(report);
+        }
+    }
+
+    /** Completes all subscribers after the reports buffered, by the device closed. */
+    void complete() {
+        for (ReportSubscription subscription : subscriptions) {
+            remove(subscription);
+            subscription.complete();
+        }
+    }
+
+    /** @return the number of subscribers */
+    int getSubscribers() {
+        return subscriptions.size();
+    }
+
+    /** a subscriber and its buffer */
+    private final class ReportSubscription implements Flow.Subscription {
+
+        /** */
+        private final Flow.Subscriber<? super InputReport> subscriber;
+
+        /** a ring, guarded by this */
+        private final InputReport[] buffer = new InputReport[bufferSize];
+        private int head;
+        private int count;
+
+        /** requested and not delivered, guarded by this */
+        private long demand;
+
+        /** by a non-positive request, guarded by this */
+        private IllegalArgumentException requestError;
+
+        /** guarded by this */
+        private boolean completing;
+
+        /** */
+        private volatile boolean cancelled;
+
+        /** serializes signals to the subscriber, the thread incremented from 0 delivers */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /** */
+        private long dropped;
+
+        ReportSubscription(Flow.Subscriber<? super InputReport> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /** by the reader of the device */
+        void offer(InputReport report) {
+            synchronized (this) {
+                if (cancelled || completing) {
+                    return;
+                }
+                if (policy == OverflowPolicy.CONFLATE) {
+                    for (int i = count - 1; i >= 0; i--) {
+                        int p = (head + i) % buffer.length;
+                        if (buffer[p].getReportId() == report.getReportId()) {
+                            buffer[p] = report;
+                            dropped++;
+                            return;
+                        }
+                    }
+                }
+                while (count == buffer.length) {
+                    switch (policy) {
+                    case DROP_NEWEST:
+                        dropped++;
+                        return;
+                    case DROP_OLDEST:
+                    case CONFLATE:
+                        poll();
+                        dropped++;
+                        break;
+                    case BLOCK:
+                        try {
+                            wait(BLOCK_WAIT);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        if (cancelled || completing) {
+                            return;
+                        }
+                        break;
+                    }
+                }
+                buffer[(head + count) % buffer.length] = report;
+                count++;
+            }
+            drain();
+        }
+
+        /** guarded by this */
+        private InputReport poll() {
+            InputReport report = buffer[head];
+            buffer[head] = null;
+            head = (head + 1) % buffer.length;
+            count--;
+            return report;
+        }
+
+        /** */
+        void complete() {
+            synchronized (this) {
+                completing = true;
+                notifyAll();
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (n <= 0) {
+                    requestError = new IllegalArgumentException("non-positive request: " + n);
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                count = 0;
+                head = 0;
+                Arrays.fill(buffer, null);
+                notifyAll();
+            }
+            remove(this);
+        }
+
+        /** delivers reports while demanded */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            while (true) {
+                while (true) {
+                    InputReport report = null;
+                    boolean done = false;
+                    IllegalArgumentException requestError;
+                    synchronized (this) {
+                        if (cancelled) {
+                            return;
+                        }
+                        requestError = this.requestError;
+                        if (requestError == null) {
+                            if (count > 0 && demand > 0) {
+                                report = poll();
+                                if (demand != Long.MAX_VALUE) {
+                                    demand--;
+                                }
+                                notifyAll();
+                            } else if (count == 0 && completing) {
+                                done = true;
+                            }
+                        }
+                    }
+                    if (requestError != null) {
+                        cancel();
+                        subscriber.onError(requestError);
+                        return;
+                    }
+                    if (done) {
+                        cancelled = true;
+logger.finer("complete, dropped: " + dropped);
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (report == null) {
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(report);
+                    } catch (Throwable t) {
+logger.log(Level.WARNING, "subscriber: " + subscriber, t);
+                        cancel();
+                        return;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
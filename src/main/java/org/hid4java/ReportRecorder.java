@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * ReportRecorder. appends input and output reports of a device to a journal through a memory-mapped file,
+ * read it by {@link ReportJournal} or replay it by {@code org.hid4java.simulated.ReplayHidDevice}.
+ * <p>
+ * the file is mapped by {@link #CHUNK_SIZE} and truncated to the entries written at {@link #close()}.
+ * input reports are stamped with {@link HidDeviceEvent#getTime()}, output reports with the time when written.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public final class ReportRecorder implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(ReportRecorder.class.getName());
+
+    /** bytes mapped at once */
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    /** */
+    private final HidDevice device;
+
+    /** */
+    private final FileChannel channel;
+
+    /** the current chunk */
+    private MappedByteBuffer buffer;
+
+    /** the file position of {@link #buffer} */
+    private long chunkPosition;
+
+    /** {@link System#nanoTime()} at the start */
+    private final long startNanos;
+
+    /** */
+    private long entries;
+
+    /** */
+    private boolean closed;
+
+    /** */
+    private final HidDeviceListener listener = this::onInputReport;
+
+    /**
+     * Starts recording, the file is replaced.
+     *
+     * @param device the device to record, the report descriptor is read from it
+     * @param path   the journal
+     */
+    public ReportRecorder(HidDevice device, Path path) throws IOException {
+        this.device = device;
+
+        byte[] descriptor = new byte[HidDevice.HID_API_MAX_REPORT_DESCRIPTOR_SIZE];
+        int length;
+        try {
+            length = Math.max(0, device.getReportDescriptor(descriptor));
+        } catch (IOException | UnsupportedOperationException e) {
+logger.log(Level.FINE, "no report descriptor: " + device.getPath(), e);
+            length = 0;
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            HidDevice.Info info = device.getInfo();
+            map(0, 4 + 4 + 8 + ReportJournal.sizeOf(info) + 4 + length);
+            buffer.putInt(ReportJournal.MAGIC);
+            buffer.putInt(ReportJournal.VERSION);
+            buffer.putLong(System.currentTimeMillis());
+            ReportJournal.writeInfo(buffer, info);
+            buffer.putInt(length);
+            buffer.put(descriptor, 0, length);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.startNanos = System.nanoTime();
+
+        device.addInputReportListener(listener);
+        device.setRecorder(this);
+    }
+
+    /** maps a chunk from the file position */
+    private void map(long position, int least) throws IOException {
+        chunkPosition = position;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.max(CHUNK_SIZE, least));
+    }
+
+    /** ensures the current chunk has space for an entry */
+    private void ensure(int length) throws IOException {
+        int size = ReportJournal.ENTRY_HEADER_SIZE + length;
+        if (buffer.remaining() < size) {
+            map(chunkPosition + buffer.position(), size);
+        }
+    }
+
+    /** */
+    private void onInputReport(HidDeviceEvent event) {
+        record(ReportJournal.INPUT, event.getReportId(), event.getReport(), event.getLength(), event.getTime());
+    }
+
+    /**
+     * @param direction {@link ReportJournal#INPUT}, {@link ReportJournal#OUTPUT} or {@link ReportJournal#FEATURE}
+     * @param time      {@link System#nanoTime()}
+     */
+    synchronized void record(int direction, int reportId, byte[] data, int length, long time) {
+        if (closed) {
+            return;
+        }
+        try {
+            int position = begin(reportId, length, time);
+            buffer.put(data, 0, length);
+            end(direction, position);
+        } catch (IOException e) {
+logger.log(Level.WARNING, "record: " + device.getPath(), e);
+        }
+    }
+
+    /** @param data from the offset, the position is not changed */
+    synchronized void record(int direction, int reportId, ByteBuffer data, int offset, int length, long time) {
+        if (closed) {
+            return;
+        }
+        try {
+            int position = begin(reportId, length, time);
+            buffer.put(buffer.position(), data, offset, length);
+            buffer.position(buffer.position() + length);
+            end(direction, position);
+        } catch (IOException e) {
+logger.log(Level.WARNING, "record: " + device.getPath(), e);
+        }
+    }
+
+    /** @return the position of the entry, the payload follows the header written */
+    private int begin(int reportId, int length, long time) throws IOException {
+        ensure(length);
+        int position = buffer.position();
+        buffer.putLong(time - startNanos);
+        buffer.position(position + 9);
+        buffer.put((byte) reportId);
+        buffer.putInt(length);
+        return position;
+    }
+
+    /** writes the direction at last, a reader stops at 0 */
+    private void end(int direction, int position) {
+        buffer.put(position + 8, (byte) direction);
+        entries++;
+    }
+
+    /** @return the number of entries written */
+    public synchronized long getEntries() {
+        return entries;
+    }
+
+    /** Stops recording and truncates the file to the entries written. */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        device.removeInputReportListener(listener);
+        device.setRecorder(null);
+        try {
+            buffer.force();
+            channel.truncate(chunkPosition + buffer.position());
+        } catch (IOException e) {
+            // e.g. a mapped file cannot be truncated on windows, entries end by the direction 0
+logger.log(Level.FINE, "truncate: " + device.getPath(), e);
+        } finally {
+            channel.close();
+        }
+logger.fine("recorded: " + entries + " entries of " + device.getPath());
+    }
+}
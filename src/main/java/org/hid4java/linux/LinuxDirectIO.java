@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.linux;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import net.java.games.input.linux.LinuxIO;
+
+
+/**
+ * libc functions of the input report path, direct mapped by {@link Native#register(Class, String)}.
+ * <p>
+ * a call of a direct mapped function is a jni call of primitive and pointer arguments,
+ * no proxy, reflection nor argument conversion as {@link LinuxIO} and {@link LinuxIOEx}.
+ * size_t and unsigned long are java long, so this is bound on a 64 bit linux only, see {@link #isAvailable()}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+final class LinuxDirectIO {
+
+    private static final Logger logger = Logger.getLogger(LinuxDirectIO.class.getName());
+
+    /** bytes of <code>struct pollfd</code> */
+    static final int POLLFD_SIZE = 8;
+    /** the offset of <code>pollfd.events</code> */
+    static final int POLLFD_EVENTS = 4;
+    /** the offset of <code>pollfd.revents</code> */
+    static final int POLLFD_REVENTS = 6;
+
+    /** */
+    private static final boolean available;
+
+    static {
+        boolean registered = false;
+        if (Native.LONG_SIZE == 8) {
+            try {
+                Native.register(LinuxDirectIO.class, "c");
+                registered = true;
+            } catch (UnsatisfiedLinkError | IllegalArgumentException e) {
+logger.log(Level.FINE, "direct mapping is not available", e);
+            }
+        }
+        available = registered;
+    }
+
+    private LinuxDirectIO() {
+    }
+
+    /** @return true when the functions are bound, otherwise use {@link LinuxIO} */
+    static boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * @param buf an address e.g. of a {@link com.sun.jna.Memory} or a direct buffer
+     * @return the number of bytes read, -1 on error
+     */
+    static native long read(int fd, Pointer buf, long count);
+
+    /**
+     * @param buf an address e.g. of a {@link com.sun.jna.Memory} or a direct buffer
+     * @return the number of bytes written, -1 on error
+     */
+    static native long write(int fd, Pointer buf, long count);
+
+    /**
+     * For HIDIOCGFEATURE, HIDIOCSFEATURE and HIDIOCGINPUT.
+     *
+     * @param request unsigned, e.g. <code>LinuxIO.HIDIOCGFEATURE(len) &amp; 0xffffffffL</code>
+     * @param data    copied in and out
+     * @return the number of bytes, -1 on error
+     */
+    static native int ioctl(int fd, long request, byte[] data);
+
+    /**
+     * @param fds     an array of <code>struct pollfd</code>, see {@link #POLLFD_SIZE}
+     * @param timeout milliseconds, -1 means infinite
+     * @return the number of fds which have events, 0 when timed out, -1 on error
+     */
+    static native int poll(Pointer fds, long nfds, int timeout);
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.linux;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.Platform;
+import net.java.games.input.linux.LinuxIO;
+import org.hid4java.HidSpecification;
+
+import static org.hid4java.linux.LinuxIOEx.EINTR;
+import static org.hid4java.linux.LinuxIOEx.EPOLLERR;
+import static org.hid4java.linux.LinuxIOEx.EPOLLHUP;
+import static org.hid4java.linux.LinuxIOEx.EPOLLIN;
+import static org.hid4java.linux.LinuxIOEx.EPOLLONESHOT;
+import static org.hid4java.linux.LinuxIOEx.EPOLL_CLOEXEC;
+import static org.hid4java.linux.LinuxIOEx.EPOLL_CTL_ADD;
+import static org.hid4java.linux.LinuxIOEx.EPOLL_CTL_DEL;
+import static org.hid4java.linux.LinuxIOEx.EPOLL_CTL_MOD;
+
+
+/**
+ * LinuxEpollReactor. shard threads wait on epoll(7) for all opened hidraw devices
+ * and dispatch input reports, instead of a thread per device.
+ * <p>
+ * a device is assigned to the shard with the fewest devices on {@link #register(LinuxHidDevice)}.
+ * <p>
+ * a device {@link #watch(LinuxHidDevice) watched} is not dispatched by a shard, its pump is woken instead,
+ * so pumps on virtual threads wait for reports without polling. the fd is armed for one event
+ * and {@link #rearm(LinuxHidDevice) rearmed} by the pump when it has read all reports.
+ * <p>
+ * shard threads are named "hid4java-epoll-n" and made by {@link HidSpecification#newThread(Runnable, String)}
+ * unless the factory makes virtual threads, a shard blocks in epoll_wait, that would pin the carrier thread.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+final class LinuxEpollReactor implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(LinuxEpollReactor.class.getName());
+
+    /** <code>struct epoll_event</code> is packed on x86_64 only */
+    private static final boolean PACKED = Platform.isIntel() && Platform.is64Bit();
+
+    /** sizeof(struct epoll_event) */
+    static final int EVENT_SIZE = PACKED ? 12 : 16;
+
+    /** offsetof(struct epoll_event, data) */
+    static final int DATA_OFFSET = PACKED ? 4 : 8;
+
+    /** max events per epoll_wait */
+    private static final int MAX_EVENTS = 64;
+
+    /** a thread and an epoll fd */
+    private final class Shard implements Runnable {
+
+        final int index;
+        final int epfd;
+        /** devices dispatched by fd */
+        final Map<Integer, LinuxHidDevice> devices = new ConcurrentHashMap<>();
+        /** devices woken by fd */
+        final Map<Integer, LinuxHidDevice> watched = new ConcurrentHashMap<>();
+        final Thread thread;
+
+        Shard(int index, HidSpecification specification) throws IOException {
+            this.index = index;
+            this.epfd = LinuxIOEx.INSTANCE.epoll_create1(EPOLL_CLOEXEC);
+            if (epfd < 0) {
+                throw new IOException(String.format("epoll_create1: %s", Native.getLastError()));
+            }
+            String name = "hid4java-epoll-" + index;
+            Thread thread = specification.newThread(this, name);
+            if (HidSpecification.isVirtual(thread)) {
+                thread = new Thread(this, name);
+                thread.setDaemon(true);
+            }
+            this.thread = thread;
+        }
+
+        /** */
+        int size() {
+            return devices.size() + watched.size();
+        }
+
+        @Override
+        public void run() {
+            Memory events = new Memory((long) EVENT_SIZE * MAX_EVENTS);
+            try {
+                while (running) {
+                    int n = LinuxIOEx.INSTANCE.epoll_wait(epfd, events, MAX_EVENTS, timeout);
+                    if (n < 0) {
+                        if (Native.getLastError() == EINTR) {
+                            continue;
+                        }
+                        throw new IOException(String.format("epoll_wait: %s", Native.getLastError()));
+                    }
+                    for (int i = 0; i < n; i++) {
+                        long offset = (long) EVENT_SIZE * i;
+                        int flags = events.getInt(offset);
+                        int fd = events.getInt(offset + DATA_OFFSET);
+                        LinuxHidDevice device = watched.get(fd);
+                        if (device != null) {
+                            // including an error, the pump finds it
+                            device.wake();
+                            continue;
+                        }
+                        device = devices.get(fd);
+                        if (device == null) {
+                            // deregistered after epoll_wait returned
+                            continue;
+                        }
+                        if ((flags & EPOLLIN) != 0) {
+                            try {
+                                device.dispatch();
+                            } catch (IOException e) {
+logger.log(Level.FINE, "dispatch: " + fd, e);
+                                deregister(device);
+                                device.stopped();
+                            }
+                        } else if ((flags & (EPOLLERR | EPOLLHUP)) != 0) {
+logger.fine("device is gone: " + fd + ", events: " + flags);
+                            deregister(device);
+                            device.stopped();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+logger.log(Level.FINE, e.getMessage(), e);
+            }
+        }
+    }
+
+    /** */
+    private final Shard[] shards;
+
+    /** epoll_wait timeout in milliseconds to check the stop request */
+    private final int timeout;
+
+    /** */
+    private volatile boolean running = true;
+
+    /**
+     * @param shards the number of threads
+     * @param specification the thread factory and {@link HidSpecification#getDataReadInterval()} as the epoll_wait
+     *                      timeout, bounds the time to stop
+     */
+    LinuxEpollReactor(int shards, HidSpecification specification) throws IOException {
+        if (shards < 1) {
+            throw new IllegalArgumentException("shards: " + shards);
+        }
+        this.timeout = specification.getDataReadInterval();
+        this.shards = new Shard[shards];
+        try {
+            for (int i = 0; i < shards; i++) {
+                this.shards[i] = new Shard(i, specification);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        for (Shard shard : this.shards) {
+            shard.thread.start();
+        }
+    }
+
+    /** */
+    int getShardCount() {
+        return shards.length;
+    }
+
+    /** @return the number of devices registered */
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Starts dispatching input reports of the opened device.
+     *
+     * @throws IOException this is closed
+     */
+    synchronized void register(LinuxHidDevice device) throws IOException {
+        if (!running) {
+            throw new IOException("reactor is closed");
+        }
+        if (device.reactorShard >= 0) {
+            return;
+        }
+        Shard shard = add(device, false);
+        device.reactorShard = shard.index;
+logger.finer("register: " + device.deviceHandle + " to " + shard.thread.getName());
+    }
+
+    /**
+     * Starts waking the pump of the opened device by {@link LinuxHidDevice#wake()} when a report is ready.
+     * the fd is armed for one event.
+     *
+     * @throws IOException this is closed
+     */
+    synchronized void watch(LinuxHidDevice device) throws IOException {
+        if (!running) {
+            throw new IOException("reactor is closed");
+        }
+        if (device.reactorShard >= 0) {
+            return;
+        }
+        Shard shard = add(device, true);
+        device.reactorShard = shard.index;
+logger.finer("watch: " + device.deviceHandle + " by " + shard.thread.getName());
+    }
+
+    /** adds the fd of the device to the shard with the fewest devices */
+    private Shard add(LinuxHidDevice device, boolean wake) throws IOException {
+        Shard shard = shards[0];
+        for (Shard s : shards) {
+            if (s.size() < shard.size()) {
+                shard = s;
+            }
+        }
+
+        int fd = device.deviceHandle;
+        Map<Integer, LinuxHidDevice> devices = wake ? shard.watched : shard.devices;
+        devices.put(fd, device);
+        if (ctl(shard, EPOLL_CTL_ADD, fd, wake) < 0) {
+            devices.remove(fd);
+            throw new IOException(String.format("epoll_ctl(ADD) %d: %s", fd, Native.getLastError()));
+        }
+        return shard;
+    }
+
+    /** */
+    private static int ctl(Shard shard, int op, int fd, boolean oneShot) {
+        Memory event = new Memory(EVENT_SIZE);
+        event.clear();
+        event.setInt(0, oneShot ? EPOLLIN | EPOLLONESHOT : EPOLLIN);
+        event.setInt(DATA_OFFSET, fd);
+        return LinuxIOEx.INSTANCE.epoll_ctl(shard.epfd, op, fd, event);
+    }
+
+    /**
+     * Arms the fd of the watched device for the next event, an event is fired at once when a report is ready.
+     */
+    synchronized void rearm(LinuxHidDevice device) throws IOException {
+        int index = device.reactorShard;
+        if (index < 0) {
+            throw new IOException("not watched: " + device.deviceHandle);
+        }
+        int fd = device.deviceHandle;
+        if (ctl(shards[index], EPOLL_CTL_MOD, fd, true) < 0) {
+            throw new IOException(String.format("epoll_ctl(MOD) %d: %s", fd, Native.getLastError()));
+        }
+    }
+
+    /**
+     * Stops dispatching input reports or waking the pump of the device, no report is dispatched after this returns
+     * except by the shard thread itself.
+     */
+    void deregister(LinuxHidDevice device) {
+        synchronized (this) {
+            int index = device.reactorShard;
+            if (index < 0) {
+                return;
+            }
+            Shard shard = shards[index];
+            int fd = device.deviceHandle;
+            shard.devices.remove(fd);
+            shard.watched.remove(fd);
+            if (LinuxIOEx.INSTANCE.epoll_ctl(shard.epfd, EPOLL_CTL_DEL, fd, null) < 0) {
+logger.fine(String.format("epoll_ctl(DEL) %d: %s", fd, Native.getLastError()));
+            }
+            device.reactorShard = -1;
+logger.finer("deregister: " + fd + " from " + shard.thread.getName());
+        }
+        synchronized (device.dispatchLock) {
+            // the dispatch in progress is over here
+        }
+    }
+
+    /**
+     * Stops all shards, the devices registered are stopped and the pumps watched are woken to find it.
+     * a device takes a new reactor on the next open.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            running = false;
+        }
+        for (Shard shard : shards) {
+            if (shard == null) {
+                continue;
+            }
+            if (shard.thread.isAlive() && shard.thread != Thread.currentThread()) {
+                try {
+                    shard.thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        List<LinuxHidDevice> stopped = new ArrayList<>();
+        List<LinuxHidDevice> woken = new ArrayList<>();
+        synchronized (this) {
+            for (Shard shard : shards) {
+                if (shard == null) {
+                    continue;
+                }
+                stopped.addAll(shard.devices.values());
+                woken.addAll(shard.watched.values());
+                shard.devices.clear();
+                shard.watched.clear();
+                LinuxIO.INSTANCE.close(shard.epfd);
+            }
+            stopped.forEach(device -> device.reactorShard = -1);
+            woken.forEach(device -> device.reactorShard = -1);
+        }
+        // a pump woken fails to rearm and ends
+        stopped.forEach(LinuxHidDevice::stopped);
+        woken.forEach(LinuxHidDevice::wake);
+    }
+}
@@ -23,15 +23,18 @@
 package org.hid4java.linux;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import com.sun.jna.Memory;
 import com.sun.jna.Native;
 import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
 import com.sun.jna.platform.linux.Udev;
 import com.sun.jna.ptr.IntByReference;
 import net.java.games.input.linux.LinuxIO;
@@ -39,6 +42,7 @@ import net.java.games.input.linux.LinuxIO.hidraw_report_descriptor;
 import net.java.games.input.linux.LinuxIO.stat;
 import org.hid4java.HidDevice;
 import org.hid4java.HidDeviceEvent;
+import org.hid4java.HidDeviceListenerSupport;
 import org.hid4java.HidSpecification;
 import org.hid4java.NativeHidDevice;
 
@@ -50,7 +54,14 @@ import static net.java.games.input.linux.LinuxIO.HIDIOCGINPUT;
 import static net.java.games.input.linux.LinuxIO.HIDIOCGRDESC;
 import static net.java.games.input.linux.LinuxIO.HIDIOCGRDESCSIZE;
 import static net.java.games.input.linux.LinuxIO.HIDIOCSFEATURE;
+import static net.java.games.input.linux.LinuxIO.O_CLOEXEC;
+import static net.java.games.input.linux.LinuxIO.O_RDWR;
 import static org.hid4java.linux.LinuxHidDevices.createDeviceInfoForDevice;
+import static org.hid4java.linux.LinuxIOEx.EINTR;
+import static org.hid4java.linux.LinuxIOEx.POLLERR;
+import static org.hid4java.linux.LinuxIOEx.POLLHUP;
+import static org.hid4java.linux.LinuxIOEx.POLLIN;
+import static org.hid4java.linux.LinuxIOEx.POLLNVAL;
 
 
 /**
@@ -61,6 +72,15 @@ import static org.hid4java.linux.LinuxHidDevices.createDeviceInfoForDevice;
  */
 public class LinuxHidDevice implements NativeHidDevice {
 
+    private static final Logger logger = Logger.getLogger(LinuxHidDevice.class.getName());
+
+    /** for poll */
+    private static final NativeLong ONE = new NativeLong(1);
+
+    /** the hidraw node path */
+    String path;
+
+    /** opened lazily by {@link #internalOpen()} */
     int deviceHandle;
     private HidDevice.Info deviceInfo;
 
@@ -69,15 +89,45 @@ public class LinuxHidDevice implements NativeHidDevice {
     /** for reuse reading */
     private final Memory inputReportBuffer = new Memory(64);
 
+    /** reused by {@link #write(byte[], int, byte)}, grows as needed */
+    private Memory outputReportBuffer;
+
+    /** */
+    private final Object outputLock = new Object();
+
     /** for reuse event */
     private final byte[] inputBuffer = new byte[64];
 
-    /** for input event */
-    private final ScheduledExecutorService ses = Executors.newSingleThreadScheduledExecutor();
+    /** the input report pump */
+    private Thread thread;
+
+    /** the input report pump runs or {@link #reactor} dispatches while this is true */
+    private volatile boolean running;
+
+    /** the reactors are taken from this on {@link #open()} when not null */
+    LinuxHidDevices hidDevices;
+
+    /** dispatches input reports instead of {@link #thread} when not null */
+    LinuxEpollReactor reactor;
+
+    /** wakes {@link #thread} when a report is ready instead of blocking in poll(2) when not null */
+    LinuxEpollReactor waker;
+
+    /** the shard of {@link #reactor} or {@link #waker} while registered, otherwise -1 */
+    volatile int reactorShard = -1;
+
+    /** set by {@link #waker} */
+    private volatile boolean ready;
+
+    /** held while dispatching an input report */
+    final Object dispatchLock = new Object();
 
     /** for reuse */
     private final HidDeviceEvent hidDeviceEvent = new HidDeviceEvent(this);
 
+    /** input report listeners */
+    private final HidDeviceListenerSupport listeners = new HidDeviceListenerSupport();
+
     LinuxHidDevice(HidSpecification specification) {
         this.deviceHandle = -1;
         this.deviceInfo = null;
@@ -85,16 +135,191 @@ public class LinuxHidDevice implements NativeHidDevice {
         this.specification = specification;
     }
 
+    /** if you want use input report event, call {@link #open()} */
+    private synchronized void internalOpen() throws IOException {
+        if (deviceHandle >= 0) {
+            return;
+        }
+
+        int handle = LinuxIO.INSTANCE.open(path, O_RDWR | O_CLOEXEC);
+        if (handle < 0) {
+            // Unable to create a device.
+            throw new IOException(String.format("Failed to create a device with path '%s': %s", path, Native.getLastError()));
+        }
+
+        // Make sure this is a HIDRAW device - responds to HIDIOCGRDESCSIZE
+        IntByReference descSize = new IntByReference();
+        int res = LinuxIO.INSTANCE.ioctl(handle, HIDIOCGRDESCSIZE, descSize);
+        if (res < 0) {
+            int error = Native.getLastError();
+            LinuxIO.INSTANCE.close(handle);
+            throw new IOException(String.format("ioctl(GRDESCSIZE) error for '%s', not a HIDRAW device?: %s", path, error));
+        }
+
+        deviceHandle = handle;
+    }
+
     @Override
-    public void open() {
-        ses.schedule(() -> {
+    public void open() throws IOException {
+        internalOpen();
+
+        if (hidDevices != null) {
+            reactor = hidDevices.reactor();
+            waker = reactor == null ? hidDevices.waker() : null;
+        }
+
+        if (reactor != null) {
+            running = true;
             try {
-                int r = read(inputBuffer, inputBuffer.length);
-                fireOnInputReport(hidDeviceEvent.set(inputBuffer[0], inputBuffer, r));
+                reactor.register(this);
             } catch (IOException e) {
-                throw new RuntimeException(e);
+                running = false;
+                throw e;
             }
-        }, specification.getDataReadInterval(), TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        if (running) {
+logger.finer("already opened: " + deviceHandle);
+            return;
+        }
+
+        running = true;
+        thread = specification.newThread(this::pump, "hid4java-hidraw-" + deviceHandle);
+        thread.start();
+    }
+
+    /**
+     * poll(2) by {@link LinuxDirectIO} when available, the fd and events must be written to the memory.
+     *
+     * @param pfd revents is updated
+     */
+    private static int poll(LinuxIOEx.pollfd pfd, int timeout) {
+        if (LinuxDirectIO.isAvailable()) {
+            Pointer pointer = pfd.getPointer();
+            pointer.setShort(LinuxDirectIO.POLLFD_REVENTS, (short) 0);
+            int r = LinuxDirectIO.poll(pointer, 1, timeout);
+            pfd.revents = pointer.getShort(LinuxDirectIO.POLLFD_REVENTS);
+            return r;
+        }
+        pfd.revents = 0;
+        return LinuxIOEx.INSTANCE.poll(pfd, ONE, timeout);
+    }
+
+    /** read(2) by {@link LinuxDirectIO} when available */
+    private static int read(int fd, Pointer buf, int count) {
+        if (LinuxDirectIO.isAvailable()) {
+            return (int) LinuxDirectIO.read(fd, buf, count);
+        }
+        return LinuxIOEx.INSTANCE.read(fd, buf, new NativeLong(count)).intValue();
+    }
+
+    /** write(2) by {@link LinuxDirectIO} when available */
+    private static int write(int fd, Pointer buf, int count) {
+        if (LinuxDirectIO.isAvailable()) {
+            return (int) LinuxDirectIO.write(fd, buf, count);
+        }
+        return LinuxIOEx.INSTANCE.write(fd, buf, new NativeLong(count)).intValue();
+    }
+
+    /** ioctl(2) of a report by {@link LinuxDirectIO} when available */
+    private static int ioctl(int fd, int request, byte[] data) {
+        if (LinuxDirectIO.isAvailable()) {
+            return LinuxDirectIO.ioctl(fd, request & 0xffff_ffffL, data);
+        }
+        return LinuxIO.INSTANCE.ioctl(fd, request, data);
+    }
+
+    /**
+     * Called by {@link #reactor} when it stops dispatching by an error, a hang up or its close,
+     * as {@link #pump()} ends by them. {@link #open()} starts reading again.
+     */
+    void stopped() {
+        running = false;
+    }
+
+    /** @return true while input reports are read by the pump or {@link #reactor} */
+    boolean isReading() {
+        return running;
+    }
+
+    /** Wakes the pump parked for a report, called by {@link #waker}. */
+    void wake() {
+        ready = true;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Reads input reports as soon as the kernel queues them until {@link #close()} is called.
+     * <p>
+     * poll(2) times out at {@link HidSpecification#getDataReadInterval()} to check the stop request.
+     * with {@link #waker}, e.g. on a virtual thread, poll(2) doesn't block not to pin the carrier,
+     * the thread reads all reports ready and parks until the waker finds the next one.
+     */
+    private void pump() {
+        LinuxIOEx.pollfd pfd = new LinuxIOEx.pollfd();
+        pfd.fd = deviceHandle;
+        pfd.events = POLLIN;
+        pfd.write();
+        LinuxEpollReactor waker = this.waker;
+        int timeout = waker != null ? 0 : specification.getDataReadInterval();
+
+        try {
+            if (waker != null) {
+                waker.watch(this);
+            }
+            while (running) {
+                int r = poll(pfd, timeout);
+                if (r < 0) {
+                    if (Native.getLastError() == EINTR) {
+                        continue;
+                    }
+                    throw new IOException(String.format("poll: %s", Native.getLastError()));
+                }
+                if (r == 0) {
+                    // timed out
+                    if (waker != null) {
+                        waker.rearm(this);
+                        while (running && !ready) {
+                            LockSupport.park(this);
+                        }
+                        ready = false;
+                    }
+                    continue;
+                }
+
+                if ((pfd.revents & POLLIN) != 0) {
+                    dispatch();
+                } else if ((pfd.revents & (POLLERR | POLLHUP | POLLNVAL)) != 0) {
+logger.fine("device is gone: " + deviceHandle + ", revents: " + pfd.revents);
+                    break;
+                }
+            }
+        } catch (IOException e) {
+logger.log(Level.FINE, e.getMessage(), e);
+        } finally {
+            if (waker != null) {
+                waker.deregister(this);
+            }
+            running = false;
+        }
+    }
+
+    /**
+     * Reads an input report which is ready and fires it, called by {@link #pump()} or {@link LinuxEpollReactor}.
+     */
+    void dispatch() throws IOException {
+        synchronized (dispatchLock) {
+            if (reactor != null && reactorShard < 0) {
+                // deregistered
+                return;
+            }
+            int length = read(inputBuffer, inputBuffer.length);
+            long time = System.nanoTime();
+            if (length > 0) {
+                fireOnInputReport(hidDeviceEvent.set(inputBuffer[0], inputBuffer, length, time));
+            }
+        }
     }
 
     /** */
@@ -184,6 +409,8 @@ public class LinuxHidDevice implements NativeHidDevice {
 
     /** */
     HidDevice.Info hidGetDeviceInfo() throws IOException {
+        internalOpen(); // let it work w/o open
+
         if (deviceInfo == null) {
             // Lazy initialize deviceInfo
             deviceInfo = createDeviceInfoForHidDevice();
@@ -193,12 +420,33 @@ public class LinuxHidDevice implements NativeHidDevice {
         return deviceInfo;
     }
 
+    @Override
+    public HidDeviceListenerSupport getInputReportListeners() {
+        return listeners;
+    }
+
     @Override
     public void close() {
-        ses.shutdownNow();
-        inputReportBuffer.close();
+        if (reactor != null) {
+            reactor.deregister(this);
+        }
+        running = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        thread = null;
 
-        LinuxIO.INSTANCE.close(deviceHandle);
+        synchronized (this) {
+            if (deviceHandle >= 0) {
+                LinuxIO.INSTANCE.close(deviceHandle);
+                deviceHandle = -1;
+            }
+        }
     }
 
     @Override
@@ -207,18 +455,84 @@ public class LinuxHidDevice implements NativeHidDevice {
             throw new IllegalArgumentException(String.valueOf(EINVAL));
         }
 
-        Memory memory = new Memory(len);
-        memory.write(0, data, 0, len);
-        int bytesWritten = LinuxIO.INSTANCE.write(deviceHandle, memory, new NativeLong(len)).intValue();
+        internalOpen(); // let it work w/o open
+
+        synchronized (outputLock) {
+            if (outputReportBuffer == null || outputReportBuffer.size() < len) {
+                outputReportBuffer = new Memory(Math.max(len, 64));
+            }
+            outputReportBuffer.write(0, data, 0, len);
+            int bytesWritten = write(deviceHandle, outputReportBuffer, len);
+            if (bytesWritten == -1)
+                throw new IOException(String.valueOf(Native.getLastError()));
+
+            return bytesWritten;
+        }
+    }
+
+    /** a direct buffer is written by its address */
+    @Override
+    public int write(ByteBuffer buffer, byte reportId) throws IOException {
+        if (!buffer.isDirect()) {
+            return NativeHidDevice.super.write(buffer, reportId);
+        }
+
+        int len = buffer.remaining();
+        if (len == 0) {
+            throw new IllegalArgumentException(String.valueOf(EINVAL));
+        }
+
+        internalOpen(); // let it work w/o open
+
+        Pointer pointer = Native.getDirectBufferPointer(buffer).share(buffer.position());
+        int bytesWritten = write(deviceHandle, pointer, len);
         if (bytesWritten == -1)
             throw new IOException(String.valueOf(Native.getLastError()));
 
+        buffer.position(buffer.position() + bytesWritten);
         return bytesWritten;
     }
 
+    /** a direct buffer is read into by its address */
+    @Override
+    public int read(ByteBuffer buffer) throws IOException {
+        // before the native read, a report read is not lost
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        int len = buffer.remaining();
+        if (len == 0) {
+            throw new IllegalArgumentException(String.valueOf(EINVAL));
+        }
+
+        internalOpen(); // let it work w/o open
+
+        Memory memory = null;
+        Pointer pointer;
+        if (buffer.isDirect()) {
+            pointer = Native.getDirectBufferPointer(buffer).share(buffer.position());
+        } else {
+            memory = new Memory(len);
+            pointer = memory;
+        }
+        int bytesRead = read(deviceHandle, pointer, len);
+        if (bytesRead < 0) {
+            if (Native.getLastError() == EAGAIN || Native.getLastError() == EINPROGRESS)
+                return 0;
+            else
+                throw new IOException(String.valueOf(Native.getLastError()));
+        }
+
+        if (memory != null) {
+            memory.read(0, buffer.array(), buffer.arrayOffset() + buffer.position(), bytesRead);
+        }
+        buffer.position(buffer.position() + bytesRead);
+        return bytesRead;
+    }
+
     /** */
     int read(byte[] data, int length) throws IOException {
-        int bytesRead = LinuxIO.INSTANCE.read(this.deviceHandle, inputReportBuffer, new NativeLong(length)).intValue();
+        int bytesRead = read(this.deviceHandle, inputReportBuffer, length);
         if (bytesRead < 0) {
             if (Native.getLastError() == EAGAIN || Native.getLastError() == EINPROGRESS)
                 bytesRead = 0;
@@ -231,7 +545,9 @@ public class LinuxHidDevice implements NativeHidDevice {
 
     @Override
     public int getFeatureReport(byte[] data, byte reportId) throws IOException {
-        int res = LinuxIO.INSTANCE.ioctl(deviceHandle, HIDIOCGFEATURE(data.length), data);
+        internalOpen(); // let it work w/o open
+
+        int res = ioctl(deviceHandle, HIDIOCGFEATURE(data.length), data);
         if (res < 0)
             throw new IOException(String.format("ioctl(GFEATURE): %s", Native.getLastError()));
 
@@ -240,7 +556,9 @@ public class LinuxHidDevice implements NativeHidDevice {
 
     @Override
     public int sendFeatureReport(byte[] data, byte reportId) throws IOException {
-        int res = LinuxIO.INSTANCE.ioctl(deviceHandle, HIDIOCSFEATURE(data.length), data);
+        internalOpen(); // let it work w/o open
+
+        int res = ioctl(deviceHandle, HIDIOCSFEATURE(data.length), data);
         if (res < 0)
             throw new IOException(String.format("ioctl(SFEATURE): %s", Native.getLastError()));
 
@@ -269,6 +587,8 @@ public class LinuxHidDevice implements NativeHidDevice {
 
     @Override
     public int getReportDescriptor(byte[] report) throws IOException {
+        internalOpen(); // let it work w/o open
+
         hidraw_report_descriptor rptDesc = new hidraw_report_descriptor();
         int res = getHidReportDescriptorFromHidRaw(rptDesc);
         if (res < 0) {
@@ -284,7 +604,9 @@ public class LinuxHidDevice implements NativeHidDevice {
 
     @Override
     public int getInputReport(byte[] data, byte reportId) throws IOException {
-        int res = LinuxIO.INSTANCE.ioctl(deviceHandle, HIDIOCGINPUT(data.length), data);
+        internalOpen(); // let it work w/o open
+
+        int res = ioctl(deviceHandle, HIDIOCGINPUT(data.length), data);
         if (res < 0)
             throw new IOException(String.format("ioctl(GINPUT): %s", Native.getLastError()));
 
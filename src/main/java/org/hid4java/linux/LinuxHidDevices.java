@@ -24,9 +24,12 @@ package org.hid4java.linux;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import com.sun.jna.Memory;
 import com.sun.jna.Native;
@@ -39,6 +42,7 @@ import org.hid4java.HidDevice;
 import org.hid4java.HidSpecification;
 import org.hid4java.NativeHidDevice;
 import org.hid4java.NativeHidDevices;
+import org.hid4java.ReportDescriptorCache;
 
 import static com.sun.jna.platform.linux.Fcntl.O_RDONLY;
 import static net.java.games.input.linux.LinuxIO.HIDIOCGRDESCSIZE;
@@ -59,8 +63,25 @@ import static org.hid4java.HidDevice.Info.HidBusType.BUS_USB;
  */
 public class LinuxHidDevices implements NativeHidDevices {
 
+    private static final Logger logger = Logger.getLogger(LinuxHidDevices.class.getName());
+
     private HidSpecification specification;
 
+    /** the uevent source for hotplug, {@link UdevUeventSource} is used when null */
+    UeventSource ueventSource;
+
+    /** the hotplug notification thread, a thread replaced stops */
+    private volatile Thread hotplugThread;
+
+    /** the hotplug notification thread runs while this is true */
+    private volatile boolean hotplugRunning;
+
+    /** created at the first open of a device, again after {@link #close()}, when {@link HidSpecification#linuxReactorThreads} is positive */
+    private LinuxEpollReactor reactor;
+
+    /** created at the first open of a device, again after {@link #close()}, when the thread factory makes virtual threads */
+    private LinuxEpollReactor waker;
+
     /**
      * Gets the size of the HID item at the given position
      * Returns 1 if successful, 0 if an invalid key
@@ -208,7 +229,7 @@ public class LinuxHidDevices implements NativeHidDevices {
      * 1 when finished processing descriptor.
      * -1 on a malformed report.
      */
-    private static int getNextHidUsage(byte[] reportDescriptor, int size, HidUsageIterator ctx, int[] usagePage, int[] usage) {
+    static int getNextHidUsage(byte[] reportDescriptor, int size, HidUsageIterator ctx, int[] usagePage, int[] usage) {
         int[] dataLen = new int[1], keySize = new int[1];
         boolean initial = ctx.pos[0] == 0; // Used to handle case where no top-level application collection is defined
 
@@ -268,6 +289,25 @@ public class LinuxHidDevices implements NativeHidDevices {
         return 1; // finished processing
     }
 
+    /**
+     * Parses all usage page and usage pairs out of the report descriptor.
+     *
+     * @return usage page (upper 16 bits) and usage (lower 16 bits) pairs
+     */
+    static int[] parseHidUsages(byte[] reportDescriptor) {
+        int[] page = new int[1], usage = new int[1];
+        HidUsageIterator usageIterator = new HidUsageIterator();
+        int[] usages = new int[4];
+        int n = 0;
+        while (getNextHidUsage(reportDescriptor, reportDescriptor.length, usageIterator, page, usage) == 0) {
+            if (n == usages.length) {
+                usages = Arrays.copyOf(usages, n * 2);
+            }
+            usages[n++] = (page[0] & 0xffff) << 16 | (usage[0] & 0xffff);
+        }
+        return Arrays.copyOf(usages, n);
+    }
+
     /**
      * Retrieves the hidraw report descriptor from a file.
      * When using this form, <sysfs_path>/device/report_descriptor, elevated privileges are not required.
@@ -477,6 +517,7 @@ public class LinuxHidDevices implements NativeHidDevices {
 
         // Create the record.
         HidDevice.Info curDev = new HidDevice.Info();
+        root.add(curDev);
 
         // Fill out the record
         curDev.path = devPath;
@@ -569,19 +610,19 @@ public class LinuxHidDevices implements NativeHidDevices {
         // Usage Page and Usage
         int res = getHidReportDescriptorFromSysfs(sysfsPath, reportDesc);
         if (res >= 0) {
-            int[] page = new int[1], usage = new int[1];
-            HidUsageIterator usageIterator = new HidUsageIterator();
-
-            // Parse the first usage and usage page
-            // out of the report descriptor.
-            if (getNextHidUsage(reportDesc.value, reportDesc.size, usageIterator, page, usage) == 0) {
-                curDev.usagePage = page[0];
-                curDev.usage = usage[0];
+            // parsed once per kind of device
+            ReportDescriptorCache.Entry entry = ReportDescriptorCache.getInstance().get(
+                    curDev.vendorId, curDev.productId, curDev.releaseNumber, reportDesc.value, reportDesc.size);
+            int[] usages = entry.getUsages(LinuxHidDevices::parseHidUsages);
+
+            // the first usage and usage page
+            if (usages.length > 0) {
+                curDev.usagePage = usages[0] >>> 16;
+                curDev.usage = usages[0] & 0xffff;
             }
 
-            // Parse any additional usage and usage pages
-            // out of the report descriptor.
-            while (getNextHidUsage(reportDesc.value, reportDesc.size, usageIterator, page, usage) == 0) {
+            // any additional usage and usage pages
+            for (int i = 1; i < usages.length; i++) {
                 // Create new record for additional usage pairs
                 HidDevice.Info prevDev = curDev;
 
@@ -596,8 +637,8 @@ public class LinuxHidDevices implements NativeHidDevices {
                 curDev.interfaceNumber = prevDev.interfaceNumber;
                 curDev.manufacturer = prevDev.manufacturer != null ? prevDev.manufacturer : null;
                 curDev.product = prevDev.product != null ? prevDev.product : null;
-                curDev.usagePage = page[0];
-                curDev.usage = usage[0];
+                curDev.usagePage = usages[i] >>> 16;
+                curDev.usage = usages[i] & 0xffff;
                 curDev.busType = prevDev.busType;
 
                 root.add(curDev);
@@ -614,6 +655,34 @@ public class LinuxHidDevices implements NativeHidDevices {
 
     @Override
     public void close() {
+        stopHotplug();
+        synchronized (this) {
+            if (reactor != null) {
+                reactor.close();
+                reactor = null;
+            }
+            if (waker != null) {
+                waker.close();
+                waker = null;
+            }
+        }
+    }
+
+    /** @return the shared reactor, null when a thread per device is used */
+    synchronized LinuxEpollReactor reactor() throws IOException {
+        if (reactor == null && specification != null && specification.linuxReactorThreads > 0) {
+            reactor = new LinuxEpollReactor(specification.linuxReactorThreads, specification);
+        }
+        return reactor;
+    }
+
+    /** @return the shared reactor to wake pumps, null when pumps block in poll(2) */
+    synchronized LinuxEpollReactor waker() throws IOException {
+        if (waker == null && specification != null && specification.getThreadFactory() != null &&
+                HidSpecification.isVirtual(specification.newThread(() -> {}, "hid4java-probe"))) {
+            waker = new LinuxEpollReactor(1, specification);
+        }
+        return waker;
     }
 
     @Override
@@ -719,21 +788,69 @@ public class LinuxHidDevices implements NativeHidDevices {
     public NativeHidDevice create(HidDevice.Info info) throws IOException {
         LinuxHidDevice dev = new LinuxHidDevice(specification);
 
-        dev.deviceHandle = LinuxIO.INSTANCE.open(info.path, O_RDWR | O_CLOEXEC);
+        // The hidraw node is opened on the first use
+        dev.path = info.path;
+        // the reactors are taken on open, they are recreated after close
+        dev.hidDevices = this;
+
+        return dev;
+    }
+
+    @Override
+    public boolean isHotplugSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void startHotplug(HotplugListener listener) throws IOException {
+        if (hotplugThread != null) {
+            return;
+        }
+
+        UeventSource source = ueventSource != null ? ueventSource : new UdevUeventSource();
+        int timeout = specification != null ? specification.getScanInterval() : 500;
 
-        if (dev.deviceHandle >= 0) {
-            // Make sure this is a HIDRAW device - responds to HIDIOCGRDESCSIZE
-            IntByReference descSize = new IntByReference();
-            int res = LinuxIO.INSTANCE.ioctl(dev.deviceHandle, HIDIOCGRDESCSIZE, descSize);
-            if (res < 0) {
-                dev.close();
-                throw new IOException(String.format("ioctl(GRDESCSIZE) error for '%s', not a HIDRAW device?: %s", info.path, Native.getLastError()));
+        hotplugRunning = true;
+        hotplugThread = new Thread(() -> {
+            try (source) {
+                while (hotplugRunning && hotplugThread == Thread.currentThread()) {
+                    UeventSource.Uevent uevent = source.receive(timeout);
+                    if (uevent == null || uevent.action == null) {
+                        continue;
+                    }
+logger.finer("uevent: " + uevent.action + ", " + uevent.path);
+                    switch (uevent.action) {
+                    case "add":
+                        listener.attached(uevent.infos);
+                        break;
+                    case "remove":
+                        listener.detached(uevent.path);
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+logger.log(Level.FINE, e.getMessage(), e);
             }
+        }, "hid4java-udev-monitor");
+        hotplugThread.setDaemon(true);
+        hotplugThread.start();
+    }
 
-            return dev;
-        } else {
-            // Unable to create a device.
-            throw new IOException(String.format("Failed to create a device with path '%s': %s", info.path, Native.getLastError()));
+    /** joins out of the lock, a listener on the thread may open a device by {@link #reactor()} */
+    @Override
+    public void stopHotplug() {
+        Thread thread;
+        synchronized (this) {
+            hotplugRunning = false;
+            thread = hotplugThread;
+            hotplugThread = null;
+        }
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
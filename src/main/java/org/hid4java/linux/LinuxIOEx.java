@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.linux;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+import com.sun.jna.PointerType;
+import com.sun.jna.Structure;
+import com.sun.jna.platform.linux.Udev;
+import net.java.games.input.linux.LinuxIO;
+
+
+/**
+ * libc functions which are not covered by {@link LinuxIO}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+interface LinuxIOEx extends Library {
+
+    LinuxIOEx INSTANCE = Native.load("c", LinuxIOEx.class);
+
+    /** There is data to read. */
+    short POLLIN = 0x001;
+    /** Error condition. */
+    short POLLERR = 0x008;
+    /** Hung up. */
+    short POLLHUP = 0x010;
+    /** Invalid polling request. */
+    short POLLNVAL = 0x020;
+
+    /** Interrupted system call. */
+    int EINTR = 4;
+
+    /** Set close-on-exec on the epoll fd. */
+    int EPOLL_CLOEXEC = 0x80000;
+    /** Register the target fd. */
+    int EPOLL_CTL_ADD = 1;
+    /** Deregister the target fd. */
+    int EPOLL_CTL_DEL = 2;
+    /** Change the event of the target fd. */
+    int EPOLL_CTL_MOD = 3;
+    /** The associated fd is available for read. */
+    int EPOLLIN = 0x001;
+    /** Error condition happened on the associated fd. */
+    int EPOLLERR = 0x008;
+    /** Hang up happened on the associated fd. */
+    int EPOLLHUP = 0x010;
+    /** The associated fd is disabled after an event until it is modified. */
+    int EPOLLONESHOT = 1 << 30;
+
+    /** <code>struct pollfd</code> */
+    @Structure.FieldOrder({"fd", "events", "revents"})
+    class pollfd extends Structure {
+        /** File descriptor to poll. */
+        public int fd;
+        /** Types of events poller cares about. */
+        public short events;
+        /** Types of events that actually occurred. */
+        public short revents;
+    }
+
+    /**
+     * @param fds a poll fd (only one fd is supported)
+     * @param nfds number of fds, must be 1
+     * @param timeout milliseconds, -1 means infinite
+     * @return the number of fds which have events, 0 when timed out, -1 on error
+     */
+    int poll(pollfd fds, NativeLong nfds, int timeout);
+
+    /**
+     * @param buf an address e.g. of a direct buffer
+     * @return the number of bytes read, -1 on error
+     */
+    NativeLong read(int fd, Pointer buf, NativeLong count);
+
+    /**
+     * @param buf an address e.g. of a direct buffer
+     * @return the number of bytes written, -1 on error
+     */
+    NativeLong write(int fd, Pointer buf, NativeLong count);
+
+    /**
+     * @param flags 0 or {@link #EPOLL_CLOEXEC}
+     * @return an epoll fd, -1 on error
+     */
+    int epoll_create1(int flags);
+
+    /**
+     * @param op {@link #EPOLL_CTL_ADD}, {@link #EPOLL_CTL_MOD} or {@link #EPOLL_CTL_DEL}
+     * @param event <code>struct epoll_event</code>, see {@link LinuxEpollReactor}
+     * @return 0 on success, -1 on error
+     */
+    int epoll_ctl(int epfd, int op, int fd, Pointer event);
+
+    /**
+     * @param events an array of <code>struct epoll_event</code>
+     * @param timeout milliseconds, -1 means infinite
+     * @return the number of fds ready, 0 when timed out, -1 on error
+     */
+    int epoll_wait(int epfd, Pointer events, int maxevents, int timeout);
+
+    /**
+     * @param fds [0] read end, [1] write end
+     * @return 0 on success, -1 on error
+     */
+    int pipe(int[] fds);
+
+    /**
+     * libudev monitor functions which are not covered by {@link Udev}.
+     */
+    interface UdevMonitorLib extends Library {
+
+        UdevMonitorLib INSTANCE = Native.load("udev", UdevMonitorLib.class);
+
+        /** <code>struct udev_monitor</code> */
+        class UdevMonitor extends PointerType {
+        }
+
+        UdevMonitor udev_monitor_new_from_netlink(Udev.UdevContext udev, String name);
+
+        int udev_monitor_filter_add_match_subsystem_devtype(UdevMonitor udevMonitor, String subsystem, String devtype);
+
+        int udev_monitor_enable_receiving(UdevMonitor udevMonitor);
+
+        int udev_monitor_get_fd(UdevMonitor udevMonitor);
+
+        Udev.UdevDevice udev_monitor_receive_device(UdevMonitor udevMonitor);
+
+        UdevMonitor udev_monitor_unref(UdevMonitor udevMonitor);
+
+        /** @return "add", "remove", "change" etc. or null when the device is not from a monitor */
+        String udev_device_get_action(Udev.UdevDevice udevDevice);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.linux;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.platform.linux.Udev;
+import org.hid4java.HidDevice;
+import org.hid4java.linux.LinuxIOEx.UdevMonitorLib;
+
+import static org.hid4java.linux.LinuxHidDevices.createDeviceInfoForDevice;
+import static org.hid4java.linux.LinuxIOEx.EINTR;
+import static org.hid4java.linux.LinuxIOEx.POLLIN;
+
+
+/**
+ * Receives hidraw uevents from the udev netlink monitor.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class UdevUeventSource implements UeventSource {
+
+    private static final Logger logger = Logger.getLogger(UdevUeventSource.class.getName());
+
+    /** for poll */
+    private static final NativeLong ONE = new NativeLong(1);
+
+    private final Udev.UdevContext udev;
+
+    private final UdevMonitorLib.UdevMonitor monitor;
+
+    /** for reuse */
+    private final LinuxIOEx.pollfd pfd = new LinuxIOEx.pollfd();
+
+    UdevUeventSource() throws IOException {
+        udev = Udev.INSTANCE.udev_new();
+        if (udev == null) {
+            throw new IOException("Couldn't create udev context");
+        }
+
+        monitor = UdevMonitorLib.INSTANCE.udev_monitor_new_from_netlink(udev, "udev");
+        if (monitor == null) {
+            Udev.INSTANCE.udev_unref(udev);
+            throw new IOException("Couldn't create udev monitor");
+        }
+
+        UdevMonitorLib.INSTANCE.udev_monitor_filter_add_match_subsystem_devtype(monitor, "hidraw", null);
+        if (UdevMonitorLib.INSTANCE.udev_monitor_enable_receiving(monitor) < 0) {
+            close();
+            throw new IOException("Couldn't enable udev monitor");
+        }
+
+        pfd.fd = UdevMonitorLib.INSTANCE.udev_monitor_get_fd(monitor);
+        pfd.events = POLLIN;
+    }
+
+    @Override
+    public Uevent receive(int timeout) throws IOException {
+        pfd.revents = 0;
+        int r = LinuxIOEx.INSTANCE.poll(pfd, ONE, timeout);
+        if (r < 0) {
+            if (Native.getLastError() == EINTR) {
+                return null;
+            }
+            throw new IOException(String.format("poll: %s", Native.getLastError()));
+        }
+        if (r == 0 || (pfd.revents & POLLIN) == 0) {
+            return null;
+        }
+
+        Udev.UdevDevice dev = UdevMonitorLib.INSTANCE.udev_monitor_receive_device(monitor);
+        if (dev == null) {
+            return null;
+        }
+
+        try {
+            String action = UdevMonitorLib.INSTANCE.udev_device_get_action(dev);
+            String path = Udev.INSTANCE.udev_device_get_devnode(dev);
+            List<HidDevice.Info> infos = Collections.emptyList();
+            if ("add".equals(action)) {
+                try {
+                    infos = Collections.singletonList(createDeviceInfoForDevice(dev));
+                } catch (IOException | RuntimeException e) {
+logger.log(Level.FINE, "unusable device: " + path, e);
+                    return null;
+                }
+            }
+            return new Uevent(action, path, infos);
+        } finally {
+            Udev.INSTANCE.udev_device_unref(dev);
+        }
+    }
+
+    @Override
+    public void close() {
+        UdevMonitorLib.INSTANCE.udev_monitor_unref(monitor);
+        Udev.INSTANCE.udev_unref(udev);
+    }
+}
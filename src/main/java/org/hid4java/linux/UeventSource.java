@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.linux;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+import org.hid4java.HidDevice;
+
+
+/**
+ * A source of hidraw uevents. The real one is {@link UdevUeventSource},
+ * synthetic uevents can be injected by another implementation.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+interface UeventSource extends Closeable {
+
+    /** a hidraw uevent */
+    class Uevent {
+
+        /** "add", "remove" etc. */
+        final String action;
+        /** the device node e.g. "/dev/hidraw0" */
+        final String path;
+        /** the device information when the action is "add", otherwise empty */
+        final List<HidDevice.Info> infos;
+
+        Uevent(String action, String path, List<HidDevice.Info> infos) {
+            this.action = action;
+            this.path = path;
+            this.infos = infos;
+        }
+    }
+
+    /**
+     * Waits for the next uevent.
+     *
+     * @param timeout milliseconds
+     * @return null when timed out or the event is not for a usable device
+     */
+    Uevent receive(int timeout) throws IOException;
+}
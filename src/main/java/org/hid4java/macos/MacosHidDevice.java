@@ -37,6 +37,7 @@ import com.sun.jna.Pointer;
 import org.hid4java.HidDevice;
 import org.hid4java.HidDeviceEvent;
 import org.hid4java.HidDeviceListener;
+import org.hid4java.HidDeviceListenerSupport;
 import org.hid4java.HidException;
 import org.hid4java.NativeHidDevice;
 import vavix.rococoa.corefoundation.CFAllocator;
@@ -90,6 +91,9 @@ public class MacosHidDevice implements NativeHidDevice {
     /** for reuse */
     private final HidDeviceEvent hidDeviceEvent = new HidDeviceEvent(this);
 
+    /** input report listeners */
+    private final HidDeviceListenerSupport listeners = new HidDeviceListenerSupport();
+
     /**
      * Initialise the HID API library. Should always be called before using any other API calls.
      */
@@ -317,6 +321,11 @@ logger.finer("here50.6: thread done");
         this.barrier.waitAndSync();
     }
 
+    @Override
+    public HidDeviceListenerSupport getInputReportListeners() {
+        return listeners;
+    }
+
     @Override
     public void close() {
 logger.finest("here20.0: " + deviceInfo);
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.simulated;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.hid4java.HidDevice;
+import org.hid4java.HidDeviceEvent;
+import org.hid4java.HidDeviceListenerSupport;
+import org.hid4java.NativeHidDevice;
+import org.hid4java.ReportJournal;
+
+
+/**
+ * ReplayHidDevice. a device which emits input reports of a journal recorded by {@link org.hid4java.ReportRecorder}
+ * while opened, at the original timing or as fast as possible.
+ * <p>
+ * the replay restarts from the first report at each open, writes are counted and discarded.
+ * <pre>
+ * ReplayHidDevice replay = new ReplayHidDevice(journal, false);
+ * HidDevice device = new HidDevice(replay.getInfo(), replay, () -> {});
+ * </pre>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public class ReplayHidDevice implements NativeHidDevice {
+
+    private static final Logger logger = Logger.getLogger(ReplayHidDevice.class.getName());
+
+    /** */
+    private final ReportJournal journal;
+
+    /** true at the original timing, false as fast as possible */
+    private final boolean realTime;
+
+    private final HidDeviceListenerSupport listeners = new HidDeviceListenerSupport();
+
+    private final HidDeviceEvent hidDeviceEvent = new HidDeviceEvent(this);
+
+    /** reused for each report, listeners must not keep it */
+    private byte[] inputReport = new byte[64];
+
+    /** input reports emitted */
+    private final AtomicLong replayed = new AtomicLong();
+
+    /** reports written */
+    private final AtomicLong writes = new AtomicLong();
+
+    /** */
+    private Thread thread;
+
+    /** */
+    private volatile boolean running;
+
+    /**
+     * @param path     a journal recorded by {@link org.hid4java.ReportRecorder}
+     * @param realTime true at the original timing, false as fast as possible
+     */
+    public ReplayHidDevice(Path path, boolean realTime) throws IOException {
+        this.journal = ReportJournal.read(path);
+        this.realTime = realTime;
+    }
+
+    @Override
+    public HidDeviceListenerSupport getInputReportListeners() {
+        return listeners;
+    }
+
+    @Override
+    public synchronized void open() {
+        if (thread != null) {
+logger.finer("already opened: " + getInfo().path);
+            return;
+        }
+        running = true;
+        replayed.set(0);
+        thread = new Thread(this::replay, "hid4java-replay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** emits input reports of the journal */
+    private void replay() {
+        journal.rewind();
+        long base = 0;
+        boolean first = true;
+        try {
+            while (running && journal.next()) {
+                if (journal.getDirection() != ReportJournal.INPUT) {
+                    continue;
+                }
+                if (realTime) {
+                    if (first) {
+                        base = System.nanoTime() - journal.getTime();
+                        first = false;
+                    }
+                    long delay;
+                    while ((delay = base + journal.getTime() - System.nanoTime()) > 0 && running) {
+                        LockSupport.parkNanos(delay);
+                    }
+                }
+                int length = journal.getLength();
+                if (inputReport.length < length) {
+                    inputReport = new byte[length];
+                }
+                journal.getPayload(inputReport);
+                fireOnInputReport(hidDeviceEvent.set(journal.getReportId(), inputReport, length));
+                replayed.incrementAndGet();
+            }
+        } catch (Throwable t) {
+logger.log(Level.FINE, t.getMessage(), t);
+        }
+logger.fine("replayed: " + replayed.get());
+        running = false;
+    }
+
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            thread = this.thread;
+            this.thread = null;
+            running = false;
+        }
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public int write(byte[] data, int len, byte reportId) {
+        writes.incrementAndGet();
+        return len;
+    }
+
+    @Override
+    public int getFeatureReport(byte[] data, byte reportId) {
+        Arrays.fill(data, (byte) 0);
+        data[0] = reportId;
+        return data.length;
+    }
+
+    @Override
+    public int sendFeatureReport(byte[] data, byte reportId) {
+        writes.incrementAndGet();
+        return data.length;
+    }
+
+    @Override
+    public int getReportDescriptor(byte[] report) {
+        byte[] descriptor = journal.getReportDescriptor();
+        int len = Math.min(report.length, descriptor.length);
+        System.arraycopy(descriptor, 0, report, 0, len);
+        return len;
+    }
+
+    @Override
+    public int getInputReport(byte[] data, byte reportId) {
+        Arrays.fill(data, (byte) 0);
+        data[0] = reportId;
+        return data.length;
+    }
+
+    /** @return true while emitting reports */
+    public boolean isReplaying() {
+        return running;
+    }
+
+    /** @return the number of input reports emitted since open */
+    public long getReplayed() {
+        return replayed.get();
+    }
+
+    /** @return the number of output and feature reports written */
+    public long getWrites() {
+        return writes.get();
+    }
+
+    /** @return the device information recorded */
+    public HidDevice.Info getInfo() {
+        return journal.getInfo();
+    }
+}
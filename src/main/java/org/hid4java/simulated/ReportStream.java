@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.simulated;
+
+
+/**
+ * ReportStream. input reports a simulated device emits after it is opened.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public class ReportStream {
+
+    /** fills an input report */
+    @FunctionalInterface
+    public interface Generator {
+
+        /**
+         * @param report   the report buffer, reused, [0] is the report id
+         * @param size     the report size including the report id
+         * @param sequence counts up from 0 for each report of a device
+         */
+        void generate(byte[] report, int size, long sequence);
+    }
+
+    /** writes the report id and the sequence (little endian) */
+    public static final Generator SEQUENCE = (report, size, sequence) -> {
+        report[0] = 1;
+        for (int i = 1; i < size && i < 9; i++) {
+            report[i] = (byte) (sequence >> ((i - 1) * 8));
+        }
+    };
+
+    /** reports per second, 0 means no report */
+    private final int rate;
+
+    /** report size in bytes including the report id */
+    private final int size;
+
+    /** max deviation of the report interval in microseconds */
+    private final int jitter;
+
+    /** */
+    private final Generator generator;
+
+    /**
+     * @param rate   reports per second, 0 means no report
+     * @param size   report size in bytes including the report id
+     * @param jitter max deviation of the report interval in microseconds
+     */
+    public ReportStream(int rate, int size, int jitter) {
+        this(rate, size, jitter, SEQUENCE);
+    }
+
+    /**
+     * @param rate      reports per second, 0 means no report
+     * @param size      report size in bytes including the report id
+     * @param jitter    max deviation of the report interval in microseconds
+     * @param generator fills each report
+     */
+    public ReportStream(int rate, int size, int jitter, Generator generator) {
+        if (rate < 0 || size < 1 || jitter < 0) {
+            throw new IllegalArgumentException("rate: " + rate + ", size: " + size + ", jitter: " + jitter);
+        }
+        this.rate = rate;
+        this.size = size;
+        this.jitter = jitter;
+        this.generator = generator;
+    }
+
+    /** */
+    public int getRate() {
+        return rate;
+    }
+
+    /** */
+    public int getSize() {
+        return size;
+    }
+
+    /** */
+    public int getJitter() {
+        return jitter;
+    }
+
+    /** */
+    public Generator getGenerator() {
+        return generator;
+    }
+
+    /** @return the report interval in nanoseconds */
+    long getPeriod() {
+        return 1_000_000_000L / rate;
+    }
+}
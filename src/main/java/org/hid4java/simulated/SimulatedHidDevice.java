@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.simulated;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.hid4java.HidDevice;
+import org.hid4java.HidDeviceEvent;
+import org.hid4java.HidDeviceListenerSupport;
+import org.hid4java.NativeHidDevice;
+
+
+/**
+ * SimulatedHidDevice. a handle of a virtual device, emits the {@link ReportStream} while opened and records writes.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public class SimulatedHidDevice implements NativeHidDevice {
+
+    private static final Logger logger = Logger.getLogger(SimulatedHidDevice.class.getName());
+
+    /** a report written to the device */
+    public static class Write {
+
+        /** {@link #OUTPUT} or {@link #FEATURE} */
+        public final int type;
+        public final int reportId;
+        /** copied */
+        public final byte[] data;
+
+        public static final int OUTPUT = 0;
+        public static final int FEATURE = 1;
+
+        Write(int type, int reportId, byte[] data) {
+            this.type = type;
+            this.reportId = reportId;
+            this.data = data;
+        }
+    }
+
+    private final HidDevice.Info info;
+
+    private final SimulatedHidDevices manager;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final HidDeviceListenerSupport listeners = new HidDeviceListenerSupport();
+
+    private final HidDeviceEvent hidDeviceEvent = new HidDeviceEvent(this);
+
+    /** reused for each report, listeners must not keep it */
+    private final byte[] inputReport;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private boolean opened;
+
+    /** incremented on each open, a report chain of a previous open stops by this */
+    private int epoch;
+
+    /** the next report */
+    private ScheduledFuture<?> future;
+
+    SimulatedHidDevice(HidDevice.Info info, ReportStream stream, SimulatedHidDevices manager, ScheduledExecutorService scheduler) {
+        this.info = info;
+        this.manager = manager;
+        this.scheduler = scheduler;
+        this.inputReport = new byte[stream.getSize()];
+    }
+
+    /** @throws IOException when the device is detached */
+    private ReportStream checkAttached() throws IOException {
+        ReportStream stream = manager.getReportStream(info.path);
+        if (stream == null) {
+            throw new IOException("device is gone: " + info.path);
+        }
+        return stream;
+    }
+
+    @Override
+    public synchronized void open() throws IOException {
+        ReportStream stream = checkAttached();
+        if (opened) {
+logger.finer("already opened: " + info.path);
+            return;
+        }
+        opened = true;
+        manager.opened(this);
+        int epoch = ++this.epoch;
+        if (stream.getRate() > 0) {
+            schedule(stream, epoch, System.nanoTime() + nextDelay(stream));
+        }
+    }
+
+    /**
+     * schedules a report at the deadline, a deadline is after the previous one,
+     * so the rate does not drift by the time to emit a report.
+     *
+     * @param deadline {@link System#nanoTime()} to emit the report
+     */
+    private void schedule(ReportStream stream, int epoch, long deadline) {
+        long delay = deadline - System.nanoTime();
+        if (delay < -stream.getPeriod()) {
+            // too late, e.g. by gc, reports missed are dropped like a device does
+            deadline -= delay;
+            delay = 0;
+        }
+        long next = deadline;
+        future = scheduler.schedule(() -> emit(stream, epoch, next), Math.max(0, delay), TimeUnit.NANOSECONDS);
+    }
+
+    /** @return the interval to the next report */
+    private static long nextDelay(ReportStream stream) {
+        long period = stream.getPeriod();
+        if (stream.getJitter() == 0) {
+            return period;
+        }
+        long jitter = TimeUnit.MICROSECONDS.toNanos(stream.getJitter());
+        return Math.max(0, period + ThreadLocalRandom.current().nextLong(-jitter, jitter + 1));
+    }
+
+    /** emits a report and schedules the next one */
+    private void emit(ReportStream stream, int epoch, long deadline) {
+        if (manager.getReportStream(info.path) != stream) {
+logger.fine("device is gone: " + info.path);
+            return;
+        }
+        try {
+            int size = stream.getSize();
+            stream.getGenerator().generate(inputReport, size, sequence.getAndIncrement());
+            fireOnInputReport(hidDeviceEvent.set(inputReport[0], inputReport, size));
+        } catch (Throwable t) {
+logger.log(Level.FINE, t.getMessage(), t);
+        }
+        synchronized (this) {
+            if (opened && epoch == this.epoch) {
+                schedule(stream, epoch, deadline + nextDelay(stream));
+            }
+        }
+    }
+
+    @Override
+    public HidDeviceListenerSupport getInputReportListeners() {
+        return listeners;
+    }
+
+    @Override
+    public synchronized void close() {
+        opened = false;
+        manager.closed(this);
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+    }
+
+    @Override
+    public int write(byte[] data, int len, byte reportId) throws IOException {
+        checkAttached();
+        record(Write.OUTPUT, reportId, Arrays.copyOf(data, len));
+        return len;
+    }
+
+    @Override
+    public int getFeatureReport(byte[] data, byte reportId) throws IOException {
+        checkAttached();
+        Arrays.fill(data, (byte) 0);
+        data[0] = reportId;
+        return data.length;
+    }
+
+    @Override
+    public int sendFeatureReport(byte[] data, byte reportId) throws IOException {
+        checkAttached();
+        record(Write.FEATURE, reportId, data.clone());
+        return data.length;
+    }
+
+    @Override
+    public int getReportDescriptor(byte[] report) throws IOException {
+        ReportStream stream = checkAttached();
+        byte[] descriptor = SimulatedHidDevices.reportDescriptor(stream.getSize() - 1);
+        int len = Math.min(report.length, descriptor.length);
+        System.arraycopy(descriptor, 0, report, 0, len);
+        return len;
+    }
+
+    @Override
+    public int getInputReport(byte[] data, byte reportId) throws IOException {
+        ReportStream stream = checkAttached();
+        int size = Math.min(data.length, stream.getSize());
+        stream.getGenerator().generate(data, size, sequence.getAndIncrement());
+        data[0] = reportId;
+        return size;
+    }
+
+    /** */
+    private void record(int type, int reportId, byte[] data) {
+        manager.record(info.path, new Write(type, reportId & 0xff, data));
+    }
+
+    /** @return the number of input reports emitted */
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    /** */
+    public HidDevice.Info getInfo() {
+        return info;
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.simulated;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.hid4java.HidDevice;
+import org.hid4java.HidSpecification;
+import org.hid4java.NativeHidDevice;
+import org.hid4java.NativeHidDevices;
+
+
+/**
+ * SimulatedHidDevices. hosts virtual devices in memory, for load testing without hardware.
+ * <p>
+ * devices are attached/detached by {@link #attach(HidDevice.Info, ReportStream)}/{@link #detach(String)}
+ * immediately or by {@link #attachLater}/{@link #detachLater} on a schedule.
+ * use {@link org.hid4java.HidDevices#HidDevices(HidSpecification, NativeHidDevices)} to give an instance.
+ * <p>
+ * <h4>system property</h4>
+ * <li>"org.hid4java.simulated" ... true to be found by the service loader prior to the real backends</li>
+ * <li>"org.hid4java.simulated.devices" ... number of devices attached on {@link #open(HidSpecification)}, default 0</li>
+ * <li>"org.hid4java.simulated.vendorId", "org.hid4java.simulated.productId" ... ids of those devices</li>
+ * <li>"org.hid4java.simulated.rate", "org.hid4java.simulated.size", "org.hid4java.simulated.jitter"
+ * ... {@link ReportStream} of those devices, default 1000 Hz, 64 bytes, 0 us</li>
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public class SimulatedHidDevices implements NativeHidDevices {
+
+    private static final Logger logger = Logger.getLogger(SimulatedHidDevices.class.getName());
+
+    /** the path prefix of devices attached by {@link #attach(int, int, int, ReportStream)} */
+    public static final String PATH_PREFIX = "sim:";
+
+    /** a virtual device */
+    private static class Entry {
+
+        final HidDevice.Info info;
+        final ReportStream stream;
+        /** writes through all handles */
+        final List<SimulatedHidDevice.Write> writes = new ArrayList<>();
+        /** handles opened, closed on detach */
+        final CopyOnWriteArrayList<SimulatedHidDevice> devices = new CopyOnWriteArrayList<>();
+
+        Entry(HidDevice.Info info, ReportStream stream) {
+            this.info = info;
+            this.stream = stream;
+        }
+
+        void close() {
+            devices.forEach(SimulatedHidDevice::close);
+        }
+    }
+
+    /** attached devices keyed on path */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** for {@link #attach(int, int, int, ReportStream)} */
+    private final AtomicInteger serial = new AtomicInteger();
+
+    /** emits reports of all devices and runs schedules */
+    private ScheduledExecutorService scheduler;
+
+    /** */
+    private volatile HotplugListener hotplugListener;
+
+    /** attaches the devices defined by the system properties once */
+    private boolean populated;
+
+    /** */
+    private synchronized ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            AtomicInteger count = new AtomicInteger();
+            scheduler = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+                Thread thread = new Thread(r, "hid4java-simulated-" + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+    @Override
+    public synchronized void open(HidSpecification specification) {
+        if (populated) {
+            return;
+        }
+        populated = true;
+
+        int devices = Integer.getInteger("org.hid4java.simulated.devices", 0);
+        if (devices > 0) {
+            int vendorId = Integer.decode(System.getProperty("org.hid4java.simulated.vendorId", "0x1209"));
+            int productId = Integer.decode(System.getProperty("org.hid4java.simulated.productId", "0x0001"));
+            ReportStream stream = new ReportStream(
+                    Integer.getInteger("org.hid4java.simulated.rate", 1000),
+                    Integer.getInteger("org.hid4java.simulated.size", 64),
+                    Integer.getInteger("org.hid4java.simulated.jitter", 0));
+            attach(devices, vendorId, productId, stream);
+logger.fine("simulated devices: " + devices);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        entries.values().forEach(Entry::close);
+        entries.clear();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Attaches a virtual device.
+     *
+     * @param info   path must be unique
+     * @param stream input reports emitted while the device is opened
+     */
+    public void attach(HidDevice.Info info, ReportStream stream) {
+        Entry old = entries.put(info.path, new Entry(info, stream));
+        if (old != null) {
+            old.close();
+        }
+        HotplugListener listener = hotplugListener;
+        if (listener != null) {
+            listener.attached(List.of(info));
+        }
+    }
+
+    /**
+     * Attaches virtual devices which paths are {@link #PATH_PREFIX} + a serial number.
+     *
+     * @param n      number of devices
+     * @param stream input reports emitted while each device is opened
+     * @return the paths of the devices
+     */
+    public List<String> attach(int n, int vendorId, int productId, ReportStream stream) {
+        List<String> paths = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            HidDevice.Info info = info(serial.getAndIncrement(), vendorId, productId);
+            attach(info, stream);
+            paths.add(info.path);
+        }
+        return paths;
+    }
+
+    /** @return an information of a virtual device */
+    public static HidDevice.Info info(int serial, int vendorId, int productId) {
+        HidDevice.Info info = new HidDevice.Info();
+        info.path = PATH_PREFIX + serial;
+        info.vendorId = vendorId;
+        info.productId = productId;
+        info.serialNumber = String.format("%08x", serial);
+        info.manufacturer = "hid4java";
+        info.product = "simulated device " + serial;
+        info.usagePage = 0xff00;
+        info.usage = 1;
+        info.interfaceNumber = -1;
+        info.busType = HidDevice.Info.HidBusType.BUS_UNKNOWN;
+        return info;
+    }
+
+    /**
+     * Detaches a virtual device, I/O on the device fails after this.
+     *
+     * @param path the device path
+     * @return false when no such device
+     */
+    public boolean detach(String path) {
+        Entry entry = entries.remove(path);
+        if (entry == null) {
+            return false;
+        }
+        entry.close();
+        HotplugListener listener = hotplugListener;
+        if (listener != null) {
+            listener.detached(path);
+        }
+        return true;
+    }
+
+    /**
+     * Attaches a virtual device after the delay.
+     *
+     * @param delay milliseconds
+     */
+    public void attachLater(long delay, HidDevice.Info info, ReportStream stream) {
+        scheduler().schedule(() -> attach(info, stream), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detaches a virtual device after the delay.
+     *
+     * @param delay milliseconds
+     */
+    public void detachLater(long delay, String path) {
+        scheduler().schedule(() -> detach(path), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /** @return a copy of the reports written to the device so far, empty when no such device */
+    public List<SimulatedHidDevice.Write> getWrites(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            return List.of();
+        }
+        synchronized (entry.writes) {
+            return new ArrayList<>(entry.writes);
+        }
+    }
+
+    /** @return the number of devices attached */
+    public int size() {
+        return entries.size();
+    }
+
+    /** @return null when detached */
+    ReportStream getReportStream(String path) {
+        Entry entry = entries.get(path);
+        return entry != null ? entry.stream : null;
+    }
+
+    /** records a write, no op when detached */
+    void record(String path, SimulatedHidDevice.Write write) {
+        Entry entry = entries.get(path);
+        if (entry != null) {
+            synchronized (entry.writes) {
+                entry.writes.add(write);
+            }
+        }
+    }
+
+    /** creates a handle like opening a device node, tracked while opened */
+    private SimulatedHidDevice create(Entry entry) {
+        return new SimulatedHidDevice(entry.info, entry.stream, this, scheduler());
+    }
+
+    /** tracks a handle opened, so it is closed on detach */
+    void opened(SimulatedHidDevice device) {
+        Entry entry = entries.get(device.getInfo().path);
+        if (entry != null) {
+            entry.devices.addIfAbsent(device);
+        }
+    }
+
+    /** forgets a handle closed */
+    void closed(SimulatedHidDevice device) {
+        Entry entry = entries.get(device.getInfo().path);
+        if (entry != null) {
+            entry.devices.remove(device);
+        }
+    }
+
+    /** @return the number of handles opened on the device */
+    int getHandles(String path) {
+        Entry entry = entries.get(path);
+        return entry != null ? entry.devices.size() : 0;
+    }
+
+    /**
+     * @param size input report size excluding the report id
+     * @return a vendor defined report descriptor with an input report (id 1) and an output report (id 2)
+     */
+    static byte[] reportDescriptor(int size) {
+        int n = Math.min(size, 0xffff);
+        // a 2 bytes item over 255
+        byte[] count = n > 0xff ?
+                new byte[] {(byte) 0x96, (byte) n, (byte) (n >> 8)} : // Report Count (n)
+                new byte[] {(byte) 0x95, (byte) n};                   // Report Count (n)
+        ByteArrayOutputStream descriptor = new ByteArrayOutputStream();
+        descriptor.writeBytes(new byte[] {
+            0x06, 0x00, (byte) 0xff, // Usage Page (Vendor Defined 0xFF00)
+            0x09, 0x01,              // Usage (0x01)
+            (byte) 0xa1, 0x01,       // Collection (Application)
+            (byte) 0x85, 0x01,       //   Report ID (1)
+            0x15, 0x00,              //   Logical Minimum (0)
+            0x26, (byte) 0xff, 0x00, //   Logical Maximum (255)
+            0x75, 0x08,              //   Report Size (8)
+        });
+        descriptor.writeBytes(count);
+        descriptor.writeBytes(new byte[] {
+            0x09, 0x01,              //   Usage (0x01)
+            (byte) 0x81, 0x02,       //   Input (Data,Var,Abs)
+            (byte) 0x85, 0x02,       //   Report ID (2)
+        });
+        descriptor.writeBytes(count);
+        descriptor.writeBytes(new byte[] {
+            0x09, 0x01,              //   Usage (0x01)
+            (byte) 0x91, 0x02,       //   Output (Data,Var,Abs)
+            (byte) 0xc0              // End Collection
+        });
+        return descriptor.toByteArray();
+    }
+
+    @Override
+    public NativeHidDevice create(int vendorId, int productId, String serialNumber) throws IOException {
+        for (Entry entry : entries.values()) {
+            if (entry.info.vendorId == vendorId && entry.info.productId == productId &&
+                    (serialNumber == null || serialNumber.equals(entry.info.serialNumber))) {
+                return create(entry);
+            }
+        }
+        throw new IOException(String.format("no simulated device: %04x:%04x %s", vendorId, productId, serialNumber));
+    }
+
+    @Override
+    public List<HidDevice.Info> enumerate(int vendorId, int productId) {
+        List<HidDevice.Info> infos = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            if ((vendorId == 0 || entry.info.vendorId == vendorId) && (productId == 0 || entry.info.productId == productId)) {
+                infos.add(entry.info);
+            }
+        }
+        return infos;
+    }
+
+    @Override
+    public NativeHidDevice create(HidDevice.Info info) throws IOException {
+        Entry entry = entries.get(info.path);
+        if (entry == null) {
+            throw new IOException("no simulated device: " + info.path);
+        }
+        return create(entry);
+    }
+
+    @Override
+    public boolean isSupported() {
+        return Boolean.getBoolean("org.hid4java.simulated");
+    }
+
+    @Override
+    public boolean isHotplugSupported() {
+        return true;
+    }
+
+    @Override
+    public void startHotplug(HotplugListener listener) {
+        hotplugListener = listener;
+    }
+
+    @Override
+    public void stopHotplug() {
+        hotplugListener = null;
+    }
+}
@@ -20,7 +20,6 @@
 package org.hid4java.windows;
 
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -157,10 +156,65 @@ public class DescriptorReconstructor {
         delimiter_close;
     }
 
-    static class BitRange {
+    /**
+     * the bit range of each report per collection, only for the report IDs of the caps.
+     * cells are packed by collection, report ID slot and report type, a bit of an undefined range is -1.
+     */
+    static class CollBitRange {
+
+        /** report ID to the slot, -1 for a report ID of no caps */
+        final short[] slots = new short[256];
+        /** the report IDs of the caps ascending */
+        final int[] reportIds;
+        /** firstBit, lastBit of a cell */
+        final int[] bits;
+
+        CollBitRange(int numberLinkCollectionNodes, boolean[] present) {
+            Arrays.fill(slots, (short) -1);
+            int n = 0;
+            for (int reportIdIdx = 0; reportIdIdx < 256; reportIdIdx++) {
+                if (present[reportIdIdx]) {
+                    slots[reportIdIdx] = (short) n++;
+                }
+            }
+            reportIds = new int[n];
+            for (int reportIdIdx = 0; reportIdIdx < 256; reportIdIdx++) {
+                if (slots[reportIdIdx] != -1) {
+                    reportIds[slots[reportIdIdx]] = reportIdIdx;
+                }
+            }
+            bits = new int[numberLinkCollectionNodes * n * NUM_OF_HIDP_REPORT_TYPES * 2];
+            Arrays.fill(bits, -1);
+        }
 
-        int firstBit;
-        int lastBit;
+        /** @return the index of firstBit, -1 for a report ID of no caps */
+        private int cell(int collectionNodeIdx, int reportIdIdx, int rtIdx) {
+            int slot = slots[reportIdIdx & 0xff];
+            if (slot == -1) {
+                return -1;
+            }
+            return ((collectionNodeIdx * reportIds.length + slot) * NUM_OF_HIDP_REPORT_TYPES + rtIdx) * 2;
+        }
+
+        int firstBit(int collectionNodeIdx, int reportIdIdx, int rtIdx) {
+            int cell = cell(collectionNodeIdx, reportIdIdx, rtIdx);
+            return cell == -1 ? -1 : bits[cell];
+        }
+
+        int lastBit(int collectionNodeIdx, int reportIdIdx, int rtIdx) {
+            int cell = cell(collectionNodeIdx, reportIdIdx, rtIdx);
+            return cell == -1 ? -1 : bits[cell + 1];
+        }
+
+        /** the report ID must be of the caps */
+        void setFirstBit(int collectionNodeIdx, int reportIdIdx, int rtIdx, int firstBit) {
+            bits[cell(collectionNodeIdx, reportIdIdx, rtIdx)] = firstBit;
+        }
+
+        /** the report ID must be of the caps */
+        void setLastBit(int collectionNodeIdx, int reportIdIdx, int rtIdx, int lastBit) {
+            bits[cell(collectionNodeIdx, reportIdIdx, rtIdx) + 1] = lastBit;
+        }
     }
 
     enum NodeType {
@@ -188,6 +242,7 @@ public class DescriptorReconstructor {
         /** Input, Output, Feature, Collection or Collection End */
         MainItems mainItemType;
         byte reportID;
+        MainItemNode next;
 
         MainItemNode(int firstBit, int lastBit, NodeType typeOfNode, int capsIndex, int collectionIndex, MainItems mainItemType, byte reportId) {
             this.firstBit = firstBit;
@@ -200,7 +255,7 @@ public class DescriptorReconstructor {
         }
     }
 
-    static class hid_pp_caps_info extends Structure {
+    public static class hid_pp_caps_info extends Structure {
 
         public short FirstCap;
         public short NumberOfCaps; // Includes empty caps after LastCap
@@ -213,7 +268,7 @@ public class DescriptorReconstructor {
         }
     }
 
-    static class hid_pp_link_collection_node extends Structure {
+    public static class hid_pp_link_collection_node extends Structure {
 
         public short /* USAGE */ LinkUsage;
         public short /* USAGE */ LinkUsagePage;
@@ -233,11 +288,11 @@ public class DescriptorReconstructor {
         // Same as the public API structure HIDP_LINK_COLLECTION_NODE, but without PVOID UserContext at the end
         @Override
         protected List<String> getFieldOrder() {
-            return List.of("LinkUsage", "LinkUsagePage", "Parent", "NumberOfChildren", "NextSibling", "FirstChild", "flags");
+            return List.of("LinkUsage", "LinkUsagePage", "Parent", "NumberOfChildren", "NextSibling", "FirstChild", "bits");
         }
     }
 
-    static class hidp_unknown_token extends Structure {
+    public static class hidp_unknown_token extends Structure {
 
         /** Specifies the one-byte prefix of a global item. */
         public byte Token;
@@ -247,14 +302,14 @@ public class DescriptorReconstructor {
 
         @Override
         protected List<String> getFieldOrder() {
-            return List.of("Token", "Reserved", "StringMin");
+            return List.of("Token", "Reserved", "BitField");
         }
     }
 
-    static class hid_pp_cap extends Structure {
+    public static class hid_pp_cap extends Structure {
 
         public short /* USAGE */ UsagePage;
-        public short /* USAGE */ ReportID;
+        public byte ReportID;
         public byte BitPosition;
         /** WIN32 term for this is BitSize */
         public short ReportSize;
@@ -278,22 +333,22 @@ public class DescriptorReconstructor {
         static final int IsStringRange = 0x01 << 6;
         static final int IsDesignatorRange = 0x01 << 7;
         // End of 8 Flags in one byte
-        public boolean[] Reserved1 = new boolean[3];
+        public byte /* BOOLEAN */[] Reserved1 = new byte[3];
 
         public hidp_unknown_token[] UnknownTokens = new hidp_unknown_token[4]; // 4 x 8 Byte
 
-        static class u1 extends Union {
+        public static class u1 extends Union {
 
-            static class Range extends Structure {
+            public static class Range extends Structure {
 
-                short /* USAGE */ UsageMin;
-                short /* USAGE */ UsageMax;
-                short StringMin;
-                short StringMax;
-                short DesignatorMin;
-                short DesignatorMax;
-                short DataIndexMin;
-                short DataIndexMax;
+                public short /* USAGE */ UsageMin;
+                public short /* USAGE */ UsageMax;
+                public short StringMin;
+                public short StringMax;
+                public short DesignatorMin;
+                public short DesignatorMax;
+                public short DataIndexMin;
+                public short DataIndexMax;
 
                 @Override
                 protected List<String> getFieldOrder() {
@@ -303,16 +358,16 @@ public class DescriptorReconstructor {
 
             public Range range;
 
-            static class NotRange extends Structure {
+            public static class NotRange extends Structure {
 
-                short /* USAGE */ Usage;
-                short /* USAGE */ Reserved1;
-                short StringIndex;
-                short Reserved2;
-                short DesignatorIndex;
-                short Reserved3;
-                short DataIndex;
-                short Reserved4;
+                public short /* USAGE */ Usage;
+                public short /* USAGE */ Reserved1;
+                public short StringIndex;
+                public short Reserved2;
+                public short DesignatorIndex;
+                public short Reserved3;
+                public short DataIndex;
+                public short Reserved4;
 
                 @Override
                 protected List<String> getFieldOrder() {
@@ -321,13 +376,22 @@ public class DescriptorReconstructor {
             }
 
             public NotRange notRange;
+
+            /** both views are used by the reconstruction */
+            @Override
+            public void read() {
+                setType(Range.class);
+                super.read();
+                setType(NotRange.class);
+                readField("notRange");
+            }
         }
 
         public u1 u1;
 
-        static class u2 extends Union {
+        public static class u2 extends Union {
 
-            static class Button extends Structure {
+            public static class Button extends Structure {
 
                 public int LogicalMin;
                 public int LogicalMax;
@@ -340,9 +404,9 @@ public class DescriptorReconstructor {
 
             public Button button;
 
-            static class NotButton extends Structure {
+            public static class NotButton extends Structure {
 
-                public boolean HasNull;
+                public byte /* BOOLEAN */ HasNull;
                 public byte[] Reserved4 = new byte[3];
                 public int LogicalMin;
                 public int LogicalMax;
@@ -356,6 +420,15 @@ public class DescriptorReconstructor {
             }
 
             public NotButton notButton;
+
+            /** both views are used by the reconstruction */
+            @Override
+            public void read() {
+                setType(Button.class);
+                super.read();
+                setType(NotButton.class);
+                readField("notButton");
+            }
         }
 
         public u2 u2;
@@ -370,7 +443,7 @@ public class DescriptorReconstructor {
         }
     }
 
-    static class hidp_preparsed_data extends Structure {
+    public static class hidp_preparsed_data extends Structure {
 
         public byte[] MagicKey = new byte[8];
         public short /* USAGE */ Usage;
@@ -383,28 +456,42 @@ public class DescriptorReconstructor {
         public short FirstByteOfLinkCollectionArray;
         public short NumberLinkCollectionNodes;
 
-        static class u extends Union {
+        public static class u extends Union {
 
             public hid_pp_cap[] caps;
             public hid_pp_link_collection_node[] LinkCollectionArray;
 
+            /** the arrays are flexible, so they are sized before the read */
+            u(Pointer p, int numberOfCaps, int numberLinkCollectionNodes) {
+                caps = new hid_pp_cap[Math.max(1, numberOfCaps)];
+                LinkCollectionArray = new hid_pp_link_collection_node[Math.max(1, numberLinkCollectionNodes)];
+                useMemory(p);
+                read();
+            }
+
             @Override
             protected List<String> getFieldOrder() {
                 return List.of("caps", "LinkCollectionArray");
             }
         }
 
-        public u u;
+        /** follows the header, not a field of the structure because of the flexible arrays */
+        u u;
 
         hidp_preparsed_data(Pointer p) {
             super(p);
             read();
+            int numberOfCaps = 0;
+            for (hid_pp_caps_info capsInfo : caps_info) {
+                numberOfCaps = Math.max(numberOfCaps, capsInfo.LastCap);
+            }
+            u = new u(p.share(size()), numberOfCaps, NumberLinkCollectionNodes);
         }
 
         @Override
         protected List<String> getFieldOrder() {
             return List.of("MagicKey", "Usage", "UsagePage", "Reserved", "caps_info",
-                    "FirstByteOfLinkCollectionArray", "NumberLinkCollectionNodes", "u");
+                    "FirstByteOfLinkCollectionArray", "NumberLinkCollectionNodes");
         }
     }
 
@@ -513,20 +600,75 @@ public class DescriptorReconstructor {
         }
     }
 
-    /** Determine first INPUT/OUTPUT/FEATURE main item, where the last bit position is equal or greater than the search bit position */
-    private static int searchMainItemListForBitPosition(int searchBit, MainItems mainItemType, byte reportId, MainItemNode[] list, int index) {
-
-        for (int i = index; i < list.length; i++) {
-            MainItemNode curr = list[i];
-            if ((curr.mainItemType.ordinal() != collection.ordinal()) &&
-                (curr.mainItemType.ordinal() != collection_end.ordinal()) &&
-                !((curr.lastBit >= searchBit) &&
-                        (curr.reportID == reportId) &&
-                        (curr.mainItemType == mainItemType))) {
-                return i;
+    /**
+     * Creates lookup tables for the bit range of each report per collection (position of first bit and last bit in each collection).
+     *
+     * @param capsInfo caps info for Input, Output and Feature
+     * @param caps caps indexed by capsInfo
+     * @param numberLinkCollectionNodes number of link collection nodes
+     * @return collBitRange[COLLECTION_INDEX][REPORT_ID][INPUT/OUTPUT/FEATURE], -1 for undefined bits
+     */
+    static CollBitRange createCollBitRange(hid_pp_caps_info[] capsInfo, hid_pp_cap[] caps, int numberLinkCollectionNodes) {
+        // Allocate cells only for the report IDs used by caps
+        boolean[] present = new boolean[256]; // 256 possible report IDs (incl. 0x00)
+        for (int /* HIDP_REPORT_TYPE */ rtIdx = 0; rtIdx < NUM_OF_HIDP_REPORT_TYPES; rtIdx++) {
+            for (int capsIdx = capsInfo[rtIdx].FirstCap; capsIdx < capsInfo[rtIdx].LastCap; capsIdx++) {
+                present[caps[capsIdx].ReportID & 0xff] = true;
             }
         }
-        return 0;
+        CollBitRange collBitRange = new CollBitRange(numberLinkCollectionNodes, present);
+
+        // Fill the lookup table where caps exist
+        for (int /* HIDP_REPORT_TYPE */ rtIdx = 0; rtIdx < NUM_OF_HIDP_REPORT_TYPES; rtIdx++) {
+            for (int capsIdx = capsInfo[rtIdx].FirstCap; capsIdx < capsInfo[rtIdx].LastCap; capsIdx++) {
+                int firstBit, lastBit;
+                firstBit = (caps[capsIdx].BytePosition - 1) * 8
+                        + caps[capsIdx].BitPosition;
+                lastBit = firstBit + caps[capsIdx].ReportSize
+                        * caps[capsIdx].ReportCount - 1;
+                int collectionNodeIdx = caps[capsIdx].LinkCollection;
+                int reportIdIdx = caps[capsIdx].ReportID & 0xff;
+                if (collBitRange.firstBit(collectionNodeIdx, reportIdIdx, rtIdx) == -1 ||
+                        collBitRange.firstBit(collectionNodeIdx, reportIdIdx, rtIdx) > firstBit) {
+                    collBitRange.setFirstBit(collectionNodeIdx, reportIdIdx, rtIdx, firstBit);
+                }
+                if (collBitRange.lastBit(collectionNodeIdx, reportIdIdx, rtIdx) < lastBit) {
+                    collBitRange.setLastBit(collectionNodeIdx, reportIdIdx, rtIdx, lastBit);
+                }
+            }
+        }
+
+        return collBitRange;
+    }
+
+    /** Appends a main item node to the end of the list */
+    private static MainItemNode appendMainItemNode(int firstBit, int lastBit, NodeType typeOfNode, int capsIndex, int collectionIndex, MainItems mainItemType, byte reportId, MainItemNode list) {
+        // Determine last node in the list
+        while (list.next != null) {
+            list = list.next;
+        }
+        list.next = new MainItemNode(firstBit, lastBit, typeOfNode, capsIndex, collectionIndex, mainItemType, reportId);
+        return list.next;
+    }
+
+    /** Inserts a main item node after the node referenced by list */
+    private static MainItemNode insertMainItemNode(int firstBit, int lastBit, NodeType typeOfNode, int capsIndex, int collectionIndex, MainItems mainItemType, byte reportId, MainItemNode list) {
+        MainItemNode newNode = new MainItemNode(firstBit, lastBit, typeOfNode, capsIndex, collectionIndex, mainItemType, reportId);
+        newNode.next = list.next;
+        list.next = newNode;
+        return newNode;
+    }
+
+    /** Determine first INPUT/OUTPUT/FEATURE main item, where the last bit position is equal or greater than the search bit position */
+    private static MainItemNode searchMainItemListForBitPosition(int searchBit, MainItems mainItemType, byte reportId, MainItemNode list) {
+        while ((list.next.mainItemType != collection) &&
+                (list.next.mainItemType != collection_end) &&
+                !((list.next.lastBit >= searchBit) &&
+                        (list.next.reportID == reportId) &&
+                        (list.next.mainItemType == mainItemType))) {
+            list = list.next;
+        }
+        return list;
     }
 
     static int hidWinapiDescriptorReconstructPpData(Pointer preparsedData, byte[] buf, int bufSize) {
@@ -543,46 +685,18 @@ public class DescriptorReconstructor {
         rptDesc.byteIdx = 0;
 
         // Set pointer to the first node of linkCollectionNodes
-        Pointer pLinkCollectionNodes = new Pointer(Pointer.nativeValue(ppData.u.getPointer()) + ppData.FirstByteOfLinkCollectionArray);
+        Pointer pLinkCollectionNodes = ppData.u.getPointer().share(ppData.FirstByteOfLinkCollectionArray);
         hid_pp_link_collection_node[] linkCollectionNodes = new hid_pp_link_collection_node[ppData.NumberLinkCollectionNodes];
+        for (int collectionNodeIdx = 0; collectionNodeIdx < ppData.NumberLinkCollectionNodes; collectionNodeIdx++) {
+            linkCollectionNodes[collectionNodeIdx] = new hid_pp_link_collection_node(pLinkCollectionNodes);
+            pLinkCollectionNodes = pLinkCollectionNodes.share(linkCollectionNodes[collectionNodeIdx].size());
+        }
 
         //
         // Create lookup tables for the bit range of each report per collection (position of first bit and last bit in each collection)
         // collBitRange[COLLECTION_INDEX][REPORT_ID][INPUT/OUTPUT/FEATURE]
         //
-
-        // Allocate memory and initialize lookup table
-        BitRange[][][] collBitRange;
-        collBitRange = new BitRange[ppData.NumberLinkCollectionNodes][][];
-        for (int collectionNodeIdx = 0; collectionNodeIdx < ppData.NumberLinkCollectionNodes; collectionNodeIdx++) {
-            collBitRange[collectionNodeIdx] = new BitRange[256 * collBitRange[0].length][]; // 256 possible report IDs (incl. 0x00)
-            for (int reportIdIdx = 0; reportIdIdx < 256; reportIdIdx++) {
-                collBitRange[collectionNodeIdx][reportIdIdx] = new BitRange[NUM_OF_HIDP_REPORT_TYPES * collBitRange[0][0].length];
-                for (int /* HIDP_REPORT_TYPE */ rtIdx = 0; rtIdx < NUM_OF_HIDP_REPORT_TYPES; rtIdx++) {
-                    collBitRange[collectionNodeIdx][reportIdIdx][rtIdx] = new BitRange();
-                    collBitRange[collectionNodeIdx][reportIdIdx][rtIdx].firstBit = -1;
-                    collBitRange[collectionNodeIdx][reportIdIdx][rtIdx].lastBit = -1;
-                }
-            }
-        }
-
-        // Fill the lookup table where caps exist
-        for (int /* HIDP_REPORT_TYPE */ rtIdx = 0; rtIdx < NUM_OF_HIDP_REPORT_TYPES; rtIdx++) {
-            for (int capsIdx = ppData.caps_info[rtIdx].FirstCap; capsIdx < ppData.caps_info[rtIdx].LastCap; capsIdx++) {
-                int firstBit, lastBit;
-                firstBit = (ppData.u.caps[capsIdx].BytePosition - 1) * 8
-                        + ppData.u.caps[capsIdx].BitPosition;
-                lastBit = firstBit + ppData.u.caps[capsIdx].ReportSize
-                        * ppData.u.caps[capsIdx].ReportCount - 1;
-                if (collBitRange[ppData.u.caps[capsIdx].LinkCollection][ppData.u.caps[capsIdx].ReportID][rtIdx].firstBit == -1 ||
-                        collBitRange[ppData.u.caps[capsIdx].LinkCollection][ppData.u.caps[capsIdx].ReportID][rtIdx].firstBit > firstBit) {
-                    collBitRange[ppData.u.caps[capsIdx].LinkCollection][ppData.u.caps[capsIdx].ReportID][rtIdx].firstBit = firstBit;
-                }
-                if (collBitRange[ppData.u.caps[capsIdx].LinkCollection][ppData.u.caps[capsIdx].ReportID][rtIdx].lastBit < lastBit) {
-                    collBitRange[ppData.u.caps[capsIdx].LinkCollection][ppData.u.caps[capsIdx].ReportID][rtIdx].lastBit = lastBit;
-                }
-            }
-        }
+        CollBitRange collBitRange = createCollBitRange(ppData.caps_info, ppData.u.caps, ppData.NumberLinkCollectionNodes);
 
         //
         // -Determine hierarchy levels of each collection and store it in:
@@ -603,8 +717,6 @@ public class DescriptorReconstructor {
             int collectionNodeIdx = 0;
             while (actualCollLevel >= 0) {
                 collLevels[collectionNodeIdx] = actualCollLevel;
-                linkCollectionNodes[collectionNodeIdx] = new hid_pp_link_collection_node(pLinkCollectionNodes);
-                pLinkCollectionNodes = new Pointer(Pointer.nativeValue(pLinkCollectionNodes) + linkCollectionNodes[collectionNodeIdx].size());
                 if ((linkCollectionNodes[collectionNodeIdx].NumberOfChildren > 0) &&
                         (collLevels[linkCollectionNodes[collectionNodeIdx].FirstChild] == -1)) {
                     actualCollLevel++;
@@ -635,15 +747,16 @@ public class DescriptorReconstructor {
                 if (collLevels[collectionNodeIdx] == actualCollLevel) {
                     int childIdx = linkCollectionNodes[collectionNodeIdx].FirstChild;
                     while (childIdx != 0) {
+                        // all report IDs are walked as hidapi does, the sibling advances by a cell
                         for (int reportIdIdx = 0; reportIdIdx < 256; reportIdIdx++) {
                             for (int /* HIDP_REPORT_TYPE */ rtIdx = 0; rtIdx < NUM_OF_HIDP_REPORT_TYPES; rtIdx++) {
                                 // Merge bit range from children
-                                if ((collBitRange[childIdx][reportIdIdx][rtIdx].firstBit != -1) &&
-                                        (collBitRange[collectionNodeIdx][reportIdIdx][rtIdx].firstBit > collBitRange[childIdx][reportIdIdx][rtIdx].firstBit)) {
-                                    collBitRange[collectionNodeIdx][reportIdIdx][rtIdx].firstBit = collBitRange[childIdx][reportIdIdx][rtIdx].firstBit;
+                                if ((collBitRange.firstBit(childIdx, reportIdIdx, rtIdx) != -1) &&
+                                        (collBitRange.firstBit(collectionNodeIdx, reportIdIdx, rtIdx) > collBitRange.firstBit(childIdx, reportIdIdx, rtIdx))) {
+                                    collBitRange.setFirstBit(collectionNodeIdx, reportIdIdx, rtIdx, collBitRange.firstBit(childIdx, reportIdIdx, rtIdx));
                                 }
-                                if (collBitRange[collectionNodeIdx][reportIdIdx][rtIdx].lastBit < collBitRange[childIdx][reportIdIdx][rtIdx].lastBit) {
-                                    collBitRange[collectionNodeIdx][reportIdIdx][rtIdx].lastBit = collBitRange[childIdx][reportIdIdx][rtIdx].lastBit;
+                                if (collBitRange.lastBit(collectionNodeIdx, reportIdIdx, rtIdx) < collBitRange.lastBit(childIdx, reportIdIdx, rtIdx)) {
+                                    collBitRange.setLastBit(collectionNodeIdx, reportIdIdx, rtIdx, collBitRange.lastBit(childIdx, reportIdIdx, rtIdx));
                                 }
                                 childIdx = linkCollectionNodes[childIdx].NextSibling;
                             }
@@ -687,15 +800,16 @@ public class DescriptorReconstructor {
                     if (collNumberOfDirectChildren[collectionNodeIdx] > 1) {
                         // Sort child collections indices by bit positions
                         for (int /* HIDP_REPORT_TYPE */ rtIdx = 0; rtIdx < NUM_OF_HIDP_REPORT_TYPES; rtIdx++) {
-                            for (int reportIdIdx = 0; reportIdIdx < 256; reportIdIdx++) {
+                            // report IDs of no caps have no bit range to sort by
+                            for (int reportIdIdx : collBitRange.reportIds) {
                                 for (int childIdx = 1; childIdx < collNumberOfDirectChildren[collectionNodeIdx]; childIdx++) {
                                     // since the collBitRange array is not sorted, we need to reference the collection index in
                                     // our sorted collChildOrder array, and look up the corresponding bit ranges for comparing values to sort
                                     int prevCollIdx = collChildOrder[collectionNodeIdx][childIdx - 1];
                                     int curCollIdx = collChildOrder[collectionNodeIdx][childIdx];
-                                    if ((collBitRange[prevCollIdx][reportIdIdx][rtIdx].firstBit != -1) &&
-                                            (collBitRange[curCollIdx][reportIdIdx][rtIdx].firstBit != -1) &&
-                                            (collBitRange[prevCollIdx][reportIdIdx][rtIdx].firstBit > collBitRange[curCollIdx][reportIdIdx][rtIdx].firstBit)) {
+                                    if ((collBitRange.firstBit(prevCollIdx, reportIdIdx, rtIdx) != -1) &&
+                                            (collBitRange.firstBit(curCollIdx, reportIdIdx, rtIdx) != -1) &&
+                                            (collBitRange.firstBit(prevCollIdx, reportIdIdx, rtIdx) > collBitRange.firstBit(curCollIdx, reportIdIdx, rtIdx))) {
                                         // Swap position indices of the two compared child collections
                                         int idx_latch = collChildOrder[collectionNodeIdx][childIdx - 1];
                                         collChildOrder[collectionNodeIdx][childIdx - 1] = collChildOrder[collectionNodeIdx][childIdx];
@@ -719,10 +833,9 @@ public class DescriptorReconstructor {
         }
 
         //
-        // Create sorted mainItemNodes containing all the Collection and CollectionEnd main items
+        // Create sorted mainItemList containing all the Collection and CollectionEnd main items
         //
-        List<MainItemNode> mainItemNodes = new ArrayList<>(); // List root
-        int pMainItemList = 0;
+        MainItemNode mainItemList; // List root
         // Lookup table to find the Collection items in the list by index
         MainItemNode[] collBeginLookup = new MainItemNode[ppData.NumberLinkCollectionNodes];
         MainItemNode[] collEndLookup = new MainItemNode[ppData.NumberLinkCollectionNodes];
@@ -732,10 +845,10 @@ public class DescriptorReconstructor {
 
             int actualCollLevel = 0;
             int collectionNodeIdx = 0;
-            int firstDelimiterNode = -1;
-            int delimiterCloseNode = -1;
-            collBeginLookup[0] = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, collection, (byte) 0);
-            mainItemNodes.add(collBeginLookup[0]);
+            MainItemNode firstDelimiterNode = null;
+            MainItemNode delimiterCloseNode = null;
+            mainItemList = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, collection, (byte) 0);
+            collBeginLookup[0] = mainItemList;
             while (actualCollLevel >= 0) {
                 if ((collNumberOfDirectChildren[collectionNodeIdx] != 0) &&
                         (collLastWrittenChild[collectionNodeIdx] == -1)) {
@@ -748,18 +861,15 @@ public class DescriptorReconstructor {
                     // While the order in the WIN32 capability strutures is the opposite:
                     // Here the preferred usage is the last aliased usage in the sequence.
 
-                    if ((linkCollectionNodes[collectionNodeIdx].bits & IsAlias) != 0 && (firstDelimiterNode == -1)) {
+                    if ((linkCollectionNodes[collectionNodeIdx].bits & IsAlias) != 0 && (firstDelimiterNode == null)) {
                         // Aliased Collection (First node in linkCollectionNodes . Last entry in report descriptor output)
-                        firstDelimiterNode = mainItemNodes.size() - 1;
-                        collBeginLookup[collectionNodeIdx] = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_usage, (byte) 0);
-                        mainItemNodes.add(collBeginLookup[collectionNodeIdx]);
-                        collBeginLookup[collectionNodeIdx] = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_close, (byte) 0);
-                        mainItemNodes.add(collBeginLookup[collectionNodeIdx]);
-                        delimiterCloseNode = mainItemNodes.size() - 1;
+                        firstDelimiterNode = mainItemList;
+                        collBeginLookup[collectionNodeIdx] = appendMainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_usage, (byte) 0, mainItemList);
+                        collBeginLookup[collectionNodeIdx] = appendMainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_close, (byte) 0, mainItemList);
+                        delimiterCloseNode = mainItemList;
                     } else {
                         // Normal not aliased collection
-                        collBeginLookup[collectionNodeIdx] = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, collection, (byte) 0);
-                        mainItemNodes.add(collBeginLookup[collectionNodeIdx]);
+                        collBeginLookup[collectionNodeIdx] = appendMainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, collection, (byte) 0, mainItemList);
                         actualCollLevel++;
                     }
 
@@ -774,113 +884,88 @@ public class DescriptorReconstructor {
                     collLastWrittenChild[collectionNodeIdx] = collChildOrder[collectionNodeIdx][nextChild];
                     collectionNodeIdx = collChildOrder[collectionNodeIdx][nextChild];
 
-                    if ((linkCollectionNodes[collectionNodeIdx].bits & IsAlias) != 0 && (firstDelimiterNode == -1)) {
+                    if ((linkCollectionNodes[collectionNodeIdx].bits & IsAlias) != 0 && (firstDelimiterNode == null)) {
                         // Aliased Collection (First node in linkCollectionNodes . Last entry in report descriptor output)
-                        firstDelimiterNode = mainItemNodes.size() - 1;
-                        collBeginLookup[collectionNodeIdx] = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_usage, (byte) 0);
-                        mainItemNodes.add(collBeginLookup[collectionNodeIdx]);
-                        collBeginLookup[collectionNodeIdx] = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_close, (byte) 0);
-                        mainItemNodes.add(collBeginLookup[collectionNodeIdx]);
-                        delimiterCloseNode = mainItemNodes.size() - 1;
-                    } else if ((linkCollectionNodes[collectionNodeIdx].bits & IsAlias) != 0 && (firstDelimiterNode != -1)) {
-                        // Insert item after the main item node referenced by list
-                        MainItemNode newNode = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_usage, (byte) 0);
-                        mainItemNodes.add(firstDelimiterNode - pMainItemList, newNode);
-                        collBeginLookup[collectionNodeIdx] = newNode;
-                    } else if ((linkCollectionNodes[collectionNodeIdx].bits & IsAlias) == 0 && (firstDelimiterNode != -1)) {
-                        // Insert item after the main item node referenced by list
-                        MainItemNode newNode1 = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_usage, (byte) 0);
-                        mainItemNodes.add(firstDelimiterNode - pMainItemList, newNode1);
-                        collBeginLookup[collectionNodeIdx] = newNode1;
-                        // Insert item after the main item node referenced by list
-                        MainItemNode newNode = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_open, (byte) 0);
-                        mainItemNodes.add(firstDelimiterNode - pMainItemList, newNode);
-                        collBeginLookup[collectionNodeIdx] = newNode;
-                        firstDelimiterNode = -1;
-                        pMainItemList = delimiterCloseNode;
-                        delimiterCloseNode = -1; // Last entry of alias has .IsAlias == false
+                        firstDelimiterNode = mainItemList;
+                        collBeginLookup[collectionNodeIdx] = appendMainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_usage, (byte) 0, mainItemList);
+                        collBeginLookup[collectionNodeIdx] = appendMainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_close, (byte) 0, mainItemList);
+                        delimiterCloseNode = mainItemList;
+                    } else if ((linkCollectionNodes[collectionNodeIdx].bits & IsAlias) != 0 && (firstDelimiterNode != null)) {
+                        collBeginLookup[collectionNodeIdx] = insertMainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_usage, (byte) 0, firstDelimiterNode);
+                    } else if ((linkCollectionNodes[collectionNodeIdx].bits & IsAlias) == 0 && (firstDelimiterNode != null)) {
+                        collBeginLookup[collectionNodeIdx] = insertMainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_usage, (byte) 0, firstDelimiterNode);
+                        collBeginLookup[collectionNodeIdx] = insertMainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, delimiter_open, (byte) 0, firstDelimiterNode);
+                        firstDelimiterNode = null;
+                        mainItemList = delimiterCloseNode;
+                        delimiterCloseNode = null; // Last entry of alias has .IsAlias == false
                     }
                     if ((linkCollectionNodes[collectionNodeIdx].bits & IsAlias) == 0) {
-                        collBeginLookup[collectionNodeIdx] = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, collection, (byte) 0);
-                        mainItemNodes.add(collBeginLookup[collectionNodeIdx]);
+                        collBeginLookup[collectionNodeIdx] = appendMainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, collection, (byte) 0, mainItemList);
                         actualCollLevel++;
                     }
                 } else {
                     actualCollLevel--;
-                    collEndLookup[collectionNodeIdx] = new MainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, collection_end, (byte) 0);
-                    mainItemNodes.add(collEndLookup[collectionNodeIdx]);
+                    collEndLookup[collectionNodeIdx] = appendMainItemNode(0, 0, item_node_collection, 0, collectionNodeIdx, collection_end, (byte) 0, mainItemList);
                     collectionNodeIdx = linkCollectionNodes[collectionNodeIdx].Parent;
                 }
             }
         }
 
         //
-        // Inserted Input/Output/Feature main items into the mainItemNodes
+        // Inserted Input/Output/Feature main items into the mainItemList
         // in order of reconstructed bit positions
         //
         for (int /* HIDP_REPORT_TYPE */ rtIdx = 0; rtIdx < NUM_OF_HIDP_REPORT_TYPES; rtIdx++) {
             // Add all value caps to node list
-            int firstDelimiterNode = -1;
-            int delimiterCloseNode = -1;
+            MainItemNode firstDelimiterNode = null;
+            MainItemNode delimiterCloseNode = null;
             for (int capsIdx = ppData.caps_info[rtIdx].FirstCap; capsIdx < ppData.caps_info[rtIdx].LastCap; capsIdx++) {
-                int collBegin = ppData.u.caps[capsIdx].LinkCollection;
+                hid_pp_cap cap = ppData.u.caps[capsIdx];
+                MainItemNode collBegin = collBeginLookup[cap.LinkCollection];
                 int firstBit, lastBit;
-                firstBit = (ppData.u.caps[capsIdx].BytePosition - 1) * 8 +
-                        ppData.u.caps[capsIdx].BitPosition;
-                lastBit = firstBit + ppData.u.caps[capsIdx].ReportSize *
-                        ppData.u.caps[capsIdx].ReportCount - 1;
+                firstBit = (cap.BytePosition - 1) * 8 +
+                        cap.BitPosition;
+                lastBit = firstBit + cap.ReportSize *
+                        cap.ReportCount - 1;
 
-                for (int childIdx = 0; childIdx < collNumberOfDirectChildren[ppData.u.caps[capsIdx].LinkCollection]; childIdx++) {
+                for (int childIdx = 0; childIdx < collNumberOfDirectChildren[cap.LinkCollection]; childIdx++) {
                     // Determine in which section before/between/after child collection the item should be inserted
-                    if (firstBit < collBitRange[collChildOrder[ppData.u.caps[capsIdx].LinkCollection][childIdx]][ppData.u.caps[capsIdx].ReportID][rtIdx].firstBit) {
+                    if (firstBit < collBitRange.firstBit(collChildOrder[cap.LinkCollection][childIdx], cap.ReportID, rtIdx)) {
                         // Note, that the default value for undefined collBitRange is -1, which can't be greater than the bit position
                         break;
                     }
-                    collBegin = collChildOrder[ppData.u.caps[capsIdx].LinkCollection][childIdx];
+                    collBegin = collEndLookup[collChildOrder[cap.LinkCollection][childIdx]];
                 }
-                int listNodeP = searchMainItemListForBitPosition(firstBit, MainItems.values()[rtIdx], (byte) ppData.u.caps[capsIdx].ReportID, collEndLookup, collBegin);
-                List<MainItemNode> listNode = List.of(collEndLookup);
+                MainItemNode listNode = searchMainItemListForBitPosition(firstBit, MainItems.values()[rtIdx], cap.ReportID, collBegin);
 
                 // In a HID Report Descriptor, the first usage declared is the most preferred usage for the control.
                 // While the order in the WIN32 capability strutures is the opposite:
                 // Here the preferred usage is the last aliased usage in the sequence.
 
-                if ((ppData.u.caps[capsIdx].flags & hid_pp_cap.IsAlias) != 0 && (firstDelimiterNode == -1)) {
+                if ((cap.flags & hid_pp_cap.IsAlias) != 0 && (firstDelimiterNode == null)) {
                     // Aliased Usage (First node in ppData.u.caps . Last entry in report descriptor output)
-                    firstDelimiterNode = listNode.size() - 1;
-                    // Insert item after the main item node referenced by list
-                    MainItemNode newNode1 = new MainItemNode(firstBit, lastBit, item_node_cap, capsIdx, ppData.u.caps[capsIdx].LinkCollection, delimiter_usage, (byte) ppData.u.caps[capsIdx].ReportID);
-                    listNode.add(listNodeP, newNode1);
-                    // Insert item after the main item node referenced by list
-                    MainItemNode newNode = new MainItemNode(firstBit, lastBit, item_node_cap, capsIdx, ppData.u.caps[capsIdx].LinkCollection, delimiter_close, (byte) ppData.u.caps[capsIdx].ReportID);
-                    listNode.add(listNodeP, newNode);
-                    delimiterCloseNode = listNode.size() - 1;
-                } else if ((ppData.u.caps[capsIdx].flags & hid_pp_cap.IsAlias) != 0 && (firstDelimiterNode != -1)) {
-                    // Insert item after the main item node referenced by list
-                    MainItemNode newNode = new MainItemNode(firstBit, lastBit, item_node_cap, capsIdx, ppData.u.caps[capsIdx].LinkCollection, delimiter_usage, (byte) ppData.u.caps[capsIdx].ReportID);
-                    listNode.add(listNodeP, newNode);
-                } else if ((ppData.u.caps[capsIdx].flags & hid_pp_cap.IsAlias) == 0 && (firstDelimiterNode != -1)) {
+                    firstDelimiterNode = listNode;
+                    insertMainItemNode(firstBit, lastBit, item_node_cap, capsIdx, cap.LinkCollection, delimiter_usage, cap.ReportID, listNode);
+                    insertMainItemNode(firstBit, lastBit, item_node_cap, capsIdx, cap.LinkCollection, delimiter_close, cap.ReportID, listNode);
+                    delimiterCloseNode = listNode;
+                } else if ((cap.flags & hid_pp_cap.IsAlias) != 0 && (firstDelimiterNode != null)) {
+                    insertMainItemNode(firstBit, lastBit, item_node_cap, capsIdx, cap.LinkCollection, delimiter_usage, cap.ReportID, listNode);
+                } else if ((cap.flags & hid_pp_cap.IsAlias) == 0 && (firstDelimiterNode != null)) {
                     // Aliased Collection (Last node in ppData.u.caps . First entry in report descriptor output)
-                    // Insert item after the main item node referenced by list
-                    MainItemNode newNode1 = new MainItemNode(firstBit, lastBit, item_node_cap, capsIdx, ppData.u.caps[capsIdx].LinkCollection, delimiter_usage, (byte) ppData.u.caps[capsIdx].ReportID);
-                    listNode.add(listNodeP, newNode1);
-                    // Insert item after the main item node referenced by list
-                    MainItemNode newNode = new MainItemNode(firstBit, lastBit, item_node_cap, capsIdx, ppData.u.caps[capsIdx].LinkCollection, delimiter_open, (byte) ppData.u.caps[capsIdx].ReportID);
-                    listNode.add(listNodeP, newNode);
-                    firstDelimiterNode = -1;
-                    listNodeP = delimiterCloseNode;
-                    delimiterCloseNode = -1; // Last entry of alias has .IsAlias == false
+                    insertMainItemNode(firstBit, lastBit, item_node_cap, capsIdx, cap.LinkCollection, delimiter_usage, cap.ReportID, listNode);
+                    insertMainItemNode(firstBit, lastBit, item_node_cap, capsIdx, cap.LinkCollection, delimiter_open, cap.ReportID, listNode);
+                    firstDelimiterNode = null;
+                    listNode = delimiterCloseNode;
+                    delimiterCloseNode = null; // Last entry of alias has .IsAlias == false
                 }
-                if ((ppData.u.caps[capsIdx].flags & hid_pp_cap.IsAlias) == 0) {
-                    // Insert item after the main item node referenced by list
-                    MainItemNode newNode = new MainItemNode(firstBit, lastBit, item_node_cap, capsIdx, (int) ppData.u.caps[capsIdx].LinkCollection, MainItems.values()[rtIdx], (byte) ppData.u.caps[capsIdx].ReportID);
-                    listNode.add(listNodeP, newNode);
+                if ((cap.flags & hid_pp_cap.IsAlias) == 0) {
+                    insertMainItemNode(firstBit, lastBit, item_node_cap, capsIdx, cap.LinkCollection, MainItems.values()[rtIdx], cap.ReportID, listNode);
                 }
             }
         }
 
         //
-        // Add const main items for padding to mainItemNodes
+        // Add const main items for padding to mainItemList
         // -To fill all bit gaps
         // -At each report end for 8bit padding
         //  Note that information about the padding at the report end,
@@ -897,23 +982,22 @@ public class DescriptorReconstructor {
                 }
             }
 
-            for (MainItemNode curr : mainItemNodes) {
+            for (MainItemNode curr = mainItemList; curr.next != null; curr = curr.next) {
                 if ((curr.mainItemType.ordinal() >= input.ordinal()) &&
                         (curr.mainItemType.ordinal() <= feature.ordinal())) {
                     // INPUT, OUTPUT or FEATURE
+                    int rtIdx = curr.mainItemType.ordinal();
+                    int reportIdIdx = curr.reportID & 0xff;
                     if (curr.firstBit != -1) {
-                        if ((lastBitPosition[curr.mainItemType.ordinal()][curr.reportID] + 1 != curr.firstBit) &&
-                                (lastReportItemLookup[curr.mainItemType.ordinal()][curr.reportID] != null) &&
-                                (lastReportItemLookup[curr.mainItemType.ordinal()][curr.reportID].firstBit != curr.firstBit) // Happens in case of IsMultipleItemsForArray for multiple dedicated usages for a multi-button array
+                        if ((lastBitPosition[rtIdx][reportIdIdx] + 1 != curr.firstBit) &&
+                                (lastReportItemLookup[rtIdx][reportIdIdx] != null) &&
+                                (lastReportItemLookup[rtIdx][reportIdIdx].firstBit != curr.firstBit) // Happens in case of IsMultipleItemsForArray for multiple dedicated usages for a multi-button array
                         ) {
-                            int index = searchMainItemListForBitPosition(lastBitPosition[curr.mainItemType.ordinal()][curr.reportID], curr.mainItemType, curr.reportID, lastReportItemLookup[curr.mainItemType.ordinal()], curr.reportID);
-                            List<MainItemNode> list_node = List.of(lastReportItemLookup[curr.mainItemType.ordinal()]);
-                            // Insert item after the main item node referenced by list
-                            MainItemNode newNode = new MainItemNode(lastBitPosition[curr.mainItemType.ordinal()][curr.reportID] + 1, curr.firstBit - 1, item_node_padding, -1, 0, curr.mainItemType, curr.reportID);
-                            list_node.add(index, newNode);
+                            MainItemNode listNode = searchMainItemListForBitPosition(lastBitPosition[rtIdx][reportIdIdx], curr.mainItemType, curr.reportID, lastReportItemLookup[rtIdx][reportIdIdx]);
+                            insertMainItemNode(lastBitPosition[rtIdx][reportIdIdx] + 1, curr.firstBit - 1, item_node_padding, -1, 0, curr.mainItemType, curr.reportID, listNode);
                         }
-                        lastBitPosition[curr.mainItemType.ordinal()][curr.reportID] = curr.lastBit;
-                        lastReportItemLookup[curr.mainItemType.ordinal()][curr.reportID] = curr;
+                        lastBitPosition[rtIdx][reportIdIdx] = curr.lastBit;
+                        lastReportItemLookup[rtIdx][reportIdIdx] = curr;
                     }
                 }
             }
@@ -924,10 +1008,7 @@ public class DescriptorReconstructor {
                         int padding = 8 - ((lastBitPosition[rtIdx][reportIdIdx] + 1) % 8);
                         if (padding < 8) {
                             // Insert padding item after item referenced in lastReportItemLookup
-                            List<MainItemNode> listNode = List.of(lastReportItemLookup[rtIdx]);
-                            // Insert item after the main item node referenced by list
-                            MainItemNode newNode = new MainItemNode(lastBitPosition[rtIdx][reportIdIdx] + 1, lastBitPosition[rtIdx][reportIdIdx] + padding, item_node_padding, -1, 0, MainItems.values()[rtIdx], (byte) reportIdIdx);
-                            listNode.add(reportIdIdx, newNode);
+                            insertMainItemNode(lastBitPosition[rtIdx][reportIdIdx] + 1, lastBitPosition[rtIdx][reportIdIdx] + padding, item_node_padding, -1, 0, MainItems.values()[rtIdx], (byte) reportIdIdx, lastReportItemLookup[rtIdx][reportIdIdx]);
                         }
                     }
                 }
@@ -945,8 +1026,7 @@ public class DescriptorReconstructor {
         long lastUnit = 0; // If the first nibble is 7, or second nibble of Unit is 0, the unit is None according USB HID spec 1.11 chapter 6.2.2.7
         boolean inhibitWriteOfUsage = false; // Needed in case of delimited usage print, before the normal collection or cap
         int reportCount = 0;
-        for (int i = 0; i < mainItemNodes.size(); i++) {
-            MainItemNode currItemList = mainItemNodes.get(i);
+        for (MainItemNode currItemList = mainItemList; currItemList != null; currItemList = currItemList.next) {
             int rtIdx = currItemList.mainItemType.ordinal();
             int capsIdx = currItemList.capsIndex;
             if (currItemList.mainItemType == collection) {
@@ -1031,8 +1111,8 @@ public class DescriptorReconstructor {
 
                 if (lastReportId != ppData.u.caps[capsIdx].ReportID) {
                     // Write "Report ID" if changed
-                    rptDesc.writeShortItem(global_report_id, ppData.u.caps[capsIdx].ReportID);
-                    lastReportId = (byte) ppData.u.caps[capsIdx].ReportID;
+                    rptDesc.writeShortItem(global_report_id, ppData.u.caps[capsIdx].ReportID & 0xff);
+                    lastReportId = ppData.u.caps[capsIdx].ReportID;
                 }
 
                 // Write "Usage Page" when changed
@@ -1060,7 +1140,7 @@ public class DescriptorReconstructor {
                     }
                 }
 
-                if ((ppData.u.caps[capsIdx].flags & IsDesignatorRange) == 0) {
+                if ((ppData.u.caps[capsIdx].flags & IsDesignatorRange) != 0) {
                     // Write physical descriptor indices range from "Designator Minimum" to "Designator Maximum"
                     rptDesc.writeShortItem(local_designator_minimum, ppData.u.caps[capsIdx].u1.range.DesignatorMin);
                     rptDesc.writeShortItem(local_designator_maximum, ppData.u.caps[capsIdx].u1.range.DesignatorMax);
@@ -1083,17 +1163,17 @@ public class DescriptorReconstructor {
                     rptDesc.writeShortItem(local_string, ppData.u.caps[capsIdx].u1.notRange.StringIndex);
                 }
 
-                if ((i < mainItemNodes.size() - 1) &&
-                        (mainItemNodes.get(i + 1).mainItemType.ordinal() == rtIdx) &&
-                        (mainItemNodes.get(i + 1).typeOfNode == item_node_cap) &&
-                        ((ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].flags & IsButtonCap) != 0) &&
+                if ((currItemList.next != null) &&
+                        (currItemList.next.mainItemType.ordinal() == rtIdx) &&
+                        (currItemList.next.typeOfNode == item_node_cap) &&
+                        ((ppData.u.caps[currItemList.next.capsIndex].flags & IsButtonCap) != 0) &&
                         ((ppData.u.caps[capsIdx].flags & IsRange) == 0) && // This node in list is no array
-                        ((ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].flags & IsRange) == 0) && // Next node in list is no array
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].UsagePage == ppData.u.caps[capsIdx].UsagePage) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].ReportID == ppData.u.caps[capsIdx].ReportID) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].BitField == ppData.u.caps[capsIdx].BitField)
+                        ((ppData.u.caps[currItemList.next.capsIndex].flags & IsRange) == 0) && // Next node in list is no array
+                        (ppData.u.caps[currItemList.next.capsIndex].UsagePage == ppData.u.caps[capsIdx].UsagePage) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].ReportID == ppData.u.caps[capsIdx].ReportID) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].BitField == ppData.u.caps[capsIdx].BitField)
                 ) {
-                    if (mainItemNodes.get(i + 1).firstBit != currItemList.firstBit) {
+                    if (currItemList.next.firstBit != currItemList.firstBit) {
                         // In case of IsMultipleItemsForArray for multiple dedicated usages for a multi-button array, the report count should be incremented
 
                         // Skip global items until any of them changes, than use ReportCount item to write the count of identical report fields
@@ -1168,8 +1248,8 @@ public class DescriptorReconstructor {
 
                 if (lastReportId != ppData.u.caps[capsIdx].ReportID) {
                     // Write "Report ID" if changed
-                    rptDesc.writeShortItem(global_report_id, ppData.u.caps[capsIdx].ReportID);
-                    lastReportId = (byte) ppData.u.caps[capsIdx].ReportID;
+                    rptDesc.writeShortItem(global_report_id, ppData.u.caps[capsIdx].ReportID & 0xff);
+                    lastReportId = ppData.u.caps[capsIdx].ReportID;
                 }
 
                 // Write "Usage Page" if changed
@@ -1222,22 +1302,23 @@ public class DescriptorReconstructor {
 
 
                 // Print only local report items for each cap, if ReportCount > 1
-                if ((mainItemNodes.get(i + 1).mainItemType.ordinal() == rtIdx) &&
-                        (mainItemNodes.get(i + 1).typeOfNode == item_node_cap) &&
-                        ((ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].flags & IsButtonCap) == 0) &&
+                if ((currItemList.next != null) &&
+                        (currItemList.next.mainItemType.ordinal() == rtIdx) &&
+                        (currItemList.next.typeOfNode == item_node_cap) &&
+                        ((ppData.u.caps[currItemList.next.capsIndex].flags & IsButtonCap) == 0) &&
                         ((ppData.u.caps[capsIdx].flags & IsRange) == 0) && // This node in list is no array
-                        ((ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].flags & IsRange) == 0) && // Next node in list is no array
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].UsagePage == ppData.u.caps[capsIdx].UsagePage) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].u2.notButton.LogicalMin == ppData.u.caps[capsIdx].u2.notButton.LogicalMin) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].u2.notButton.LogicalMax == ppData.u.caps[capsIdx].u2.notButton.LogicalMax) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].u2.notButton.PhysicalMin == ppData.u.caps[capsIdx].u2.notButton.PhysicalMin) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].u2.notButton.PhysicalMax == ppData.u.caps[capsIdx].u2.notButton.PhysicalMax) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].UnitsExp == ppData.u.caps[capsIdx].UnitsExp) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].Units == ppData.u.caps[capsIdx].Units) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].ReportSize == ppData.u.caps[capsIdx].ReportSize) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].ReportID == ppData.u.caps[capsIdx].ReportID) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].BitField == ppData.u.caps[capsIdx].BitField) &&
-                        (ppData.u.caps[mainItemNodes.get(i + 1).capsIndex].ReportCount == 1) &&
+                        ((ppData.u.caps[currItemList.next.capsIndex].flags & IsRange) == 0) && // Next node in list is no array
+                        (ppData.u.caps[currItemList.next.capsIndex].UsagePage == ppData.u.caps[capsIdx].UsagePage) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].u2.notButton.LogicalMin == ppData.u.caps[capsIdx].u2.notButton.LogicalMin) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].u2.notButton.LogicalMax == ppData.u.caps[capsIdx].u2.notButton.LogicalMax) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].u2.notButton.PhysicalMin == ppData.u.caps[capsIdx].u2.notButton.PhysicalMin) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].u2.notButton.PhysicalMax == ppData.u.caps[capsIdx].u2.notButton.PhysicalMax) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].UnitsExp == ppData.u.caps[capsIdx].UnitsExp) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].Units == ppData.u.caps[capsIdx].Units) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].ReportSize == ppData.u.caps[capsIdx].ReportSize) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].ReportID == ppData.u.caps[capsIdx].ReportID) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].BitField == ppData.u.caps[capsIdx].BitField) &&
+                        (ppData.u.caps[currItemList.next.capsIndex].ReportCount == 1) &&
                         (ppData.u.caps[capsIdx].ReportCount == 1)
                 ) {
                     // Skip global items until any of them changes, than use ReportCount item to write the count of identical report fields
@@ -23,6 +23,8 @@
 package org.hid4java.windows;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.Arrays;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -40,6 +42,7 @@ import net.java.games.input.windows.WinAPI.Hid;
 import net.java.games.input.windows.WinAPI.Kernel32Ex;
 import org.hid4java.HidDevice;
 import org.hid4java.HidDeviceEvent;
+import org.hid4java.HidDeviceListenerSupport;
 import org.hid4java.HidSpecification;
 import org.hid4java.NativeHidDevice;
 
@@ -74,7 +77,7 @@ public class WindowsHidDevice implements NativeHidDevice {
     private final HidSpecification specification;
 
     /** for input event */
-    private final ScheduledExecutorService ses = Executors.newSingleThreadScheduledExecutor();
+    private final ScheduledExecutorService ses;
 
     /** for reuse */
     private final byte[] inputBuffer = new byte[64];
@@ -82,6 +85,9 @@ public class WindowsHidDevice implements NativeHidDevice {
     /** for reuse */
     private final HidDeviceEvent hidDeviceEvent = new HidDeviceEvent(this);
 
+    /** input report listeners */
+    private final HidDeviceListenerSupport listeners = new HidDeviceListenerSupport();
+
     WindowsHidDevice(HidSpecification specification) {
         this.deviceHandle = INVALID_HANDLE_VALUE;
         this.blocking = true;
@@ -99,6 +105,7 @@ public class WindowsHidDevice implements NativeHidDevice {
         this.deviceInfo = null;
 
         this.specification = specification;
+        this.ses = Executors.newSingleThreadScheduledExecutor(r -> specification.newThread(r, "hid4java-windows-input"));
     }
 
     @Override
@@ -113,6 +120,11 @@ public class WindowsHidDevice implements NativeHidDevice {
         }, specification.getScanInterval(), TimeUnit.MILLISECONDS);
     }
 
+    @Override
+    public HidDeviceListenerSupport getInputReportListeners() {
+        return listeners;
+    }
+
     @Override
     public void close() {
         ses.shutdownNow();
@@ -181,6 +193,20 @@ public class WindowsHidDevice implements NativeHidDevice {
         return functionResult;
     }
 
+    /** copies through a heap array, ReadFile is overlapped on {@link #readBuf} */
+    @Override
+    public int read(ByteBuffer buffer) throws IOException {
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        byte[] data = new byte[buffer.remaining()];
+        int bytesRead = read(data, data.length);
+        if (bytesRead > 0) {
+            buffer.put(data, 0, bytesRead);
+        }
+        return Math.max(bytesRead, 0);
+    }
+
     int read(byte[] data, int length) throws IOException {
         IntByReference bytesRead = new IntByReference();
         int copyLen = 0;
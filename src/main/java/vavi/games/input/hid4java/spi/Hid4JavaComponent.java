@@ -7,6 +7,7 @@
 package vavi.games.input.hid4java.spi;
 
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 import net.java.games.input.AbstractComponent;
 import net.java.games.input.WrappedComponent;
@@ -29,7 +30,13 @@ public class Hid4JavaComponent extends AbstractComponent implements HidComponent
     private final Field field;
 
     /** special data picker (e.g. for touch x, y) */
-    private Function<byte[], Integer> function;
+    final ToIntFunction<byte[]> picker;
+
+    /** bits excluding the report id, -1 when the layout is known by {@link #field} only */
+    final int offset;
+
+    /** bit length, -1 when the layout is known by {@link #field} only */
+    final int size;
 
     /**
      * Protected constructor
@@ -40,6 +47,9 @@ public class Hid4JavaComponent extends AbstractComponent implements HidComponent
     protected Hid4JavaComponent(String name, Identifier id, Field field) {
         super(name, id);
         this.field = field;
+        this.picker = null;
+        this.offset = -1;
+        this.size = -1;
     }
 
     /**
@@ -47,17 +57,34 @@ public class Hid4JavaComponent extends AbstractComponent implements HidComponent
      * @param size bit length
      */
     public Hid4JavaComponent(String name, Identifier id, int offset, int size) {
-        this(name, id, offset, size, null);
+        this(name, id, offset, size, (ToIntFunction<byte[]>) null);
     }
 
     /**
      * @param offset bits (must be excluded first one byte (8 bits) for report id)
      * @param size bit length
+     * @param picker picks the value from a whole input report instead of offset and size, nullable
      */
-    public Hid4JavaComponent(String name, Identifier id, int offset, int size, Function<byte[], Integer> function) {
+    public Hid4JavaComponent(String name, Identifier id, int offset, int size, ToIntFunction<byte[]> picker) {
         super(name, id);
         this.field = new Field(offset, size);
-        this.function = function;
+        this.picker = picker;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Kept for plugins compiled against it, a lambda given to the constructors must be typed explicitly
+     * (e.g. {@code (byte[] d) -> d[1]}) to choose.
+     *
+     * @param offset bits (must be excluded first one byte (8 bits) for report id)
+     * @param size bit length
+     * @param picker picks the value from a whole input report instead of offset and size, nullable
+     * @deprecated use {@link #Hid4JavaComponent(String, Identifier, int, int, ToIntFunction)}, boxes each value
+     */
+    @Deprecated
+    public Hid4JavaComponent(String name, Identifier id, int offset, int size, Function<byte[], Integer> picker) {
+        this(name, id, offset, size, picker != null ? (ToIntFunction<byte[]>) picker::apply : null);
     }
 
     @Override
@@ -76,14 +103,18 @@ public class Hid4JavaComponent extends AbstractComponent implements HidComponent
     }
 
     /** by hid input report */
-    private int getValue(byte[] data) {
-        int value = field.getValue(data);
-        return function != null ? function.apply(data) : value;
+    int getValue(byte[] data) {
+        return picker != null ? picker.applyAsInt(data) : field.getValue(data);
     }
 
     @Override
     public void setValue(byte[] data) {
-        setEventValue(field.getValue(data));
+        setEventValue(getValue(data));
+    }
+
+    /** by a value decoded by {@link Hid4JavaComponentTable} */
+    void setValue(int value) {
+        setEventValue(value);
     }
 
     @Override
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.games.input.hid4java.spi;
+
+import java.util.function.ToIntFunction;
+
+
+/**
+ * Hid4JavaComponentTable. components compiled into primitive extractors,
+ * an input report is decoded in one pass without boxing.
+ * <p>
+ * a component with offset and size is decoded by the precomputed byte index, shift and mask,
+ * a component with a picker by the picker, a component parsed from a report descriptor by its field.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+public final class Hid4JavaComponentTable {
+
+    /** the source */
+    final Hid4JavaComponent[] components;
+
+    /** the first byte of a field includes the report id at 0, -1 when {@link #pickers} is used */
+    private final int[] byteIndices;
+
+    /** the number of bytes a field spans */
+    private final int[] byteCounts;
+
+    /** bits to the first bit of a field in the first byte */
+    private final int[] shifts;
+
+    /** masks of fields after shift */
+    private final int[] masks;
+
+    /** for components not made of offset and size */
+    private final ToIntFunction<byte[]>[] pickers;
+
+    /** the last decoded values */
+    final int[] values;
+
+    /** */
+    @SuppressWarnings("unchecked")
+    private Hid4JavaComponentTable(Hid4JavaComponent[] components) {
+        int n = components.length;
+        this.components = components.clone();
+        this.byteIndices = new int[n];
+        this.byteCounts = new int[n];
+        this.shifts = new int[n];
+        this.masks = new int[n];
+        this.pickers = new ToIntFunction[n];
+        this.values = new int[n];
+    }
+
+    /**
+     * @param components the components of a controller
+     * @return the compiled table
+     */
+    public static Hid4JavaComponentTable compile(Hid4JavaComponent[] components) {
+        Hid4JavaComponentTable table = new Hid4JavaComponentTable(components);
+        for (int i = 0; i < components.length; i++) {
+            Hid4JavaComponent component = components[i];
+            if (component.picker != null) {
+                table.byteIndices[i] = -1;
+                table.pickers[i] = component.picker;
+            } else if (component.offset >= 0 && component.size > 0 && component.size <= 32) {
+                table.setBits(i, component.offset, component.size);
+            } else {
+                table.byteIndices[i] = -1;
+                table.pickers[i] = component.getWrappedObject()::getValue;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @param offset bits excluding the report id
+     * @param size bit length up to 32, unsigned as same as {@link net.java.games.input.usb.parser.Field}
+     */
+    private void setBits(int i, int offset, int size) {
+        int bit = offset + 8; // skip the report id
+        byteIndices[i] = bit >> 3;
+        shifts[i] = bit & 7;
+        byteCounts[i] = (shifts[i] + size + 7) >> 3;
+        masks[i] = size == 32 ? -1 : (1 << size) - 1;
+    }
+
+    /** */
+    public int size() {
+        return components.length;
+    }
+
+    /** */
+    public Hid4JavaComponent getComponent(int i) {
+        return components[i];
+    }
+
+    /**
+     * @param i the index of the component
+     * @param data an input report including the report id
+     * @return the value of the component, bytes beyond the report are 0
+     */
+    public int decode(int i, byte[] data) {
+        int index = byteIndices[i];
+        if (index < 0) {
+            return pickers[i].applyAsInt(data);
+        }
+        int count = Math.min(byteCounts[i], data.length - index);
+        long bits = 0;
+        for (int b = 0; b < count; b++) {
+            bits |= (data[index + b] & 0xffL) << (b << 3);
+        }
+        return (int) (bits >>> shifts[i]) & masks[i];
+    }
+}
@@ -61,12 +61,14 @@ Debug.println("device: " + device + ", " + device.isOpen());
         super.open();
 
         Hid4JavaComponent[] hid4JavaComponents = Arrays.stream(getComponents()).map(Hid4JavaComponent.class::cast).toArray(Hid4JavaComponent[]::new);
+        // compiled once, each report is decoded in one pass
+        Hid4JavaComponentTable table = Hid4JavaComponentTable.compile(hid4JavaComponents);
         Hid4JavaInputEvent hid4JavaInputEvent = new Hid4JavaInputEvent(this);
 
         device.open();
         device.addInputReportListener(event -> {
             byte[] data = event.getReport();
-            fireOnInput(hid4JavaInputEvent.set(hid4JavaComponents, data));
+            fireOnInput(hid4JavaInputEvent.set(table, data));
         });
     }
 
@@ -88,9 +90,7 @@ Debug.println("device: " + device + ", " + device.isOpen());
         int reportId = ((HidReport) report).getReportId();
         byte[] data = ((HidReport) report).getData();
 Debug.println(Level.FINER, "reportId: " + reportId + "\n" + StringUtil.getDump(data));
-        int r = device.write(data, data.length, reportId);
-        if (r == -1) {
-            throw new IOException("write returns -1");
-        }
+        // coalesced per report ID when the device has an output flush interval
+        device.enqueue(reportId, data);
     }
 }
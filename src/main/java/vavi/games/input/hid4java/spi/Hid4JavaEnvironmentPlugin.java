@@ -23,12 +23,14 @@ import net.java.games.input.usb.GenericDesktopUsageId;
 import net.java.games.input.usb.HidControllerEnvironment;
 import net.java.games.input.usb.UsageId;
 import net.java.games.input.usb.UsagePage;
+import net.java.games.input.usb.parser.Field;
 import net.java.games.input.usb.parser.HidParser;
 import org.hid4java.HidDevice;
 import org.hid4java.HidDevices;
 import org.hid4java.HidDevicesEvent;
 import org.hid4java.HidDevicesListener;
 import org.hid4java.HidSpecification;
+import org.hid4java.ReportDescriptorCache;
 import vavi.util.Debug;
 
 
@@ -101,6 +103,16 @@ Debug.println(Level.FINE, "devices: " + hidDevices.getHidDevices().size());
         });
     }
 
+    /** parsed fields of a report descriptor, a key for {@link ReportDescriptorCache.Entry#getParsed} */
+    private static final class Fields {
+
+        final List<Field> fields;
+
+        Fields(List<Field> fields) {
+            this.fields = fields;
+        }
+    }
+
     /** */
     private Hid4JavaController attach(HidDevice hidDevice) throws IOException {
 Debug.printf(Level.FINER, "usagePage %4x, usage: %s(0x%02x), mid: %4$d(0x%4$x), pid: %5$d(0x%5$x)%n", hidDevice.getUsagePage() & 0xffff, GenericDesktopUsageId.map(hidDevice.getUsage()), hidDevice.getUsage(), hidDevice.getVendorId(), hidDevice.getProductId());
@@ -115,9 +127,12 @@ Debug.printf(Level.FINER, "usagePage %4x, usage: %s(0x%02x), mid: %4$d(0x%4$x),
             byte[] desk = new byte[4096];
             int r = hidDevice.getReportDescriptor(desk);
 //UsbUtil.dump_report_desc(desk, r);
-            HidParser parser = new HidParser();
-Debug.println(Level.FINER, "getFields: " + parser.parse(desk, r).enumerateFields().size());
-            parser.parse(desk, r).enumerateFields().forEach(f -> {
+            // parsed once per kind of device
+            ReportDescriptorCache.Entry entry = ReportDescriptorCache.getInstance().get(
+                    hidDevice.getVendorId(), hidDevice.getProductId(), hidDevice.getReleaseNumber(), desk, r);
+            List<Field> fields = entry.getParsed(Fields.class, d -> new Fields(new HidParser().parse(d, d.length).enumerateFields())).fields;
+Debug.println(Level.FINER, "getFields: " + fields.size() + ", cache hits: " + ReportDescriptorCache.getInstance().getHits());
+            fields.forEach(f -> {
 Debug.println(Level.FINER, "UsagePage: " + UsagePage.map(f.getUsagePage()) + ", " + f.getUsageId());
                 if (UsagePage.map(f.getUsagePage()) != null) {
                     switch (UsagePage.map(f.getUsagePage())) {
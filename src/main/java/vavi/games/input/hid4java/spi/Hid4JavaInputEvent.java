@@ -6,10 +6,6 @@
 
 package vavi.games.input.hid4java.spi;
 
-import java.util.Arrays;
-import java.util.Deque;
-import java.util.LinkedList;
-
 import net.java.games.input.Component;
 import net.java.games.input.Event;
 import net.java.games.input.InputEvent;
@@ -18,10 +14,10 @@ import net.java.games.input.usb.HidInputEvent;
 
 
 /**
- * Hid4JavaInputEvent. Assuming reuse.
+ * Hid4JavaInputEvent. Assuming reuse, {@link #set} allocates nothing after the first time.
  * <p>
  * <h4>system property</h4>
- * <li>"net.java.games.input.InputEvent.fillAll" ... determine to fill all events (true) or events which value is changed (false)</li>
+ * <li>"net.java.games.input.InputEvent.fillAll" ... determine to fill all events (true) or events which value is changed (false), read at class loading</li>
  * </p>
  *
  * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
@@ -29,8 +25,20 @@ import net.java.games.input.usb.HidInputEvent;
  */
 public class Hid4JavaInputEvent extends InputEvent implements HidInputEvent {
 
-    /** which value is changed only */
-    private final Deque<Hid4JavaComponent> deque = new LinkedList<>();
+    /** fill all events (true) or events which value is changed (false), resolved once */
+    private static final boolean fillAll = Boolean.getBoolean("net.java.games.input.InputEvent.fillAll");
+
+    /** the components of the last {@link #set} */
+    private Hid4JavaComponent[] components;
+
+    /** indices of {@link #components} which value is changed only, reused */
+    private int[] changed = new int[0];
+
+    /** the number of {@link #changed} */
+    private int count;
+
+    /** the next position of {@link #changed} to be polled */
+    private int cursor;
 
     /** the time when got an event */
     private long time;
@@ -48,18 +56,48 @@ public class Hid4JavaInputEvent extends InputEvent implements HidInputEvent {
         super(source);
     }
 
-    /** */
-    public Hid4JavaInputEvent set(Hid4JavaComponent[] components, byte[] data) {
+    /** prepares the change queue for the components */
+    private void reset(Hid4JavaComponent[] components, byte[] data) {
         this.data = data;
         this.time = System.nanoTime();
+        this.components = components;
+        if (changed.length < components.length) {
+            changed = new int[components.length];
+        }
+        count = 0;
+        cursor = 0;
+    }
 
-        boolean fillAll = Boolean.parseBoolean(System.getProperty("net.java.games.input.InputEvent.fillAll", "false"));
+    /** */
+    public Hid4JavaInputEvent set(Hid4JavaComponent[] components, byte[] data) {
+        reset(components, data);
 
-        deque.clear();
-        for (Hid4JavaComponent component : components) {
+        for (int i = 0; i < components.length; i++) {
+            Hid4JavaComponent component = components[i];
             if (fillAll || component.isValueChanged(data)) {
                 component.setValue(data);
-                deque.offer(component);
+                changed[count++] = i;
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Decodes each component once by the compiled table.
+     *
+     * @param table compiled components by {@link Hid4JavaComponentTable#compile(Hid4JavaComponent[])}
+     */
+    public Hid4JavaInputEvent set(Hid4JavaComponentTable table, byte[] data) {
+        reset(table.components, data);
+
+        int[] values = table.values;
+        for (int i = 0; i < values.length; i++) {
+            int value = table.decode(i, data);
+            if (fillAll || value != values[i]) {
+                values[i] = value;
+                components[i].setValue(value);
+                changed[count++] = i;
             }
         }
 
@@ -68,12 +106,40 @@ public class Hid4JavaInputEvent extends InputEvent implements HidInputEvent {
 
     @Override
     public boolean getNextEvent(Event event) {
-        if (!deque.isEmpty()) {
-            Hid4JavaComponent component = deque.poll();
+        if (cursor < count) {
+            Hid4JavaComponent component = components[changed[cursor++]];
             event.set(component, component.getValue(), time);
             return true;
         } else {
             return false;
         }
     }
+
+    /** @return the number of changed components not polled yet */
+    public int getRemaining() {
+        return count - cursor;
+    }
+
+    /**
+     * Copies all changed components not polled yet at once, those are polled.
+     *
+     * @param indices the indices of the components given to {@link #set}, at least {@link #getRemaining()} long
+     * @param values the values of the components, at least {@link #getRemaining()} long
+     * @return the number of pairs copied
+     */
+    public int drainTo(int[] indices, float[] values) {
+        int n = Math.min(count - cursor, Math.min(indices.length, values.length));
+        for (int i = 0; i < n; i++) {
+            int index = changed[cursor + i];
+            indices[i] = index;
+            values[i] = components[index].getValue();
+        }
+        cursor += n;
+        return n;
+    }
+
+    /** @return the time in nano seconds when the last report is got */
+    public long getTime() {
+        return time;
+    }
 }
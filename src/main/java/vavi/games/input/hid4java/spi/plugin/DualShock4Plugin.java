@@ -55,11 +55,11 @@ Debug.printf(Level.FINER, "%04x, %s, %04x, %s", device.getVendorId(), device.get
                 new Hid4JavaComponent("EXT/HeadSet/Earset: bitmask", Component.Identifier.Value, 29 * 8, 1 * 8),
                 new Hid4JavaComponent("T-PAD event active", Component.Identifier.Value, 32 * 8 + 4, 4),
                 new Hid4JavaComponent("T-PAD: tracking numbers No.1", Component.Identifier.Value, 34 * 8, 8),
-                new Hid4JavaComponent("T-PAD: finger No.1 X", Component.Identifier.Value, 35 * 8, 12, d -> (d[36] & 0xff) | ((d[37] & 0x0f) << 8)),
-                new Hid4JavaComponent("T-PAD: finger No.1 Y", Component.Identifier.Value, 35 * 8 + 12, 12, d -> ((d[38] & 0xff) << 4) | (d[37] & 0xf)),
+                new Hid4JavaComponent("T-PAD: finger No.1 X", Component.Identifier.Value, 35 * 8, 12, (byte[] d) -> (d[36] & 0xff) | ((d[37] & 0x0f) << 8)),
+                new Hid4JavaComponent("T-PAD: finger No.1 Y", Component.Identifier.Value, 35 * 8 + 12, 12, (byte[] d) -> ((d[38] & 0xff) << 4) | (d[37] & 0xf)),
                 new Hid4JavaComponent("T-PAD: tracking numbers No.2", Component.Identifier.Value, 38 * 8, 8),
-                new Hid4JavaComponent("T-PAD: finger No.2 X", Component.Identifier.Value, 39 * 8, 12, d -> (d[40] & 0xff) | ((d[41] & 0x0f) << 8)),
-                new Hid4JavaComponent("T-PAD: finger No.2 Y", Component.Identifier.Value, 39 * 8 + 12, 12, d -> ((d[42] & 0xff) << 4) | (d[41] & 0xf))
+                new Hid4JavaComponent("T-PAD: finger No.2 X", Component.Identifier.Value, 39 * 8, 12, (byte[] d) -> (d[40] & 0xff) | ((d[41] & 0x0f) << 8)),
+                new Hid4JavaComponent("T-PAD: finger No.2 Y", Component.Identifier.Value, 39 * 8 + 12, 12, (byte[] d) -> ((d[42] & 0xff) << 4) | (d[41] & 0xf))
         );
     }
 
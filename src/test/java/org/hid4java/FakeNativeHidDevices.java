@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+
+/**
+ * FakeNativeHidDevices. enumerates synthetic devices, no native device is created.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class FakeNativeHidDevices implements NativeHidDevices {
+
+    /** the devices to be enumerated, replace it to simulate attach/detach */
+    volatile List<HidDevice.Info> infos = new ArrayList<>();
+
+    /** set by {@link #startHotplug(HotplugListener)}, call it to simulate native notifications */
+    volatile HotplugListener hotplugListener;
+
+    /** notifications run by {@link #hotplugThread} */
+    private final BlockingQueue<Consumer<HotplugListener>> notifications = new LinkedBlockingQueue<>();
+
+    /** runs {@link #notifications} like a native monitor thread, joined by {@link #stopHotplug()} */
+    volatile Thread hotplugThread;
+
+    /** when not null, {@link #enumerate(int, int)} counts down {@link #enumerating} and waits for this */
+    volatile CountDownLatch enumerated;
+    final CountDownLatch enumerating = new CountDownLatch(1);
+
+    /**
+     * @param n number of devices
+     * @return synthetic device information
+     */
+    static List<HidDevice.Info> infos(int n) {
+        List<HidDevice.Info> infos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            infos.add(info(i));
+        }
+        return infos;
+    }
+
+    /** */
+    static HidDevice.Info info(int i) {
+        HidDevice.Info info = new HidDevice.Info();
+        info.path = "/dev/hidraw" + i;
+        info.vendorId = 0x54c;
+        info.productId = 0x9cc;
+        info.serialNumber = String.format("%012x", i);
+        info.usagePage = 1;
+        info.usage = 5;
+        info.interfaceNumber = -1;
+        return info;
+    }
+
+    @Override
+    public void open(HidSpecification specification) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public NativeHidDevice create(int vendorId, int productId, String serialNumber) throws IOException {
+        throw new IOException("fake");
+    }
+
+    @Override
+    public List<HidDevice.Info> enumerate(int vendorId, int productId) {
+        List<HidDevice.Info> infos = this.infos;
+        CountDownLatch enumerated = this.enumerated;
+        if (enumerated != null) {
+            enumerating.countDown();
+            try {
+                enumerated.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return infos;
+    }
+
+    /** runs the notification on {@link #hotplugThread} */
+    void post(Consumer<HotplugListener> notification) {
+        notifications.add(notification);
+    }
+
+    /** synchronized like a native manager sharing resources of devices */
+    @Override
+    public synchronized NativeHidDevice create(HidDevice.Info info) throws IOException {
+        throw new IOException("fake");
+    }
+
+    @Override
+    public boolean isSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isHotplugSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void startHotplug(HotplugListener listener) {
+        this.hotplugListener = listener;
+        Thread thread = new Thread(() -> {
+            while (hotplugThread == Thread.currentThread()) {
+                try {
+                    Consumer<HotplugListener> notification = notifications.poll(10, TimeUnit.MILLISECONDS);
+                    if (notification != null) {
+                        notification.accept(listener);
+                    }
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }, "fake-hotplug");
+        thread.setDaemon(true);
+        hotplugThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stopHotplug() {
+        Thread thread;
+        synchronized (this) {
+            this.hotplugListener = null;
+            thread = hotplugThread;
+            hotplugThread = null;
+        }
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * FieldSubscriptionsTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class FieldSubscriptionsTest {
+
+    /** "name: hex bytes" or "hex bytes" per line */
+    static Map<String, byte[]> load(String name) throws IOException {
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(FieldSubscriptionsTest.class.getResourceAsStream(name)))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] hexes = line.substring(line.indexOf(':') + 1).trim().split("\\s+");
+                byte[] bytes = new byte[hexes.length];
+                for (int i = 0; i < hexes.length; i++) {
+                    bytes[i] = (byte) Integer.parseInt(hexes[i], 16);
+                }
+                result.put(line.indexOf(':') > 0 ? line.substring(0, line.indexOf(':')) : String.valueOf(result.size()), bytes);
+            }
+        }
+        return result;
+    }
+
+    static ReportLayout gamepad() throws IOException {
+        byte[] descriptor = load("/report_descriptors.txt").get("gamepad");
+        return ReportLayout.parse(descriptor, descriptor.length);
+    }
+
+    @Test
+    @DisplayName("fields of a report descriptor")
+    void testLayout() throws Exception {
+        ReportLayout layout = gamepad();
+        assertTrue(layout.hasReportIds());
+        assertEquals(64, layout.getInputReportSize(1));
+
+        ReportLayout.Field x = layout.find(0x01, 0x30);
+        assertEquals(8, x.getBitOffset());
+        assertEquals(8, x.getBitSize());
+        ReportLayout.Field hat = layout.find(0x01, 0x39);
+        assertEquals(40, hat.getBitOffset());
+        assertEquals(4, hat.getBitSize());
+        ReportLayout.Field button14 = layout.find(0x09, 14);
+        assertEquals(57, button14.getBitOffset());
+        assertEquals(1, button14.getBitSize());
+        assertEquals(64, layout.find(0x01, 0x33).getBitOffset());
+
+        byte[] report = load("/ds4_reports.txt").get("0");
+        assertEquals(0x7f, x.getValue(report));
+        assertEquals(8, hat.getValue(report));
+
+        byte[] mouse = load("/report_descriptors.txt").get("boot mouse");
+        layout = ReportLayout.parse(mouse, mouse.length);
+        assertEquals(3, layout.getInputReportSize(0));
+        ReportLayout.Field dx = layout.find(0x01, 0x30);
+        assertEquals(8, dx.getBitOffset());
+        assertEquals(-1, dx.getValue(new byte[] {0, (byte) 0xff, 0}));
+    }
+
+    @Test
+    @DisplayName("listeners of changed fields only")
+    void testSubscriptions() throws Exception {
+        ReportLayout layout = gamepad();
+        FieldSubscriptions subscriptions = new FieldSubscriptions(layout);
+        List<Integer> changed = new ArrayList<>();
+        for (ReportLayout.Field field : layout.getInputFields()) {
+            subscriptions.subscribe(field, (f, value, event) -> {
+                assertEquals(f.getValue(event.getReport()), value);
+                changed.add(f.getIndex());
+            });
+        }
+
+        HidDeviceEvent event = new HidDeviceEvent(this);
+        List<byte[]> reports = new ArrayList<>(load("/ds4_reports.txt").values());
+        subscriptions.onInputReport(event.set(1, reports.get(0), 64));
+        assertEquals(layout.getInputFields().size(), changed.size());
+
+        int total = 0;
+        for (int i = 1; i < reports.size(); i++) {
+            byte[] previous = reports.get(i - 1);
+            byte[] report = reports.get(i);
+            List<Integer> expected = new ArrayList<>();
+            for (ReportLayout.Field field : layout.getInputFields()) {
+                if (field.getValue(previous) != field.getValue(report)) {
+                    expected.add(field.getIndex());
+                }
+            }
+            changed.clear();
+            subscriptions.onInputReport(event.set(1, report, 64));
+            assertEquals(expected, changed, "report " + i);
+            total += changed.size();
+        }
+Debug.println("reports: " + reports.size() + ", fields: " + layout.getInputFields().size() + ", changed: " + total);
+
+        changed.clear();
+        subscriptions.onInputReport(event.set(1, reports.get(reports.size() - 1), 64));
+        assertTrue(changed.isEmpty());
+        assertEquals(1, subscriptions.getIdenticalReports());
+
+        // a field not subscribed costs its listeners nothing
+        ReportLayout.Field x = layout.find(0x01, 0x30);
+        List<Integer> xs = new ArrayList<>();
+        FieldChangeListener listener = (f, value, e) -> xs.add(value);
+        FieldSubscriptions only = new FieldSubscriptions(layout);
+        only.subscribe(x, listener);
+        for (byte[] report : reports) {
+            only.onInputReport(event.set(1, report, 64));
+        }
+        assertTrue(xs.size() <= reports.size());
+        only.unsubscribe(x, listener);
+        xs.clear();
+        only.onInputReport(event.set(1, reports.get(0), 64));
+        assertTrue(xs.isEmpty());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * HidDeviceListenerSupportTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class HidDeviceListenerSupportTest {
+
+    @Test
+    @DisplayName("listeners by report id")
+    void testDispatchTable() {
+        HidDeviceListenerSupport listeners = new HidDeviceListenerSupport();
+        List<String> received = new ArrayList<>();
+        HidDeviceListener all = e -> received.add("all:" + e.getReportId());
+        HidDeviceListener one = e -> received.add("1:" + e.getReportId());
+        HidDeviceListener two = e -> received.add("255:" + e.getReportId());
+        listeners.add(all);
+        listeners.add(1, one);
+        listeners.add(1, one);
+        listeners.add(255, two);
+
+        HidDeviceEvent event = new HidDeviceEvent(this);
+        byte[] report = new byte[8];
+        for (int id : new int[] {1, 2, 255}) {
+            report[0] = (byte) id;
+            listeners.fireOnInputReport(event.set(id, report, report.length));
+        }
+        assertEquals(List.of("all:1", "1:1", "all:2", "all:255", "255:255"), received);
+
+        received.clear();
+        listeners.remove(all);
+        listeners.remove(1, one);
+        assertFalse(listeners.isEmpty());
+        listeners.fireOnInputReport(event.set(1, report, report.length));
+        assertTrue(received.isEmpty());
+
+        listeners.remove(255, two);
+        assertTrue(listeners.isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> listeners.add(256, one));
+    }
+}
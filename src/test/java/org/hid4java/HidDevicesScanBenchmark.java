@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * HidDevicesScanBenchmark. {@link HidDevices#scan()} cost against a fake native device provider.
+ * <p>
+ * "steady" enumerates the same devices on every scan, "churn" replaces one device on every scan.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HidDevicesScanBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int devices;
+
+    FakeNativeHidDevices nativeDevices;
+    HidDevices hidDevices;
+
+    /** enumeration results, "churn" alternates them */
+    List<HidDevice.Info> even;
+    List<HidDevice.Info> odd;
+    int count;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        HidSpecification specification = new HidSpecification();
+        specification.setAutoStart(false);
+        specification.setAutoShutdown(false);
+        specification.setScanMode(HidSpecification.ScanMode.NO_SCAN);
+
+        nativeDevices = new FakeNativeHidDevices();
+        hidDevices = new HidDevices(specification, nativeDevices);
+
+        even = FakeNativeHidDevices.infos(devices);
+        odd = FakeNativeHidDevices.infos(devices);
+        odd.set(0, FakeNativeHidDevices.info(devices));
+
+        nativeDevices.infos = even;
+        hidDevices.scan();
+    }
+
+    @Benchmark
+    public void steady() throws Exception {
+        hidDevices.scan();
+    }
+
+    @Benchmark
+    public void churn() throws Exception {
+        nativeDevices.infos = (count++ & 1) == 0 ? odd : even;
+        hidDevices.scan();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * HidDevicesTest. scans a fake native device provider.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class HidDevicesTest {
+
+    FakeNativeHidDevices nativeDevices;
+    HidDevices devices;
+    List<String> events;
+
+    @BeforeEach
+    void setup() throws Exception {
+        HidSpecification specification = new HidSpecification();
+        specification.setAutoStart(false);
+        specification.setAutoShutdown(false);
+        specification.setScanMode(HidSpecification.ScanMode.NO_SCAN);
+
+        nativeDevices = new FakeNativeHidDevices();
+        devices = new HidDevices(specification, nativeDevices);
+
+        events = Collections.synchronizedList(new ArrayList<>());
+        devices.addHidServicesListener(new HidDevicesListener() {
+            @Override
+            public void hidDeviceAttached(HidDevicesEvent event) {
+                events.add("+" + event.getHidDevice().getPath());
+            }
+
+            @Override
+            public void hidDeviceDetached(HidDevicesEvent event) {
+                events.add("-" + event.getHidDevice().getPath());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("scan reconciles attach/detach")
+    void testScan() throws Exception {
+        nativeDevices.infos = FakeNativeHidDevices.infos(3);
+        devices.scan();
+        assertEquals(List.of("+/dev/hidraw0", "+/dev/hidraw1", "+/dev/hidraw2"), events);
+
+        // nothing changed
+        events.clear();
+        devices.scan();
+        assertEquals(List.of(), events);
+
+        // detached
+        List<HidDevice.Info> infos = FakeNativeHidDevices.infos(3);
+        infos.remove(1);
+        nativeDevices.infos = infos;
+        devices.scan();
+        assertEquals(List.of("-/dev/hidraw1"), events);
+
+        // another device at the same path
+        events.clear();
+        infos = FakeNativeHidDevices.infos(3);
+        infos.remove(1);
+        infos.get(1).productId = 0x5c4;
+        nativeDevices.infos = infos;
+        devices.scan();
+        assertEquals(List.of("-/dev/hidraw2", "+/dev/hidraw2"), events);
+    }
+
+    @Test
+    @DisplayName("a device hot-plugged during a scan is not detached by the scan")
+    void testHotplugDuringScan() throws Exception {
+        HidSpecification specification = new HidSpecification();
+        specification.setAutoStart(false);
+        specification.setAutoShutdown(false);
+        specification.setScanMode(HidSpecification.ScanMode.EVENT_DRIVEN);
+        devices = new HidDevices(specification, nativeDevices);
+        devices.addHidServicesListener(new HidDevicesListener() {
+            @Override
+            public void hidDeviceAttached(HidDevicesEvent event) {
+                events.add("+" + event.getHidDevice().getPath());
+            }
+
+            @Override
+            public void hidDeviceDetached(HidDevicesEvent event) {
+                events.add("-" + event.getHidDevice().getPath());
+            }
+        });
+        nativeDevices.infos = FakeNativeHidDevices.infos(1);
+        devices.start();
+        assertEquals(List.of("+/dev/hidraw0"), events);
+
+        // a scan enumerated before the device arrives
+        events.clear();
+        nativeDevices.enumerated = new CountDownLatch(1);
+        Thread scanner = new Thread(() -> {
+            try {
+                devices.scan();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        scanner.start();
+        assertTrue(nativeDevices.enumerating.await(1, TimeUnit.SECONDS));
+
+        Thread hotplug = new Thread(() -> nativeDevices.hotplugListener.attached(List.of(FakeNativeHidDevices.info(1))));
+        hotplug.start();
+        Thread.sleep(50);
+        nativeDevices.enumerated.countDown();
+        scanner.join(1000);
+        hotplug.join(1000);
+
+        assertEquals(List.of("+/dev/hidraw1"), events);
+        assertEquals(2, devices.getAttachedDeviceCount());
+
+        // the next scan finds it
+        nativeDevices.enumerated = null;
+        nativeDevices.infos = FakeNativeHidDevices.infos(2);
+        events.clear();
+        devices.scan();
+        assertEquals(List.of(), events);
+        devices.stop();
+    }
+
+    @Test
+    @DisplayName("stop while a hot-plugged device is being notified")
+    void testStopDuringHotplug() throws Exception {
+        HidSpecification specification = new HidSpecification();
+        specification.setAutoStart(false);
+        specification.setAutoShutdown(false);
+        specification.setScanMode(HidSpecification.ScanMode.EVENT_DRIVEN);
+        devices = new HidDevices(specification, nativeDevices);
+        CountDownLatch attached = new CountDownLatch(1);
+        devices.addHidServicesListener(new HidDevicesListener() {
+            @Override
+            public void hidDeviceAttached(HidDevicesEvent event) {
+                if (!event.getHidDevice().getPath().equals("/dev/hidraw1")) {
+                    return;
+                }
+                try {
+                    // takes the locks of both the devices and the native manager
+                    devices.scan();
+                    event.getHidDevice().open();
+                } catch (Exception e) {
+                    events.add(e.getMessage());
+                }
+                attached.countDown();
+            }
+
+            @Override
+            public void hidDeviceDetached(HidDevicesEvent event) {
+            }
+        });
+        nativeDevices.infos = FakeNativeHidDevices.infos(1);
+        devices.start();
+        Thread hotplug = nativeDevices.hotplugThread;
+
+        // a device arrives, the notification is blocked until the stopper joins the hotplug thread
+        nativeDevices.infos = FakeNativeHidDevices.infos(2);
+        CountDownLatch notifying = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        nativeDevices.post(listener -> {
+            notifying.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listener.attached(List.of(FakeNativeHidDevices.info(1)));
+        });
+        assertTrue(notifying.await(1, TimeUnit.SECONDS));
+        Thread stopper = new Thread(() -> {
+            try {
+                devices.stop();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        stopper.setDaemon(true);
+        stopper.start();
+        Thread.sleep(50);
+        proceed.countDown();
+
+        stopper.join(2000);
+        hotplug.join(2000);
+        assertFalse(stopper.isAlive());
+        assertFalse(hotplug.isAlive());
+        assertTrue(attached.await(0, TimeUnit.SECONDS));
+        assertFalse(devices.isScanning());
+    }
+}
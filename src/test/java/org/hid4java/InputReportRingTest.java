@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.hid4java.HidSpecification.OverflowPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * InputReportRingTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class InputReportRingTest {
+
+    /** a listener stalled at the first report until released */
+    static class SlowListener implements HidDeviceListener {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> received = new ArrayList<>();
+
+        @Override
+        public void onInputReport(HidDeviceEvent event) {
+            synchronized (received) {
+                received.add(event.getReportId() + ":" + event.getReport()[1]);
+            }
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<String> await(int n) throws InterruptedException {
+            long limit = System.currentTimeMillis() + 1000;
+            while (System.currentTimeMillis() < limit) {
+                synchronized (received) {
+                    if (received.size() >= n) {
+                        return new ArrayList<>(received);
+                    }
+                }
+                Thread.sleep(1);
+            }
+            synchronized (received) {
+                return new ArrayList<>(received);
+            }
+        }
+    }
+
+    /** offers the first report then 10 reports while the listener is stalled */
+    static InputReportRing overflow(OverflowPolicy policy, SlowListener listener) throws Exception {
+        HidDeviceListenerSupport listeners = new HidDeviceListenerSupport();
+        listeners.add(listener);
+        InputReportRing ring = new InputReportRing(new Object(), 4, policy, listeners::fireOnInputReport, new HidSpecification(), "test");
+        ring.offer(1, new byte[] {1, 0}, 2, System.nanoTime(), 0);
+        assertTrue(listener.entered.await(1, TimeUnit.SECONDS));
+        for (int i = 1; i <= 10; i++) {
+            int reportId = policy == OverflowPolicy.CONFLATE ? 1 + (i & 1) : 1;
+            ring.offer(reportId, new byte[] {(byte) reportId, (byte) i}, 2, System.nanoTime(), i);
+        }
+        return ring;
+    }
+
+    @Test
+    @DisplayName("drop newest")
+    void testDropNewest() throws Exception {
+        SlowListener listener = new SlowListener();
+        InputReportRing ring = overflow(OverflowPolicy.DROP_NEWEST, listener);
+        assertEquals(4, ring.size());
+        assertEquals(6, ring.getDropped());
+        listener.release.countDown();
+        assertEquals(List.of("1:0", "1:1", "1:2", "1:3", "1:4"), listener.await(5));
+        ring.close();
+    }
+
+    @Test
+    @DisplayName("drop oldest")
+    void testDropOldest() throws Exception {
+        SlowListener listener = new SlowListener();
+        InputReportRing ring = overflow(OverflowPolicy.DROP_OLDEST, listener);
+        assertEquals(4, ring.size());
+        assertEquals(6, ring.getDropped());
+        listener.release.countDown();
+        assertEquals(List.of("1:0", "1:7", "1:8", "1:9", "1:10"), listener.await(5));
+        ring.close();
+    }
+
+    @Test
+    @DisplayName("conflate keeps the latest report per report id")
+    void testConflate() throws Exception {
+        SlowListener listener = new SlowListener();
+        InputReportRing ring = overflow(OverflowPolicy.CONFLATE, listener);
+        // the head is not conflated, the consumer may be claiming it
+        assertEquals(3, ring.size());
+        assertEquals(7, ring.getConflated());
+        assertEquals(0, ring.getDropped());
+        listener.release.countDown();
+        assertEquals(List.of("1:0", "2:1", "1:10", "2:9"), listener.await(4));
+        ring.close();
+    }
+
+    @Test
+    @DisplayName("conflate delivers a report once under contention")
+    void testConflateContention() throws Exception {
+        HidDeviceListenerSupport listeners = new HidDeviceListenerSupport();
+        int n = 200_000;
+        int ids = 3;
+        CountDownLatch cdl = new CountDownLatch(1);
+        long[] last = new long[ids + 1];
+        Arrays.fill(last, -1);
+        int[] errors = {0};
+        listeners.add(event -> {
+            int reportId = event.getReportId();
+            long sequence = event.getSequence();
+            // the sequence is in the report too, a torn copy mismatches
+            long value = (event.getReport()[1] & 0xffL) | (event.getReport()[2] & 0xffL) << 8 | (event.getReport()[3] & 0xffL) << 16;
+            if (sequence <= last[reportId] || value != sequence) {
+                errors[0]++;
+            }
+            last[reportId] = sequence;
+            if (sequence >= n - ids) {
+                cdl.countDown();
+            }
+        });
+        InputReportRing ring = new InputReportRing(new Object(), 4, OverflowPolicy.CONFLATE, listeners::fireOnInputReport, new HidSpecification(), "test");
+        byte[] report = new byte[8];
+        for (int i = 0; i < n; i++) {
+            int reportId = 1 + i % ids;
+            report[0] = (byte) reportId;
+            report[1] = (byte) i;
+            report[2] = (byte) (i >> 8);
+            report[3] = (byte) (i >> 16);
+            ring.offer(reportId, report, report.length, System.nanoTime(), i);
+        }
+        assertTrue(cdl.await(5, TimeUnit.SECONDS));
+Debug.println("conflated: " + ring.getConflated() + ", dropped: " + ring.getDropped());
+        assertEquals(0, errors[0]);
+        ring.close();
+    }
+
+    @Test
+    @DisplayName("block waits for the listener and loses nothing")
+    void testBlock() throws Exception {
+        SlowListener listener = new SlowListener();
+        Thread producer = new Thread(() -> {
+            try {
+                InputReportRing ring = overflow(OverflowPolicy.BLOCK, listener);
+                listener.await(11);
+                assertEquals(0, ring.getDropped());
+Debug.println("blocked: " + ring.getBlocked());
+                assertTrue(ring.getBlocked() > 0);
+                ring.close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        producer.start();
+        assertTrue(listener.entered.await(1, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        // the producer waits for a free slot
+        assertTrue(producer.isAlive());
+        listener.release.countDown();
+        producer.join(1000);
+        List<String> received = listener.await(11);
+        assertEquals(11, received.size());
+        for (int i = 0; i < 11; i++) {
+            assertEquals("1:" + i, received.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("reports in order with a fast producer")
+    void testOrder() throws Exception {
+        HidDeviceListenerSupport listeners = new HidDeviceListenerSupport();
+        int n = 100_000;
+        CountDownLatch cdl = new CountDownLatch(1);
+        int[] next = {0};
+        int[] errors = {0};
+        listeners.add(event -> {
+            byte[] report = event.getReport();
+            int value = (report[1] & 0xff) | (report[2] & 0xff) << 8 | (report[3] & 0xff) << 16;
+            if (value != next[0] || event.getSequence() != value) {
+                errors[0]++;
+            }
+            next[0] = value + 1;
+            if (value == n - 1) {
+                cdl.countDown();
+            }
+        });
+        InputReportRing ring = new InputReportRing(new Object(), 64, OverflowPolicy.BLOCK, listeners::fireOnInputReport, new HidSpecification(), "test");
+        byte[] report = new byte[64];
+        for (int i = 0; i < n; i++) {
+            report[0] = 1;
+            report[1] = (byte) i;
+            report[2] = (byte) (i >> 8);
+            report[3] = (byte) (i >> 16);
+            ring.offer(1, report, report.length, System.nanoTime(), i);
+        }
+        assertTrue(cdl.await(5, TimeUnit.SECONDS));
+Debug.println("blocked: " + ring.getBlocked());
+        assertEquals(0, errors[0]);
+        ring.close();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * LatencyHistogramTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("buckets are contiguous")
+    void testBuckets() {
+        for (int i = 1; i <= LatencyHistogram.index(LatencyHistogram.MAX_VALUE); i++) {
+            long lowest = LatencyHistogram.highestValue(i - 1) + 1;
+            assertEquals(i, LatencyHistogram.index(lowest));
+            assertEquals(i, LatencyHistogram.index(LatencyHistogram.highestValue(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("percentiles within the resolution")
+    void testPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+
+        Random random = new Random(1);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000_000 + (long) (random.nextGaussian() * 100_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+Debug.println(histogram);
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[0], histogram.getMin());
+        assertEquals(values[values.length - 1], histogram.getMax());
+        for (double p : new double[] {50, 90, 99, 99.9}) {
+            long expected = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long actual = histogram.getValueAtPercentile(p);
+            assertTrue(actual >= expected && actual < expected * 1.04, p + ": " + expected + ", " + actual);
+        }
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+}
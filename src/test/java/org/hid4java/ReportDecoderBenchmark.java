@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * ReportDecoderBenchmark. decoding all fields of the DualShock4 input reports in "/ds4_reports.txt"
+ * field by field and by the compiled {@link ReportDecoder}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportDecoderBenchmark {
+
+    byte[][] reports;
+    ReportLayout.Field[] fields;
+    ReportDecoder decoder;
+    int[] values;
+    float[] physicals;
+    int index;
+
+    @Setup
+    public void setup() throws Exception {
+        reports = FieldSubscriptionsTest.load("/ds4_reports.txt").values().toArray(byte[][]::new);
+        ReportLayout layout = FieldSubscriptionsTest.gamepad();
+        fields = layout.getInputFields().toArray(ReportLayout.Field[]::new);
+        decoder = new ReportDecoder(layout);
+        values = new int[decoder.getFieldCount()];
+        physicals = new float[decoder.getFieldCount()];
+    }
+
+    @Benchmark
+    public int[] fieldByField() {
+        byte[] report = reports[index++ % reports.length];
+        for (ReportLayout.Field field : fields) {
+            values[field.getIndex()] = field.getValue(report);
+        }
+        return values;
+    }
+
+    @Benchmark
+    public int[] decode() {
+        byte[] report = reports[index++ % reports.length];
+        decoder.decode(report, report.length, values);
+        return values;
+    }
+
+    @Benchmark
+    public float[] decodePhysical() {
+        byte[] report = reports[index++ % reports.length];
+        decoder.decode(report, report.length, physicals);
+        return physicals;
+    }
+}
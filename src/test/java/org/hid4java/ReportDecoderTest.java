@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * ReportDecoderTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class ReportDecoderTest {
+
+    @Test
+    @DisplayName("logical values of all fields")
+    void testDecode() throws Exception {
+        ReportLayout layout = FieldSubscriptionsTest.gamepad();
+        ReportDecoder decoder = new ReportDecoder(layout);
+        assertEquals(layout.getInputFields().size(), decoder.getFieldCount());
+        assertEquals(layout.find(0x01, 0x39).getIndex(), decoder.indexOf(0x01, 0x39));
+        assertEquals(-1, decoder.indexOf(0x0c, 0xe9));
+
+        int[] values = new int[decoder.getFieldCount()];
+        List<byte[]> reports = List.copyOf(FieldSubscriptionsTest.load("/ds4_reports.txt").values());
+        for (byte[] report : reports) {
+            assertEquals(values.length, decoder.decode(report, report.length, values));
+            for (ReportLayout.Field field : layout.getInputFields()) {
+                assertEquals(field.getValue(report), values[field.getIndex()], field.toString());
+            }
+        }
+
+        // the last 8 bytes, read bytewise
+        byte[] report = reports.get(0);
+        Arrays.fill(values, -1);
+        assertEquals(values.length - 8, decoder.decode(report, 56, values));
+        assertEquals(-1, values[values.length - 1]);
+
+        // no field of the report id
+        byte[] other = report.clone();
+        other[0] = 5;
+        assertEquals(0, decoder.decode(other, other.length, values));
+    }
+
+    @Test
+    @DisplayName("physical values scaled")
+    void testPhysical() throws Exception {
+        byte[] descriptor = {
+                0x05, 0x01, 0x09, 0x04, (byte) 0xa1, 0x01,
+                0x09, 0x30, 0x15, 0x00, 0x26, (byte) 0xff, 0x00, // logical 0..255
+                0x35, (byte) 0x9c, 0x45, 0x64, // physical -100..100
+                0x75, 0x08, (byte) 0x95, 0x01, (byte) 0x81, 0x02,
+                0x09, 0x31, 0x15, (byte) 0x81, 0x25, 0x7f, // logical -127..127
+                0x35, 0x00, 0x45, 0x00, // physical as logical
+                0x55, 0x0e, // unit exponent -2
+                (byte) 0x81, 0x02,
+                (byte) 0xc0,
+        };
+        ReportDecoder decoder = new ReportDecoder(ReportLayout.parse(descriptor, descriptor.length));
+        float[] values = new float[decoder.getFieldCount()];
+        int x = decoder.indexOf(0x01, 0x30);
+        int y = decoder.indexOf(0x01, 0x31);
+
+        assertEquals(2, decoder.decode(new byte[] {(byte) 0xff, (byte) 0x81}, 2, values));
+Debug.println("x: " + values[x] + ", y: " + values[y]);
+        assertEquals(100f, values[x], 0.001f);
+        assertEquals(-1.27f, values[y], 0.001f);
+        decoder.decode(new byte[] {0, 0x7f}, 2, values);
+        assertEquals(-100f, values[x], 0.001f);
+        assertEquals(1.27f, values[y], 0.001f);
+
+        int[] logical = new int[decoder.getFieldCount()];
+        decoder.decode(new byte[] {(byte) 0x80, (byte) 0xff}, 2, logical);
+        assertEquals(128, logical[x]);
+        assertEquals(-1, logical[y]);
+    }
+}
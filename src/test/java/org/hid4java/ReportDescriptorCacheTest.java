@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+/**
+ * ReportDescriptorCacheTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class ReportDescriptorCacheTest {
+
+    /** generic desktop, game pad, application collection */
+    static final byte[] DESCRIPTOR = {
+            0x05, 0x01, 0x09, 0x05, (byte) 0xa1, 0x01, 0x09, 0x30, 0x15, 0x00, 0x26, (byte) 0xff, 0x00,
+            0x75, 0x08, (byte) 0x95, 0x01, (byte) 0x81, 0x02, (byte) 0xc0
+    };
+
+    @Test
+    @DisplayName("hit, miss and lru eviction")
+    void testLookup() throws Exception {
+        ReportDescriptorCache cache = new ReportDescriptorCache(2);
+        byte[] buf = new byte[4096];
+        System.arraycopy(DESCRIPTOR, 0, buf, 0, DESCRIPTOR.length);
+
+        ReportDescriptorCache.Entry a = cache.get(0x54c, 0x9cc, 0x100, buf, DESCRIPTOR.length);
+        assertSame(a, cache.get(0x54c, 0x9cc, 0x100, buf, DESCRIPTOR.length));
+        assertArrayEquals(DESCRIPTOR, a.getDescriptor());
+        // other release, other length
+        ReportDescriptorCache.Entry b = cache.get(0x54c, 0x9cc, 0x200, buf, DESCRIPTOR.length);
+        assertNotSame(a, b);
+        cache.get(0x54c, 0x9cc, 0x100, buf, DESCRIPTOR.length); // a is the most recent
+        cache.get(0x54c, 0x9cc, 0x100, buf, DESCRIPTOR.length - 1); // evicts b
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertNotSame(b, cache.get(0x54c, 0x9cc, 0x200, buf, DESCRIPTOR.length));
+
+        AtomicInteger parsed = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            String s = a.getParsed(String.class, d -> parsed.incrementAndGet() + ":" + d.length);
+            assertEquals("1:" + DESCRIPTOR.length, s);
+        }
+    }
+
+    @Test
+    @DisplayName("descriptors and usages survive save and load")
+    void testPersist() throws Exception {
+        Path path = Files.createTempFile("descriptors", ".bin");
+        try {
+            ReportDescriptorCache cache = new ReportDescriptorCache(16);
+            cache.get(0x54c, 0x9cc, 0x100, DESCRIPTOR, DESCRIPTOR.length).getUsages(d -> new int[] {0x10005});
+            cache.get(0x54c, 0x5c4, 0x100, DESCRIPTOR, DESCRIPTOR.length);
+            cache.save(path);
+
+            ReportDescriptorCache warm = new ReportDescriptorCache(16);
+            warm.load(path);
+            assertEquals(2, warm.size());
+            ReportDescriptorCache.Entry entry = warm.get(0x54c, 0x9cc, 0x100, DESCRIPTOR, DESCRIPTOR.length);
+            assertEquals(1, warm.getHits());
+            assertEquals(0, warm.getMisses());
+            assertArrayEquals(new int[] {0x10005}, entry.getUsages(d -> { throw new IllegalStateException("parsed again"); }));
+            assertArrayEquals(DESCRIPTOR, entry.getDescriptor());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    @DisplayName("a truncated or corrupt file loads nothing")
+    void testCorrupt() throws Exception {
+        Path path = Files.createTempFile("descriptors", ".bin");
+        try {
+            ReportDescriptorCache cache = new ReportDescriptorCache(16);
+            cache.get(0x54c, 0x9cc, 0x100, DESCRIPTOR, DESCRIPTOR.length).getUsages(d -> new int[] {0x10005});
+            cache.get(0x54c, 0x5c4, 0x100, DESCRIPTOR, DESCRIPTOR.length);
+            cache.save(path);
+            // a file header is 12 bytes, an entry header is 14 bytes followed by the descriptor and the usages
+            byte[] saved = Files.readAllBytes(path);
+
+            // truncated
+            Files.write(path, Arrays.copyOf(saved, saved.length - 3));
+            assertCorrupt(path);
+
+            // a descriptor byte flipped
+            byte[] bytes = saved.clone();
+            bytes[12 + 14 + 2] ^= 1;
+            Files.write(path, bytes);
+            assertCorrupt(path);
+
+            // a huge entry count
+            bytes = saved.clone();
+            ByteBuffer.wrap(bytes).putInt(8, Integer.MAX_VALUE);
+            Files.write(path, bytes);
+            assertCorrupt(path);
+
+            // a negative descriptor length
+            bytes = saved.clone();
+            ByteBuffer.wrap(bytes).putInt(12 + 6, -1);
+            Files.write(path, bytes);
+            assertCorrupt(path);
+
+            // a huge usage count
+            bytes = saved.clone();
+            ByteBuffer.wrap(bytes).putInt(12 + 14 + DESCRIPTOR.length, Integer.MAX_VALUE);
+            Files.write(path, bytes);
+            assertCorrupt(path);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /** */
+    static void assertCorrupt(Path path) {
+        ReportDescriptorCache cache = new ReportDescriptorCache(16);
+        assertThrows(IOException.class, () -> cache.load(path));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.linux;
+
+import java.util.concurrent.TimeUnit;
+
+import com.sun.jna.Memory;
+import com.sun.jna.NativeLong;
+import net.java.games.input.linux.LinuxIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * LinuxDirectIOBenchmark. the cost of a report by {@link LinuxDirectIO} vs. {@link LinuxIOEx},
+ * a poll, a write and a read of 64 bytes on a pipe as the reader of a hidraw node does it at 1 kHz.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinuxDirectIOBenchmark {
+
+    static final int REPORT_SIZE = 64;
+
+    static final NativeLong ONE = new NativeLong(1);
+
+    int[] fds;
+
+    Memory report;
+
+    LinuxIOEx.pollfd pfd;
+
+    @Setup
+    public void setup() throws Exception {
+        if (!LinuxDirectIO.isAvailable()) {
+            throw new IllegalStateException("direct mapping is not available");
+        }
+        fds = new int[2];
+        if (LinuxIOEx.INSTANCE.pipe(fds) != 0) {
+            throw new IllegalStateException("pipe");
+        }
+        report = new Memory(REPORT_SIZE);
+        report.clear();
+        pfd = new LinuxIOEx.pollfd();
+        pfd.fd = fds[0];
+        pfd.events = LinuxIOEx.POLLIN;
+        pfd.write();
+    }
+
+    @TearDown
+    public void tearDown() {
+        LinuxIO.INSTANCE.close(fds[0]);
+        LinuxIO.INSTANCE.close(fds[1]);
+    }
+
+    @Benchmark
+    public long interfaceMapped() {
+        NativeLong size = new NativeLong(REPORT_SIZE);
+        LinuxIOEx.INSTANCE.write(fds[1], report, size);
+        pfd.revents = 0;
+        LinuxIOEx.INSTANCE.poll(pfd, ONE, 0);
+        return LinuxIOEx.INSTANCE.read(fds[0], report, size).longValue();
+    }
+
+    @Benchmark
+    public long directMapped() {
+        LinuxDirectIO.write(fds[1], report, REPORT_SIZE);
+        LinuxDirectIO.poll(pfd.getPointer(), 1, 0);
+        return LinuxDirectIO.read(fds[0], report, REPORT_SIZE);
+    }
+}
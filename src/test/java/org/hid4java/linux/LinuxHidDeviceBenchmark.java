@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.linux;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.jna.Memory;
+import com.sun.jna.NativeLong;
+import net.java.games.input.linux.LinuxIO;
+import org.hid4java.HidSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * LinuxHidDeviceBenchmark. the latency distribution of an input report from the write to a pipe
+ * until a listener of {@link LinuxHidDevice} receives it, see the percentiles of the sample time.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinuxHidDeviceBenchmark {
+
+    static final NativeLong SIZE = new NativeLong(LinuxHidDeviceTest.REPORT_SIZE);
+
+    int[] fds;
+
+    Memory report;
+
+    LinuxHidDevice device;
+
+    /** the number of reports received by the listener */
+    final AtomicLong received = new AtomicLong();
+
+    @Setup
+    public void setup() throws Exception {
+        fds = new int[2];
+        if (LinuxIOEx.INSTANCE.pipe(fds) != 0) {
+            throw new IllegalStateException("pipe");
+        }
+        report = new Memory(LinuxHidDeviceTest.REPORT_SIZE);
+        report.clear();
+        device = new LinuxHidDevice(new HidSpecification());
+        device.deviceHandle = fds[0];
+        device.addInputReportListener(event -> received.incrementAndGet());
+        device.open();
+    }
+
+    @TearDown
+    public void tearDown() {
+        device.close();
+        LinuxIO.INSTANCE.close(fds[1]);
+    }
+
+    @Benchmark
+    public long reportToListener() {
+        long expected = received.get() + 1;
+        LinuxIO.INSTANCE.write(fds[1], report, SIZE);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (received.get() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("report lost");
+            }
+            Thread.onSpinWait();
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,471 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.linux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.sun.jna.Memory;
+import com.sun.jna.NativeLong;
+import net.java.games.input.linux.LinuxIO;
+import org.hid4java.HidSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * LinuxHidDeviceTest. a pipe stands in for a hidraw node.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@EnabledOnOs(OS.LINUX)
+class LinuxHidDeviceTest {
+
+    static final int REPORT_SIZE = 64;
+
+    /** @return [0] read end, [1] write end */
+    static int[] pipe() {
+        int[] fds = new int[2];
+        assertEquals(0, LinuxIOEx.INSTANCE.pipe(fds));
+        return fds;
+    }
+
+    /** writes a report which contains the time written */
+    static void writeReport(int fd, Memory report) {
+        report.setByte(0, (byte) 1);
+        report.setLong(1, System.nanoTime());
+        LinuxIO.INSTANCE.write(fd, report, new NativeLong(REPORT_SIZE));
+    }
+
+    @Test
+    @DisplayName("input report latency at 1 kHz")
+    void testLatency() throws Exception {
+        int n = 1000;
+        int[] fds = pipe();
+
+        HidSpecification specification = new HidSpecification();
+        LinuxHidDevice device = new LinuxHidDevice(specification);
+        device.deviceHandle = fds[0];
+
+        long[] latencies = new long[n];
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch cdl = new CountDownLatch(n);
+        device.addInputReportListener(event -> {
+            long now = System.nanoTime();
+            long sent = 0;
+            for (int i = 7; i >= 0; i--) {
+                sent = (sent << 8) | (event.getReport()[1 + i] & 0xff);
+            }
+            int i = count.getAndIncrement();
+            if (i < n) {
+                latencies[i] = now - sent;
+            }
+            cdl.countDown();
+        });
+        device.open();
+
+        Memory report = new Memory(REPORT_SIZE);
+        report.clear();
+        for (int i = 0; i < n; i++) {
+            writeReport(fds[1], report);
+            LockSupport.parkNanos(1_000_000);
+        }
+
+        assertTrue(cdl.await(5, TimeUnit.SECONDS));
+        assertEquals(n, count.get());
+
+        Arrays.sort(latencies);
+Debug.printf("latency [us]: p50: %d, p99: %d, max: %d", latencies[n / 2] / 1000, latencies[n * 99 / 100] / 1000, latencies[n - 1] / 1000);
+        // generous for a loaded ci box, a regression to polling by the read interval exceeds it,
+        // see LinuxHidDeviceBenchmark for the distribution
+        assertTrue(latencies[n * 99 / 100] < TimeUnit.MILLISECONDS.toNanos(50));
+
+        long t = System.nanoTime();
+        device.close();
+        t = System.nanoTime() - t;
+Debug.printf("close: %d ms", t / 1_000_000);
+        assertTrue(t < TimeUnit.MILLISECONDS.toNanos(specification.getDataReadInterval() * 2L));
+
+        LinuxIO.INSTANCE.close(fds[1]);
+    }
+
+    @Test
+    @DisplayName("listeners receive reports of their own device only")
+    void testListenersPerDevice() throws Exception {
+        int[] fds1 = pipe();
+        int[] fds2 = pipe();
+
+        LinuxHidDevice device1 = new LinuxHidDevice(new HidSpecification());
+        device1.deviceHandle = fds1[0];
+        LinuxHidDevice device2 = new LinuxHidDevice(new HidSpecification());
+        device2.deviceHandle = fds2[0];
+
+        AtomicInteger count1 = new AtomicInteger();
+        AtomicInteger count2 = new AtomicInteger();
+        CountDownLatch cdl = new CountDownLatch(3);
+        device1.addInputReportListener(event -> {
+            assertSame(device1, event.getSource());
+            count1.incrementAndGet();
+            cdl.countDown();
+        });
+        device2.addInputReportListener(event -> {
+            assertSame(device2, event.getSource());
+            count2.incrementAndGet();
+            cdl.countDown();
+        });
+        device1.open();
+        device2.open();
+
+        Memory report = new Memory(REPORT_SIZE);
+        report.clear();
+        writeReport(fds1[1], report);
+        writeReport(fds2[1], report);
+        writeReport(fds2[1], report);
+
+        assertTrue(cdl.await(1, TimeUnit.SECONDS));
+        assertEquals(1, count1.get());
+        assertEquals(2, count2.get());
+
+        device1.close();
+        device2.close();
+        LinuxIO.INSTANCE.close(fds1[1]);
+        LinuxIO.INSTANCE.close(fds2[1]);
+    }
+
+    @Test
+    @DisplayName("reader stops when the other end hangs up")
+    void testHangUp() throws Exception {
+        int[] fds = pipe();
+
+        LinuxHidDevice device = new LinuxHidDevice(new HidSpecification());
+        device.deviceHandle = fds[0];
+
+        CountDownLatch cdl = new CountDownLatch(1);
+        device.addInputReportListener(event -> cdl.countDown());
+        device.open();
+
+        Memory report = new Memory(REPORT_SIZE);
+        report.clear();
+        writeReport(fds[1], report);
+        assertTrue(cdl.await(1, TimeUnit.SECONDS));
+
+        LinuxIO.INSTANCE.close(fds[1]);
+
+        device.close();
+    }
+
+    @Test
+    @DisplayName("read/write direct buffers")
+    void testByteBuffer() throws Exception {
+        int[] fds = pipe();
+
+        LinuxHidDevice writer = new LinuxHidDevice(new HidSpecification());
+        writer.deviceHandle = fds[1];
+        LinuxHidDevice reader = new LinuxHidDevice(new HidSpecification());
+        reader.deviceHandle = fds[0];
+
+        ByteBuffer out = ByteBuffer.allocateDirect(REPORT_SIZE + 2);
+        out.position(2);
+        for (int i = 0; i < REPORT_SIZE; i++) {
+            out.put((byte) i);
+        }
+        out.position(2);
+        assertEquals(REPORT_SIZE, writer.write(out, (byte) 0));
+        assertEquals(REPORT_SIZE + 2, out.position());
+
+        ByteBuffer in = ByteBuffer.allocateDirect(REPORT_SIZE + 1);
+        in.position(1);
+        assertEquals(REPORT_SIZE, reader.read(in));
+        assertEquals(REPORT_SIZE + 1, in.position());
+        for (int i = 0; i < REPORT_SIZE; i++) {
+            assertEquals((byte) i, in.get(1 + i));
+        }
+
+        // heap buffers are copied
+        ByteBuffer heapOut = ByteBuffer.wrap(new byte[] {9, 8, 7});
+        assertEquals(3, writer.write(heapOut, (byte) 0));
+        ByteBuffer heapIn = ByteBuffer.allocate(8);
+        assertEquals(3, reader.read(heapIn));
+        assertEquals(9, heapIn.get(0));
+        assertEquals(7, heapIn.get(2));
+
+        // a read-only buffer is rejected before the report is consumed
+        assertEquals(3, writer.write(ByteBuffer.wrap(new byte[] {6, 5, 4}), (byte) 0));
+        assertThrows(ReadOnlyBufferException.class, () -> reader.read(ByteBuffer.allocateDirect(8).asReadOnlyBuffer()));
+        heapIn.clear();
+        assertEquals(3, reader.read(heapIn));
+        assertEquals(6, heapIn.get(0));
+
+        writer.close();
+        reader.close();
+    }
+
+    static long countThreads(String prefix) {
+        return Thread.getAllStackTraces().keySet().stream().filter(t -> t.getName().startsWith(prefix)).count();
+    }
+
+    @Test
+    @DisplayName("epoll reactor dispatches many devices by a few threads")
+    void testReactor() throws Exception {
+        int n = 32;
+        int reports = 100;
+        HidSpecification specification = new HidSpecification();
+        specification.setDataReadInterval(100);
+        LinuxEpollReactor reactor = new LinuxEpollReactor(2, specification);
+
+        int[][] fds = new int[n][];
+        LinuxHidDevice[] devices = new LinuxHidDevice[n];
+        AtomicInteger[] counts = new AtomicInteger[n];
+        CountDownLatch cdl = new CountDownLatch(n * reports);
+        for (int i = 0; i < n; i++) {
+            fds[i] = pipe();
+            devices[i] = new LinuxHidDevice(specification);
+            devices[i].deviceHandle = fds[i][0];
+            devices[i].reactor = reactor;
+            LinuxHidDevice device = devices[i];
+            AtomicInteger count = counts[i] = new AtomicInteger();
+            device.addInputReportListener(event -> {
+                assertSame(device, event.getSource());
+                assertEquals(REPORT_SIZE, event.getLength());
+                count.incrementAndGet();
+                cdl.countDown();
+            });
+            device.open();
+        }
+        assertEquals(n, reactor.size());
+        assertEquals(2, countThreads("hid4java-epoll-"));
+        assertEquals(0, countThreads("hid4java-hidraw-"));
+
+        Memory report = new Memory(REPORT_SIZE);
+        report.clear();
+        for (int r = 0; r < reports; r++) {
+            for (int i = 0; i < n; i++) {
+                writeReport(fds[i][1], report);
+            }
+        }
+        assertTrue(cdl.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < n; i++) {
+            assertEquals(reports, counts[i].get());
+        }
+
+        for (int i = 0; i < n; i++) {
+            devices[i].close();
+            LinuxIO.INSTANCE.close(fds[i][1]);
+        }
+        assertEquals(0, reactor.size());
+
+        long t = System.nanoTime();
+        reactor.close();
+        t = System.nanoTime() - t;
+Debug.printf("reactor close: %d ms", t / 1_000_000);
+        assertTrue(t < TimeUnit.MILLISECONDS.toNanos(specification.getDataReadInterval() * 2L));
+        assertEquals(0, countThreads("hid4java-epoll-"));
+    }
+
+    @Test
+    @DisplayName("a device stopped by the reactor knows it, a closed reactor is replaced on open")
+    void testReactorStop() throws Exception {
+        HidSpecification specification = new HidSpecification();
+        specification.setDataReadInterval(100);
+        specification.linuxReactorThreads = 1;
+        LinuxHidDevices hidDevices = new LinuxHidDevices();
+        hidDevices.open(specification);
+
+        Memory report = new Memory(REPORT_SIZE);
+        report.clear();
+
+        // hang up
+        int[] fds1 = pipe();
+        LinuxHidDevice device1 = new LinuxHidDevice(specification);
+        device1.deviceHandle = fds1[0];
+        device1.hidDevices = hidDevices;
+        CountDownLatch cdl1 = new CountDownLatch(1);
+        device1.addInputReportListener(event -> cdl1.countDown());
+        device1.open();
+        LinuxEpollReactor reactor = device1.reactor;
+        writeReport(fds1[1], report);
+        assertTrue(cdl1.await(1, TimeUnit.SECONDS));
+        assertTrue(device1.isReading());
+        LinuxIO.INSTANCE.close(fds1[1]);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (device1.isReading() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(device1.isReading());
+        assertEquals(0, reactor.size());
+        device1.close();
+
+        // close of the reactor
+        int[] fds2 = pipe();
+        LinuxHidDevice device2 = new LinuxHidDevice(specification);
+        device2.deviceHandle = fds2[0];
+        device2.hidDevices = hidDevices;
+        CountDownLatch cdl2 = new CountDownLatch(1);
+        device2.addInputReportListener(event -> cdl2.countDown());
+        device2.open();
+        assertSame(reactor, device2.reactor);
+        hidDevices.close();
+        assertFalse(device2.isReading());
+        assertEquals(-1, device2.reactorShard);
+        assertThrows(IOException.class, () -> reactor.register(device2));
+
+        // reopened by a new reactor
+        device2.open();
+        assertTrue(device2.isReading());
+        assertNotSame(reactor, device2.reactor);
+        writeReport(fds2[1], report);
+        assertTrue(cdl2.await(1, TimeUnit.SECONDS));
+
+        device2.close();
+        LinuxIO.INSTANCE.close(fds2[1]);
+        hidDevices.close();
+        assertEquals(0, countThreads("hid4java-epoll-"));
+    }
+
+    @Test
+    @DisplayName("pumps parked by a closed waker end")
+    void testWakerClose() throws Exception {
+        HidSpecification specification = new HidSpecification();
+        LinuxEpollReactor waker = new LinuxEpollReactor(1, specification);
+        int[] fds = pipe();
+        LinuxHidDevice device = new LinuxHidDevice(specification);
+        device.deviceHandle = fds[0];
+        device.waker = waker;
+        device.open();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (waker.size() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, waker.size());
+
+        waker.close();
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (device.isReading() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(device.isReading());
+        assertEquals(0, countThreads("hid4java-hidraw-"));
+
+        device.close();
+        LinuxIO.INSTANCE.close(fds[1]);
+    }
+
+    @Test
+    @DisplayName("pumps parked while idle are woken by the epoll reactor")
+    void testWaker() throws Exception {
+        int n = 16;
+        int reports = 50;
+        HidSpecification specification = new HidSpecification();
+        specification.setDataReadInterval(100);
+        LinuxEpollReactor waker = new LinuxEpollReactor(1, specification);
+
+        int[][] fds = new int[n][];
+        LinuxHidDevice[] devices = new LinuxHidDevice[n];
+        CountDownLatch cdl = new CountDownLatch(n * reports);
+        for (int i = 0; i < n; i++) {
+            fds[i] = pipe();
+            devices[i] = new LinuxHidDevice(specification);
+            devices[i].deviceHandle = fds[i][0];
+            devices[i].waker = waker;
+            devices[i].addInputReportListener(event -> {
+                assertTrue(Thread.currentThread().getName().startsWith("hid4java-hidraw-"));
+                cdl.countDown();
+            });
+            devices[i].open();
+        }
+
+        // idle pumps park without a timeout, no poll loop
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (waker.size() < n && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(n, waker.size());
+        Thread.sleep(50);
+        assertEquals(n, Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().startsWith("hid4java-hidraw-") && t.getState() == Thread.State.WAITING).count());
+
+        Memory report = new Memory(REPORT_SIZE);
+        report.clear();
+        for (int r = 0; r < reports; r++) {
+            for (int i = 0; i < n; i++) {
+                writeReport(fds[i][1], report);
+            }
+            LockSupport.parkNanos(1_000_000);
+        }
+        assertTrue(cdl.await(5, TimeUnit.SECONDS));
+
+        long t = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            devices[i].close();
+            LinuxIO.INSTANCE.close(fds[i][1]);
+        }
+        t = System.nanoTime() - t;
+Debug.printf("close: %d ms", t / 1_000_000);
+        assertEquals(0, waker.size());
+        assertEquals(0, countThreads("hid4java-hidraw-"));
+        waker.close();
+    }
+
+    @Test
+    @DisplayName("pumps on threads of the given factory, virtual threads on java 21 or later")
+    void testThreadFactory() throws Exception {
+        HidSpecification specification = new HidSpecification();
+        try {
+            specification.useVirtualThreads();
+        } catch (UnsupportedOperationException e) {
+Debug.println("virtual threads are not available, use a platform thread factory: " + e.getMessage());
+            specification.setThreadFactory(Thread::new);
+        }
+        boolean virtual = specification.getThreadFactory() != null && HidSpecification.isVirtual(specification.newThread(() -> {}, "test"));
+
+        int n = 16;
+        int[][] fds = new int[n][];
+        LinuxHidDevice[] devices = new LinuxHidDevice[n];
+        CountDownLatch cdl = new CountDownLatch(n);
+        for (int i = 0; i < n; i++) {
+            fds[i] = pipe();
+            devices[i] = new LinuxHidDevice(specification);
+            devices[i].deviceHandle = fds[i][0];
+            devices[i].addInputReportListener(event -> {
+                assertEquals(virtual, HidSpecification.isVirtual(Thread.currentThread()));
+                assertTrue(Thread.currentThread().getName().startsWith("hid4java-hidraw-"));
+                cdl.countDown();
+            });
+            devices[i].open();
+        }
+
+        Memory report = new Memory(REPORT_SIZE);
+        report.clear();
+        for (int i = 0; i < n; i++) {
+            writeReport(fds[i][1], report);
+        }
+        assertTrue(cdl.await(1, TimeUnit.SECONDS));
+Debug.println("virtual: " + virtual);
+
+        for (int i = 0; i < n; i++) {
+            devices[i].close();
+            LinuxIO.INSTANCE.close(fds[i][1]);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.linux;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * LinuxHidDevicesBenchmark. usage pair parsing of
+ * {@link LinuxHidDevices#createDeviceInfoForDevice} over the report descriptors in "/report_descriptors.txt".
+ * <p>
+ * udev is not needed, so this runs on a headless box.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinuxHidDevicesBenchmark {
+
+    /** @return "name: hex bytes" lines as byte arrays */
+    static List<byte[]> load(String name) throws IOException {
+        List<byte[]> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(LinuxHidDevicesBenchmark.class.getResourceAsStream(name)))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] hexes = line.substring(line.indexOf(':') + 1).trim().split("\\s+");
+                byte[] bytes = new byte[hexes.length];
+                for (int i = 0; i < hexes.length; i++) {
+                    bytes[i] = (byte) Integer.parseInt(hexes[i], 16);
+                }
+                result.add(bytes);
+            }
+        }
+        return result;
+    }
+
+    List<byte[]> descriptors;
+
+    @Setup
+    public void setup() throws Exception {
+        descriptors = load("/report_descriptors.txt");
+    }
+
+    @Benchmark
+    public void getNextHidUsage(Blackhole bh) {
+        int[] page = new int[1], usage = new int[1];
+        for (byte[] descriptor : descriptors) {
+            LinuxHidDevices.HidUsageIterator usageIterator = new LinuxHidDevices.HidUsageIterator();
+            while (LinuxHidDevices.getNextHidUsage(descriptor, descriptor.length, usageIterator, page, usage) == 0) {
+                bh.consume(page[0]);
+                bh.consume(usage[0]);
+            }
+        }
+    }
+}
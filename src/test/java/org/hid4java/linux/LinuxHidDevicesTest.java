@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.linux;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.hid4java.HidDevice;
+import org.hid4java.HidDevices;
+import org.hid4java.HidSpecification;
+import org.hid4java.NativeHidDevices;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * LinuxHidDevicesTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@EnabledOnOs(OS.LINUX)
+class LinuxHidDevicesTest {
+
+    /** synthetic uevents */
+    static class TestUeventSource implements UeventSource {
+
+        final BlockingQueue<Uevent> queue = new LinkedBlockingQueue<>();
+        volatile boolean closed;
+
+        @Override
+        public Uevent receive(int timeout) throws InterruptedIOException {
+            try {
+                return queue.poll(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    static HidDevice.Info info(String path) {
+        HidDevice.Info info = new HidDevice.Info();
+        info.path = path;
+        info.vendorId = 0x54c;
+        info.productId = 0x9cc;
+        return info;
+    }
+
+    @Test
+    @DisplayName("hotplug by synthetic uevents")
+    void testHotplug() throws Exception {
+        HidSpecification specification = new HidSpecification();
+        specification.setScanInterval(50);
+
+        LinuxHidDevices devices = new LinuxHidDevices();
+        devices.open(specification);
+        TestUeventSource source = new TestUeventSource();
+        devices.ueventSource = source;
+
+        BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        devices.startHotplug(new NativeHidDevices.HotplugListener() {
+            @Override
+            public void attached(List<HidDevice.Info> infos) {
+                infos.forEach(info -> events.offer("+" + info.path));
+            }
+
+            @Override
+            public void detached(String path) {
+                events.offer("-" + path);
+            }
+        });
+
+        source.queue.offer(new UeventSource.Uevent("add", "/dev/hidraw7", List.of(info("/dev/hidraw7"))));
+        source.queue.offer(new UeventSource.Uevent("change", "/dev/hidraw7", Collections.emptyList()));
+        source.queue.offer(new UeventSource.Uevent("remove", "/dev/hidraw7", Collections.emptyList()));
+
+        assertEquals("+/dev/hidraw7", events.poll(1, TimeUnit.SECONDS));
+        assertEquals("-/dev/hidraw7", events.poll(1, TimeUnit.SECONDS));
+        assertNull(events.poll(100, TimeUnit.MILLISECONDS));
+
+        devices.close();
+        assertTrue(source.closed);
+    }
+
+    @Test
+    @DisplayName("stop hotplug while a listener takes the reactor")
+    void testStopHotplugDuringListener() throws Exception {
+        HidSpecification specification = new HidSpecification();
+        specification.setScanInterval(50);
+
+        LinuxHidDevices devices = new LinuxHidDevices();
+        devices.open(specification);
+        TestUeventSource source = new TestUeventSource();
+        devices.ueventSource = source;
+
+        CountDownLatch attaching = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        CountDownLatch attached = new CountDownLatch(1);
+        devices.startHotplug(new NativeHidDevices.HotplugListener() {
+            @Override
+            public void attached(List<HidDevice.Info> infos) {
+                attaching.countDown();
+                try {
+                    proceed.await();
+                    // as a listener opening the device
+                    devices.reactor();
+                    attached.countDown();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public void detached(String path) {
+            }
+        });
+        Thread hotplug = Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().equals("hid4java-udev-monitor")).findFirst().get();
+
+        source.queue.offer(new UeventSource.Uevent("add", "/dev/hidraw7", List.of(info("/dev/hidraw7"))));
+        assertTrue(attaching.await(1, TimeUnit.SECONDS));
+        Thread stopper = new Thread(devices::stopHotplug);
+        stopper.setDaemon(true);
+        stopper.start();
+        // the stopper joins the hotplug thread
+        Thread.sleep(50);
+        proceed.countDown();
+
+        stopper.join(2000);
+        hotplug.join(2000);
+        assertFalse(stopper.isAlive());
+        assertFalse(hotplug.isAlive());
+        assertTrue(attached.await(0, TimeUnit.SECONDS));
+        devices.close();
+    }
+
+    static int countFds() {
+        return new File("/proc/self/fd").list().length;
+    }
+
+    static boolean hasHidrawThread() {
+        return Thread.getAllStackTraces().keySet().stream().anyMatch(t -> t.getName().startsWith("hid4java-hidraw-"));
+    }
+
+    @Test
+    @DisplayName("scanning opens no fd and starts no thread")
+    void testScanWithoutFds() throws Exception {
+        HidSpecification specification = new HidSpecification();
+        specification.setAutoStart(false);
+        specification.setAutoShutdown(false);
+        specification.setScanMode(HidSpecification.ScanMode.NO_SCAN);
+
+        LinuxHidDevices nativeDevices = new LinuxHidDevices() {
+            @Override
+            public List<HidDevice.Info> enumerate(int vendorId, int productId) throws IOException {
+                List<HidDevice.Info> infos = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    infos.add(info("/dev/null" + (i == 0 ? "" : "#" + i)));
+                }
+                return infos;
+            }
+        };
+        nativeDevices.open(specification);
+        HidDevices devices = new HidDevices(specification, nativeDevices);
+
+        int fds = countFds();
+        for (int i = 0; i < 100; i++) {
+            devices.scan();
+            devices.getHidDevices();
+        }
+Debug.println("fds: " + fds + " -> " + countFds());
+        assertEquals(fds, countFds());
+        assertFalse(hasHidrawThread());
+
+        nativeDevices.close();
+    }
+}
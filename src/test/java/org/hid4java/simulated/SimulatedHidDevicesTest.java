@@ -0,0 +1,574 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.simulated;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.hid4java.HidDevice;
+import org.hid4java.HidDevices;
+import org.hid4java.HidDevicesEvent;
+import org.hid4java.HidDevicesListener;
+import org.hid4java.HidSpecification;
+import org.hid4java.InputReport;
+import org.hid4java.LatencyHistogram;
+import org.hid4java.MergedReportStream;
+import org.hid4java.ReportJournal;
+import org.hid4java.ReportLayout;
+import org.hid4java.ReportRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * SimulatedHidDevicesTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class SimulatedHidDevicesTest {
+
+    SimulatedHidDevices simulated;
+    HidSpecification specification;
+
+    @BeforeEach
+    void setup() {
+        simulated = new SimulatedHidDevices();
+
+        specification = new HidSpecification();
+        specification.setAutoStart(false);
+        specification.setAutoShutdown(false);
+        specification.setScanMode(HidSpecification.ScanMode.NO_SCAN);
+    }
+
+    @AfterEach
+    void teardown() {
+        simulated.close();
+    }
+
+    @Test
+    @DisplayName("thousands of devices, reports and writes")
+    void testDevices() throws Exception {
+        List<String> paths = simulated.attach(2000, 0x1209, 0x0001, new ReportStream(1000, 64, 200));
+        HidDevices devices = new HidDevices(specification, simulated);
+
+        AtomicInteger attached = new AtomicInteger();
+        devices.addHidServicesListener(new HidDevicesListener() {
+            @Override
+            public void hidDeviceAttached(HidDevicesEvent event) {
+                attached.incrementAndGet();
+            }
+
+            @Override
+            public void hidDeviceDetached(HidDevicesEvent event) {
+            }
+        });
+        devices.scan();
+        assertEquals(2000, attached.get());
+
+        HidDevice device = devices.getHidDevice(0x1209, 0x0001, null);
+        CountDownLatch cdl = new CountDownLatch(100);
+        device.addInputReportListener(event -> {
+            assertEquals(64, event.getLength());
+            cdl.countDown();
+        });
+        device.open();
+        long t = System.nanoTime();
+        assertTrue(cdl.await(1, TimeUnit.SECONDS));
+Debug.printf("100 reports: %d ms", (System.nanoTime() - t) / 1_000_000);
+
+        device.write(new byte[] {1, 2, 3}, 3, 2);
+        List<SimulatedHidDevice.Write> writes = simulated.getWrites(device.getPath());
+        assertEquals(1, writes.size());
+        assertEquals(2, writes.get(0).reportId);
+        assertArrayEquals(new byte[] {1, 2, 3}, writes.get(0).data);
+
+        device.close();
+        assertTrue(paths.contains(device.getPath()));
+    }
+
+    @Test
+    @DisplayName("attach/detach on a schedule")
+    void testSchedule() throws Exception {
+        specification.setScanMode(HidSpecification.ScanMode.EVENT_DRIVEN);
+        HidDevices devices = new HidDevices(specification, simulated);
+
+        BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        devices.addHidServicesListener(new HidDevicesListener() {
+            @Override
+            public void hidDeviceAttached(HidDevicesEvent event) {
+                events.offer("+" + event.getHidDevice().getPath());
+            }
+
+            @Override
+            public void hidDeviceDetached(HidDevicesEvent event) {
+                events.offer("-" + event.getHidDevice().getPath());
+            }
+        });
+        devices.start();
+
+        HidDevice.Info info = SimulatedHidDevices.info(100, 0x1209, 0x0002);
+        simulated.attachLater(10, info, new ReportStream(0, 8, 0));
+        simulated.detachLater(50, info.path);
+
+        assertEquals("+" + info.path, events.poll(1, TimeUnit.SECONDS));
+        assertEquals("-" + info.path, events.poll(1, TimeUnit.SECONDS));
+
+        devices.stop();
+    }
+
+    @Test
+    @DisplayName("I/O fails after detach")
+    void testDetached() throws Exception {
+        HidDevice.Info info = SimulatedHidDevices.info(0, 0x1209, 0x0003);
+        simulated.attach(info, new ReportStream(0, 8, 0));
+        SimulatedHidDevice device = (SimulatedHidDevice) simulated.create(info);
+        device.open();
+        simulated.detach(info.path);
+
+        assertThrows(java.io.IOException.class, () -> device.write(new byte[] {0}, 1, (byte) 0));
+    }
+
+    @Test
+    @DisplayName("reports at the rate, handles released on close, a long report descriptor")
+    void testStream() throws Exception {
+        HidDevice.Info info = SimulatedHidDevices.info(10, 0x1209, 0x000b);
+        simulated.attach(info, new ReportStream(1000, 301, 0));
+        SimulatedHidDevice device = (SimulatedHidDevice) simulated.create(info);
+        assertEquals(0, simulated.getHandles(info.path));
+        device.open();
+        assertEquals(1, simulated.getHandles(info.path));
+        long t = System.nanoTime();
+        Thread.sleep(500);
+        long n = device.getSequence();
+        long elapsed = System.nanoTime() - t;
+        device.close();
+        assertEquals(0, simulated.getHandles(info.path));
+Debug.println("reports: " + n + " in " + elapsed / 1_000_000 + " ms");
+        // the rate is kept, not delayed by the time to emit a report
+        assertTrue(n >= elapsed / 1_000_000 * 9 / 10);
+
+        for (int i = 0; i < 100; i++) {
+            SimulatedHidDevice handle = (SimulatedHidDevice) simulated.create(info);
+            handle.open();
+            handle.close();
+        }
+        assertEquals(0, simulated.getHandles(info.path));
+
+        byte[] descriptor = new byte[4096];
+        int length = device.getReportDescriptor(descriptor);
+        ReportLayout layout = ReportLayout.parse(descriptor, length);
+        assertEquals(301, layout.getInputReportSize(1));
+    }
+
+    @Test
+    @DisplayName("output reports coalesced per report id")
+    void testOutputQueue() throws Exception {
+        HidDevice.Info info = SimulatedHidDevices.info(1, 0x1209, 0x0004);
+        simulated.attach(info, new ReportStream(0, 8, 0));
+        AtomicInteger afterWrites = new AtomicInteger();
+        HidDevice device = new HidDevice(info, simulated, afterWrites::incrementAndGet);
+
+        int n = device.writeBatch(List.of(
+                new HidDevice.OutputReport(5, new byte[] {5, 1}),
+                new HidDevice.OutputReport(17, new byte[] {17, 1}),
+                new HidDevice.OutputReport(5, new byte[] {5, 2})));
+        assertEquals(2, n);
+        assertEquals(1, afterWrites.get());
+        List<SimulatedHidDevice.Write> writes = simulated.getWrites(info.path);
+        assertEquals(2, writes.size());
+        assertArrayEquals(new byte[] {5, 2}, writes.get(0).data);
+        assertArrayEquals(new byte[] {17, 1}, writes.get(1).data);
+
+        device.setOutputFlushInterval(50);
+        for (int i = 0; i < 1000; i++) {
+            device.enqueue(5, new byte[] {5, (byte) i});
+        }
+        Thread.sleep(200);
+        writes = simulated.getWrites(info.path);
+Debug.println("writes: " + writes.size() + ", afterWrites: " + afterWrites.get());
+        assertTrue(writes.size() < 10);
+        assertArrayEquals(new byte[] {5, (byte) 999}, writes.get(writes.size() - 1).data);
+        assertEquals(writes.size() - 1, afterWrites.get());
+
+        device.enqueue(17, new byte[] {17, 2});
+        device.close(); // flushes
+        writes = simulated.getWrites(info.path);
+        assertArrayEquals(new byte[] {17, 2}, writes.get(writes.size() - 1).data);
+    }
+
+    @Test
+    @DisplayName("failure of scheduled flush thrown by flush and close, output thread stopped on shutdown")
+    void testOutputFlushFailure() throws Exception {
+        HidDevice.Info info = SimulatedHidDevices.info(9, 0x1209, 0x000a);
+        simulated.attach(info, new ReportStream(0, 8, 0));
+        HidDevices devices = new HidDevices(specification, simulated);
+        devices.scan();
+        HidDevice device = devices.getHidDevice(0x1209, 0x000a, null);
+        device.setOutputFlushInterval(10);
+        device.open();
+        Set<Thread> threads = outputThreads();
+
+        simulated.detach(info.path);
+        device.enqueue(5, new byte[] {5, 1});
+        Thread.sleep(100);
+        Set<Thread> started = outputThreads();
+        started.removeAll(threads);
+        assertEquals(1, started.size());
+        Thread thread = started.iterator().next();
+        assertThrows(java.io.IOException.class, device::flush);
+        assertEquals(0, device.flush());
+
+        device.enqueue(5, new byte[] {5, 2});
+        Thread.sleep(100);
+        assertThrows(java.io.IOException.class, device::close);
+        assertFalse(device.isOpen());
+
+        devices.shutdown();
+        thread.join(1000);
+        assertFalse(thread.isAlive());
+    }
+
+    /** */
+    static Set<Thread> outputThreads() {
+        Set<Thread> threads = new HashSet<>(Thread.getAllStackTraces().keySet());
+        threads.removeIf(t -> !t.getName().equals("hid4java-output"));
+        return threads;
+    }
+
+    @Test
+    @DisplayName("listeners called by the dispatcher of the input queue")
+    void testInputQueue() throws Exception {
+        HidDevice.Info info = SimulatedHidDevices.info(2, 0x1209, 0x0005);
+        simulated.attach(info, new ReportStream(1000, 8, 0));
+        HidDevice device = new HidDevice(info, simulated, null);
+        device.setInputQueueSize(16);
+        device.setOverflowPolicy(HidSpecification.OverflowPolicy.DROP_OLDEST);
+
+        CountDownLatch cdl = new CountDownLatch(10);
+        BlockingQueue<String> threads = new LinkedBlockingQueue<>();
+        device.addInputReportListener(event -> {
+            threads.offer(Thread.currentThread().getName());
+            cdl.countDown();
+        });
+        device.open();
+        assertTrue(cdl.await(1, TimeUnit.SECONDS));
+        device.close();
+        assertEquals("hid4java-dispatch-" + info.path, threads.poll());
+        assertEquals(0, device.getQueuedInputReports());
+    }
+
+    @Test
+    @DisplayName("input reports stamped with the time and the sequence")
+    void testTimestamp() throws Exception {
+        HidDevice.Info info = SimulatedHidDevices.info(3, 0x1209, 0x0006);
+        simulated.attach(info, new ReportStream(1000, 8, 200));
+        HidDevice device = new HidDevice(info, simulated, null);
+
+        CountDownLatch cdl = new CountDownLatch(100);
+        long[] last = {-1, 0};
+        int[] errors = {0};
+        device.addInputReportListener(event -> {
+            if (event.getSequence() != last[0] + 1 || event.getTime() < last[1]) {
+                errors[0]++;
+            }
+            last[0] = event.getSequence();
+            last[1] = event.getTime();
+            cdl.countDown();
+        });
+        device.open();
+        assertTrue(cdl.await(1, TimeUnit.SECONDS));
+        device.close();
+
+        assertEquals(0, errors[0]);
+        LatencyHistogram intervals = device.getInputIntervalHistogram();
+Debug.println("interval: " + intervals);
+Debug.println("delay: " + device.getDispatchDelayHistogram());
+        assertTrue(intervals.getCount() >= 99);
+        assertTrue(intervals.getValueAtPercentile(50) > TimeUnit.MICROSECONDS.toNanos(500));
+        assertTrue(device.getDispatchDelayHistogram().getCount() >= 100);
+    }
+
+    @Test
+    @DisplayName("metrics by jmx")
+    void testJmx() throws Exception {
+        List<String> paths = simulated.attach(3, 0x1209, 0x0007, new ReportStream(1000, 16, 0));
+        specification.setJmxEnabled(true);
+        HidDevices devices = new HidDevices(specification, simulated);
+        devices.start();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Set<ObjectName> names = server.queryNames(new ObjectName("org.hid4java:type=HidDevices,*"), null);
+        assertEquals(1, names.size());
+        ObjectName devicesName = names.iterator().next();
+        assertEquals(1L, server.getAttribute(devicesName, "ScanCount"));
+        assertEquals(3, server.getAttribute(devicesName, "AttachedDevices"));
+        assertEquals(3L, server.getAttribute(devicesName, "AttachedTotal"));
+
+        HidDevice device = devices.getHidDevice(0x1209, 0x0007, null);
+        CountDownLatch cdl = new CountDownLatch(10);
+        device.addInputReportListener(event -> cdl.countDown());
+        device.open();
+        ObjectName pattern = new ObjectName("org.hid4java:type=HidDevice,path=" + ObjectName.quote(device.getPath()) + ",*");
+        names = server.queryNames(pattern, null);
+        assertEquals(1, names.size());
+        ObjectName deviceName = names.iterator().next();
+        assertTrue(cdl.await(1, TimeUnit.SECONDS));
+        device.write(new byte[] {1, 2, 3}, 3, 1);
+
+        assertTrue((Long) server.getAttribute(deviceName, "InputReports") >= 10);
+        assertTrue((Long) server.getAttribute(deviceName, "BytesIn") >= 10 * 16);
+        assertEquals(1L, server.getAttribute(deviceName, "Writes"));
+        assertEquals(3L, server.getAttribute(deviceName, "BytesOut"));
+        assertEquals(0L, server.getAttribute(deviceName, "ReadErrors"));
+Debug.println("dispatch: " + server.getAttribute(deviceName, "MeanDispatchTime") + " us");
+
+        // another instance of the same path doesn't replace the bean, nor is unregistered by it
+        HidDevice another = devices.getHidDevice(0x1209, 0x0007, device.getSerialNumber());
+        assertEquals(device.getPath(), another.getPath());
+        another.open();
+        assertEquals(2, server.queryNames(pattern, null).size());
+        assertTrue(server.isRegistered(deviceName));
+        another.close();
+        assertTrue(server.isRegistered(deviceName));
+
+        device.close();
+        assertFalse(server.isRegistered(deviceName));
+        assertEquals(0, server.queryNames(pattern, null).size());
+        devices.shutdown();
+        assertFalse(server.isRegistered(devicesName));
+        assertTrue(paths.contains(device.getPath()));
+    }
+
+    @Test
+    @DisplayName("record to a journal and replay it")
+    void testRecordReplay() throws Exception {
+        HidDevice.Info info = SimulatedHidDevices.info(4, 0x1209, 0x0008);
+        simulated.attach(info, new ReportStream(1000, 16, 0));
+        HidDevice device = new HidDevice(info, simulated, () -> {});
+        Path journal = Files.createTempFile("hid4java", ".journal");
+
+        ReportRecorder recorder = new ReportRecorder(device, journal);
+        // after the recorder, so a report counted is recorded
+        CountDownLatch cdl = new CountDownLatch(100);
+        device.addInputReportListener(event -> cdl.countDown());
+        device.open();
+        assertTrue(cdl.await(1, TimeUnit.SECONDS));
+        device.write(new byte[] {2, 1}, 2, 2);
+        device.write(ByteBuffer.wrap(new byte[] {2, 2}), 2);
+        device.sendFeatureReport(new byte[] {3, 1, 2}, 3);
+        device.close();
+        recorder.close();
+        long entries = recorder.getEntries();
+Debug.println("entries: " + entries + ", " + Files.size(journal) + " bytes");
+
+        ReportJournal reader = ReportJournal.read(journal);
+        assertEquals(info.path, reader.getInfo().path);
+        assertEquals(0x1209, reader.getInfo().vendorId);
+        assertArrayEquals(SimulatedHidDevices.reportDescriptor(15), reader.getReportDescriptor());
+        List<byte[]> inputs = new ArrayList<>();
+        int outputs = 0;
+        long time = 0;
+        while (reader.next()) {
+            assertTrue(reader.getTime() >= time);
+            time = reader.getTime();
+            byte[] payload = new byte[reader.getLength()];
+            reader.getPayload(payload);
+            if (reader.getDirection() == ReportJournal.INPUT) {
+                assertEquals(16, payload.length);
+                inputs.add(payload);
+            } else {
+                if (outputs == 1) {
+                    assertArrayEquals(new byte[] {2, 2}, payload);
+                }
+                outputs++;
+            }
+        }
+        assertEquals(entries, inputs.size() + outputs);
+        assertEquals(3, outputs);
+        assertTrue(inputs.size() >= 100);
+
+        ReplayHidDevice replay = new ReplayHidDevice(journal, false);
+        HidDevice replayed = new HidDevice(replay.getInfo(), replay, () -> {});
+        List<byte[]> received = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(inputs.size());
+        replayed.addInputReportListener(event -> {
+            received.add(Arrays.copyOf(event.getReport(), event.getLength()));
+            done.countDown();
+        });
+        replayed.open();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        replayed.close();
+        for (int i = 0; i < inputs.size(); i++) {
+            assertArrayEquals(inputs.get(i), received.get(i));
+        }
+
+        // at the original timing
+        replay = new ReplayHidDevice(journal, true);
+        CountDownLatch realTime = new CountDownLatch(inputs.size());
+        replay.addInputReportListener(event -> realTime.countDown());
+        long t = System.nanoTime();
+        replay.open();
+        assertTrue(realTime.await(2, TimeUnit.SECONDS));
+        long elapsed = System.nanoTime() - t;
+Debug.println("real time: " + elapsed / 1_000_000 + " ms, recorded: " + time / 1_000_000 + " ms");
+        assertTrue(elapsed > TimeUnit.MILLISECONDS.toNanos(inputs.size() / 2));
+        replay.close();
+
+        Files.delete(journal);
+    }
+
+    @Test
+    @DisplayName("reports by demand of subscribers")
+    void testReports() throws Exception {
+        HidDevice.Info info = SimulatedHidDevices.info(3, 0x1209, 0x0009);
+        simulated.attach(info, new ReportStream(1000, 8, 0));
+        HidDevice device = new HidDevice(info, simulated, null);
+        Flow.Publisher<InputReport> publisher = device.reports(4, HidSpecification.OverflowPolicy.DROP_OLDEST);
+
+        // one by one
+        List<InputReport> a = new ArrayList<>();
+        CountDownLatch aReceived = new CountDownLatch(50);
+        CountDownLatch aCompleted = new CountDownLatch(1);
+        publisher.subscribe(new Flow.Subscriber<>() {
+            Flow.Subscription subscription;
+            @Override public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+            @Override public void onNext(InputReport item) {
+                synchronized (a) {
+                    a.add(item);
+                }
+                aReceived.countDown();
+                subscription.request(1);
+            }
+            @Override public void onError(Throwable throwable) {}
+            @Override public void onComplete() { aCompleted.countDown(); }
+        });
+
+        // 5 at first, then all of the rest
+        List<InputReport> b = new ArrayList<>();
+        CountDownLatch bCompleted = new CountDownLatch(1);
+        Flow.Subscription[] bSubscription = new Flow.Subscription[1];
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override public void onSubscribe(Flow.Subscription subscription) {
+                bSubscription[0] = subscription;
+                subscription.request(5);
+            }
+            @Override public void onNext(InputReport item) {
+                synchronized (b) {
+                    b.add(item);
+                }
+            }
+            @Override public void onError(Throwable throwable) {}
+            @Override public void onComplete() { bCompleted.countDown(); }
+        });
+
+        device.open();
+        assertTrue(aReceived.await(1, TimeUnit.SECONDS));
+        device.close();
+        assertTrue(aCompleted.await(1, TimeUnit.SECONDS));
+
+        synchronized (b) {
+            assertEquals(5, b.size());
+            assertSame(a.get(0), b.get(0));
+        }
+        for (int i = 1; i < a.size(); i++) {
+            assertEquals(a.get(i - 1).getSequence() + 1, a.get(i).getSequence());
+        }
+        assertEquals(1, bCompleted.getCount());
+
+        // the latest 4 buffered are delivered before the completion
+        bSubscription[0].request(Long.MAX_VALUE);
+        assertTrue(bCompleted.await(1, TimeUnit.SECONDS));
+Debug.println("a: " + a.size() + ", b: " + b.size() + ", last: " + b.get(b.size() - 1));
+        assertEquals(9, b.size());
+        assertTrue(b.get(5).getSequence() > b.get(4).getSequence() + 1);
+        assertEquals(8, b.get(8).getLength());
+
+        // a non-positive request is an error
+        Throwable[] error = new Throwable[1];
+        device.reports().subscribe(new Flow.Subscriber<>() {
+            @Override public void onSubscribe(Flow.Subscription subscription) { subscription.request(0); }
+            @Override public void onNext(InputReport item) {}
+            @Override public void onError(Throwable throwable) { error[0] = throwable; }
+            @Override public void onComplete() {}
+        });
+        assertTrue(error[0] instanceof IllegalArgumentException);
+        assertSame(device.reports(), device.reports());
+    }
+
+    @Test
+    @DisplayName("reports of devices merged in time order")
+    void testMerge() throws Exception {
+        simulated.attach(SimulatedHidDevices.info(10, 0x1209, 0x000a), new ReportStream(1000, 8, 300));
+        simulated.attach(SimulatedHidDevices.info(11, 0x1209, 0x000b), new ReportStream(700, 4, 300));
+        HidDevices devices = new HidDevices(specification, simulated);
+        devices.scan();
+        HidDevice device1 = devices.getHidDevice(0x1209, 0x000a, null);
+        HidDevice device2 = devices.getHidDevice(0x1209, 0x000b, null);
+
+        List<long[]> merged = new ArrayList<>();
+        Set<String> threads = new HashSet<>();
+        CountDownLatch cdl = new CountDownLatch(200);
+        MergedReportStream stream = devices.merge(List.of(device1, device2), 20, TimeUnit.MILLISECONDS, event -> {
+            merged.add(new long[] {event.getSource() == device1 ? 1 : 2, event.getTime(), event.getSequence()});
+            threads.add(Thread.currentThread().getName());
+            cdl.countDown();
+        });
+        device1.open();
+        device2.open();
+        assertTrue(cdl.await(2, TimeUnit.SECONDS));
+        stream.close();
+        device1.close();
+        device2.close();
+
+        // the merger is joined by close
+        List<long[]> results = merged;
+Debug.println("merged: " + stream.getDelivered() + ", late: " + stream.getLate() + ", dropped: " + stream.getDropped() + ", threads: " + threads);
+        assertEquals(Set.of("hid4java-merge"), threads);
+        assertEquals(0, stream.getLate());
+        long[] sequences = {0, -1, -1};
+        for (int i = 0; i < results.size(); i++) {
+            long[] r = results.get(i);
+            if (i > 0) {
+                assertTrue(r[1] >= results.get(i - 1)[1], "time order at " + i);
+            }
+            // in order per device
+            assertEquals(sequences[(int) r[0]] + 1, r[2]);
+            sequences[(int) r[0]] = r[2];
+        }
+        assertTrue(sequences[1] > 0);
+        assertTrue(sequences[2] > 0);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.windows;
+
+import java.util.concurrent.TimeUnit;
+
+import com.sun.jna.Memory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * DescriptorReconstructorBenchmark. {@link DescriptorReconstructor#hidWinapiDescriptorReconstructPpData}
+ * and its bit range lookup table over synthetic preparsed data.
+ * <p>
+ * the preparsed data is built in a {@link Memory} by the layout of hidapi, so this runs on a non windows box.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DescriptorReconstructorBenchmark {
+
+    /** number of link collections */
+    @Param({"1", "8", "32"})
+    int collections;
+
+    /** input caps per collection */
+    static final int CAPS_PER_COLLECTION = 4;
+
+    DescriptorReconstructor.hid_pp_caps_info[] capsInfo;
+    DescriptorReconstructor.hid_pp_cap[] caps;
+
+    /** the preparsed data of the same caps, the collections are children of the first one */
+    Memory preparsedData;
+
+    byte[] buf = new byte[4096];
+
+    @Setup
+    public void setup() {
+        int n = collections * CAPS_PER_COLLECTION;
+        caps = new DescriptorReconstructor.hid_pp_cap[n];
+        int bytePosition = 1;
+        for (int i = 0; i < n; i++) {
+            DescriptorReconstructor.hid_pp_cap cap = new DescriptorReconstructor.hid_pp_cap();
+            cap.UsagePage = 1;
+            cap.ReportID = (byte) (1 + i % 3);
+            cap.LinkCollection = (short) (i / CAPS_PER_COLLECTION);
+            cap.BytePosition = (short) bytePosition;
+            cap.BitPosition = 0;
+            cap.ReportSize = 8;
+            cap.ReportCount = 2;
+            bytePosition += 2;
+            caps[i] = cap;
+        }
+
+        // all caps are input
+        capsInfo = new DescriptorReconstructor.hid_pp_caps_info[DescriptorReconstructor.NUM_OF_HIDP_REPORT_TYPES];
+        for (int i = 0; i < capsInfo.length; i++) {
+            capsInfo[i] = new DescriptorReconstructor.hid_pp_caps_info();
+        }
+        capsInfo[0].FirstCap = 0;
+        capsInfo[0].LastCap = (short) n;
+        capsInfo[0].NumberOfCaps = (short) n;
+
+        preparsedData = new Memory(DescriptorReconstructorTest.CAPS + (long) n * DescriptorReconstructorTest.CAP_SIZE + (long) collections * DescriptorReconstructorTest.NODE_SIZE);
+        preparsedData.clear();
+        preparsedData.write(0, "HidP KDR".getBytes(), 0, 8);
+        preparsedData.setShort(16 + 4, (short) n); // caps_info[HidP_Input].LastCap
+        preparsedData.setShort(40, (short) (n * DescriptorReconstructorTest.CAP_SIZE));
+        preparsedData.setShort(42, (short) collections);
+        int[] bytePositions = {1, 1, 1};
+        for (int i = 0; i < n; i++) {
+            int reportId = 1 + i % 3;
+            DescriptorReconstructorTest.cap(preparsedData, i, 0x01, reportId, bytePositions[reportId - 1], 0, 8, 2, 0x02, i / CAPS_PER_COLLECTION,
+                    DescriptorReconstructor.hid_pp_cap.IsAbsolute, new int[] {0x30 + i % 8, i}, new int[] {0, 255}, new int[] {0, 0});
+            bytePositions[reportId - 1] += 2;
+        }
+        DescriptorReconstructorTest.node(preparsedData, n, 0, 0x01, 0x05, 0, collections - 1, 0, collections > 1 ? 1 : 0, 0x01);
+        for (int i = 1; i < collections; i++) {
+            DescriptorReconstructorTest.node(preparsedData, n, i, 0x01, 0x01, 0, 0, i + 1 < collections ? i + 1 : 0, 0, 0x00);
+        }
+    }
+
+    @Benchmark
+    public Object createCollBitRange() {
+        return DescriptorReconstructor.createCollBitRange(capsInfo, caps, collections);
+    }
+
+    @Benchmark
+    public int reconstruct() {
+        return DescriptorReconstructor.hidWinapiDescriptorReconstructPpData(preparsedData, buf, buf.length);
+    }
+}
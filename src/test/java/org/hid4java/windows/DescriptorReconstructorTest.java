@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.hid4java.windows;
+
+import java.util.Arrays;
+
+import com.sun.jna.Memory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * DescriptorReconstructorTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class DescriptorReconstructorTest {
+
+    static DescriptorReconstructor.hid_pp_cap cap(int reportId, int collection, int bytePosition, int bitPosition, int reportSize, int reportCount) {
+        DescriptorReconstructor.hid_pp_cap cap = new DescriptorReconstructor.hid_pp_cap();
+        cap.ReportID = (byte) reportId;
+        cap.LinkCollection = (short) collection;
+        cap.BytePosition = (short) bytePosition;
+        cap.BitPosition = (byte) bitPosition;
+        cap.ReportSize = (short) reportSize;
+        cap.ReportCount = (short) reportCount;
+        return cap;
+    }
+
+    /** sizeof(hid_pp_cap) of hidapi */
+    static final int CAP_SIZE = 104;
+    /** sizeof(hid_pp_link_collection_node) of hidapi */
+    static final int NODE_SIZE = 16;
+    /** offset of the caps of hidp_preparsed_data */
+    static final int CAPS = 44;
+
+    /**
+     * a cap by the offsets of hidapi's hid_pp_cap.
+     * @param range usage min, max and data index min, max for a range, usage and data index otherwise
+     * @param logical logical min, max
+     * @param physical physical min, max, null for a button
+     */
+    static void cap(Memory m, int capsIdx, int usagePage, int reportId, int bytePosition, int bitPosition, int reportSize, int reportCount,
+                    int bitField, int collection, int flags, int[] range, int[] logical, int[] physical) {
+        long p = CAPS + (long) capsIdx * CAP_SIZE;
+        m.setShort(p, (short) usagePage);
+        m.setByte(p + 2, (byte) reportId);
+        m.setByte(p + 3, (byte) bitPosition);
+        m.setShort(p + 4, (short) reportSize);
+        m.setShort(p + 6, (short) reportCount);
+        m.setShort(p + 8, (short) bytePosition);
+        m.setShort(p + 10, (short) (reportSize * reportCount));
+        m.setInt(p + 12, bitField);
+        m.setShort(p + 18, (short) collection);
+        m.setByte(p + 24, (byte) flags);
+        if ((flags & DescriptorReconstructor.hid_pp_cap.IsRange) != 0) {
+            m.setShort(p + 60, (short) range[0]);
+            m.setShort(p + 62, (short) range[1]);
+            m.setShort(p + 72, (short) range[2]);
+            m.setShort(p + 74, (short) range[3]);
+        } else {
+            m.setShort(p + 60, (short) range[0]);
+            m.setShort(p + 72, (short) range[1]);
+        }
+        if (physical == null) {
+            m.setInt(p + 76, logical[0]);
+            m.setInt(p + 80, logical[1]);
+        } else {
+            m.setInt(p + 80, logical[0]);
+            m.setInt(p + 84, logical[1]);
+            m.setInt(p + 88, physical[0]);
+            m.setInt(p + 92, physical[1]);
+        }
+    }
+
+    /** a link collection node by the offsets of hidapi's hid_pp_link_collection_node */
+    static void node(Memory m, int numberOfCaps, int collectionIdx, int usagePage, int usage, int parent, int numberOfChildren, int nextSibling, int firstChild, int collectionType) {
+        long p = CAPS + (long) numberOfCaps * CAP_SIZE + (long) collectionIdx * NODE_SIZE;
+        m.setShort(p, (short) usage);
+        m.setShort(p + 2, (short) usagePage);
+        m.setShort(p + 4, (short) parent);
+        m.setShort(p + 6, (short) numberOfChildren);
+        m.setShort(p + 8, (short) nextSibling);
+        m.setShort(p + 10, (short) firstChild);
+        m.setInt(p + 12, collectionType);
+    }
+
+    /**
+     * preparsed data of a game pad, input report 1 of 8 buttons and x, y and z, rz in physical collections,
+     * output report 2 of a led and feature report 3 of a resolution multiplier.
+     * the sibling collections are linked in the reverse order of the bits.
+     */
+    static Memory gamePad() {
+        int numberOfCaps = 7;
+        int numberOfNodes = 3;
+        Memory m = new Memory(CAPS + numberOfCaps * CAP_SIZE + numberOfNodes * NODE_SIZE);
+        m.clear();
+        m.write(0, "HidP KDR".getBytes(), 0, 8);
+        m.setShort(8, (short) 0x05);
+        m.setShort(10, (short) 0x01);
+        int[][] capsInfo = {{0, 5, 6}, {5, 6, 2}, {6, 7, 2}}; // FirstCap, LastCap, ReportByteLength
+        for (int rtIdx = 0; rtIdx < capsInfo.length; rtIdx++) {
+            m.setShort(16 + rtIdx * 8, (short) capsInfo[rtIdx][0]);
+            m.setShort(16 + rtIdx * 8 + 2, (short) (capsInfo[rtIdx][1] - capsInfo[rtIdx][0]));
+            m.setShort(16 + rtIdx * 8 + 4, (short) capsInfo[rtIdx][1]);
+            m.setShort(16 + rtIdx * 8 + 6, (short) capsInfo[rtIdx][2]);
+        }
+        m.setShort(40, (short) (numberOfCaps * CAP_SIZE));
+        m.setShort(42, (short) numberOfNodes);
+
+        int button = DescriptorReconstructor.hid_pp_cap.IsButtonCap | DescriptorReconstructor.hid_pp_cap.IsAbsolute;
+        int value = DescriptorReconstructor.hid_pp_cap.IsAbsolute;
+        int range = DescriptorReconstructor.hid_pp_cap.IsRange;
+        // input
+        cap(m, 0, 0x09, 1, 1, 0, 1, 8, 0x02, 0, button | range, new int[] {1, 8, 0, 7}, new int[] {0, 1}, null);
+        cap(m, 1, 0x01, 1, 2, 0, 8, 1, 0x02, 1, value, new int[] {0x30, 8}, new int[] {-127, 127}, new int[] {0, 0});
+        cap(m, 2, 0x01, 1, 3, 0, 8, 1, 0x02, 1, value, new int[] {0x31, 9}, new int[] {-127, 127}, new int[] {0, 0});
+        cap(m, 3, 0x01, 1, 4, 0, 8, 1, 0x02, 2, value, new int[] {0x32, 10}, new int[] {-127, 127}, new int[] {0, 0});
+        cap(m, 4, 0x01, 1, 5, 0, 8, 1, 0x02, 2, value, new int[] {0x35, 11}, new int[] {-127, 127}, new int[] {0, 0});
+        // output
+        cap(m, 5, 0x08, 2, 1, 0, 1, 1, 0x02, 0, button, new int[] {0x01, 0}, new int[] {0, 1}, null);
+        // feature
+        cap(m, 6, 0x01, 3, 1, 0, 8, 1, 0x02, 0, value, new int[] {0x48, 0}, new int[] {0, 15}, new int[] {1, 16});
+
+        node(m, numberOfCaps, 0, 0x01, 0x05, 0, 2, 0, 1, 0x01); // application
+        node(m, numberOfCaps, 1, 0x01, 0x01, 0, 0, 2, 0, 0x00); // physical
+        node(m, numberOfCaps, 2, 0x01, 0x01, 0, 0, 0, 0, 0x00); // physical
+        return m;
+    }
+
+    /** the descriptor of {@link #gamePad()} reconstructed by hidapi, the same by the dense bit range table */
+    static final byte[] GAME_PAD = {
+            0x05, 0x01, 0x09, 0x05, (byte) 0xa1, 0x01, // Usage Page (Generic Desktop), Usage (Game Pad), Collection (Application)
+            (byte) 0x85, 0x01, // Report ID (1)
+            0x05, 0x09, 0x19, 0x01, 0x29, 0x08, 0x15, 0x00, 0x25, 0x01, 0x75, 0x01, (byte) 0x95, 0x08, (byte) 0x81, 0x02, // 8 buttons
+            0x05, 0x01, 0x09, 0x01, (byte) 0xa1, 0x00, // Usage Page (Generic Desktop), Usage (Pointer), Collection (Physical)
+            0x09, 0x30, 0x09, 0x31, 0x15, (byte) 0x81, 0x25, 0x7f, 0x75, 0x08, (byte) 0x95, 0x02, (byte) 0x81, 0x02, // x, y
+            (byte) 0xc0,
+            0x09, 0x01, (byte) 0xa1, 0x00, // Usage (Pointer), Collection (Physical)
+            0x09, 0x32, 0x09, 0x35, 0x15, (byte) 0x81, 0x25, 0x7f, 0x75, 0x08, (byte) 0x95, 0x02, (byte) 0x81, 0x02, // z, rz
+            (byte) 0xc0,
+            (byte) 0x85, 0x02, // Report ID (2)
+            0x05, 0x08, 0x09, 0x01, 0x15, 0x00, 0x25, 0x01, 0x75, 0x01, (byte) 0x95, 0x01, (byte) 0x91, 0x02, // num lock
+            0x75, 0x07, (byte) 0x95, 0x01, (byte) 0x91, 0x03, // padding
+            (byte) 0x85, 0x03, // Report ID (3)
+            0x05, 0x01, 0x09, 0x48, 0x15, 0x00, 0x25, 0x0f, 0x35, 0x01, 0x45, 0x10, 0x75, 0x08, (byte) 0x95, 0x01, (byte) 0xb1, 0x02, // resolution multiplier
+            (byte) 0xc0,
+    };
+
+    @Test
+    @DisplayName("the layout of the structures is the one of hidapi")
+    void testLayout() throws Exception {
+        assertEquals(CAP_SIZE, new DescriptorReconstructor.hid_pp_cap().size());
+        assertEquals(NODE_SIZE, new DescriptorReconstructor.hid_pp_link_collection_node().size());
+
+        DescriptorReconstructor.hidp_preparsed_data ppData = new DescriptorReconstructor.hidp_preparsed_data(gamePad());
+        assertEquals(7, ppData.u.caps.length);
+        assertEquals(5, ppData.caps_info[1].FirstCap);
+        assertEquals(0x48, ppData.u.caps[6].u1.notRange.Usage);
+        assertEquals(16, ppData.u.caps[6].u2.notButton.PhysicalMax);
+        assertEquals(8, ppData.u.caps[0].u1.range.UsageMax);
+        assertEquals(1, ppData.u.caps[0].u2.button.LogicalMax);
+    }
+
+    @Test
+    @DisplayName("reconstruct a descriptor from the preparsed data")
+    void testReconstruct() throws Exception {
+        byte[] buf = new byte[4096];
+        int length = DescriptorReconstructor.hidWinapiDescriptorReconstructPpData(gamePad(), buf, buf.length);
+        assertArrayEquals(GAME_PAD, Arrays.copyOf(buf, length));
+    }
+
+    @Test
+    @DisplayName("bit ranges of the report ids used only")
+    void testCollBitRange() throws Exception {
+        DescriptorReconstructor.hid_pp_cap[] caps = {
+                // input
+                cap(1, 0, 1, 0, 8, 2),
+                cap(1, 1, 3, 4, 1, 4),
+                cap(3, 1, 1, 0, 16, 1),
+                cap(1, 1, 2, 0, 8, 1),
+                // output
+                cap(0xff, 2, 5, 0, 8, 8),
+                // feature
+                cap(3, 2, 1, 0, 8, 1),
+        };
+        DescriptorReconstructor.hid_pp_caps_info[] capsInfo = new DescriptorReconstructor.hid_pp_caps_info[DescriptorReconstructor.NUM_OF_HIDP_REPORT_TYPES];
+        int[][] ranges = {{0, 4}, {4, 5}, {5, 6}};
+        for (int i = 0; i < capsInfo.length; i++) {
+            capsInfo[i] = new DescriptorReconstructor.hid_pp_caps_info();
+            capsInfo[i].FirstCap = (short) ranges[i][0];
+            capsInfo[i].LastCap = (short) ranges[i][1];
+        }
+
+        DescriptorReconstructor.CollBitRange collBitRange = DescriptorReconstructor.createCollBitRange(capsInfo, caps, 3);
+        assertArrayEquals(new int[] {1, 3, 0xff}, collBitRange.reportIds);
+        assertEquals(3 * 3 * 3 * 2, collBitRange.bits.length);
+
+        // the same as the dense table of every report id
+        for (int collection = 0; collection < 3; collection++) {
+            for (int reportId = 0; reportId < 256; reportId++) {
+                for (int rt = 0; rt < DescriptorReconstructor.NUM_OF_HIDP_REPORT_TYPES; rt++) {
+                    int firstBit = -1, lastBit = -1;
+                    for (int i = ranges[rt][0]; i < ranges[rt][1]; i++) {
+                        if (caps[i].LinkCollection == collection && (caps[i].ReportID & 0xff) == reportId) {
+                            int first = (caps[i].BytePosition - 1) * 8 + caps[i].BitPosition;
+                            int last = first + caps[i].ReportSize * caps[i].ReportCount - 1;
+                            if (firstBit == -1 || firstBit > first) {
+                                firstBit = first;
+                            }
+                            lastBit = Math.max(lastBit, last);
+                        }
+                    }
+                    assertEquals(firstBit, collBitRange.firstBit(collection, reportId, rt), collection + ", " + reportId + ", " + rt);
+                    assertEquals(lastBit, collBitRange.lastBit(collection, reportId, rt), collection + ", " + reportId + ", " + rt);
+                }
+            }
+        }
+        assertEquals(8, collBitRange.firstBit(1, 1, 0));
+        assertEquals(23, collBitRange.lastBit(1, 1, 0));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.games.input.hid4java.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.java.games.input.Component;
+import net.java.games.input.Event;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vavi.games.input.hid4java.spi.plugin.DualShock4Plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Hid4JavaComponentTableTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class Hid4JavaComponentTableTest {
+
+    static Hid4JavaComponent[] components() {
+        List<Hid4JavaComponent> components = new ArrayList<>();
+        components.add(new Hid4JavaComponent("x", Component.Identifier.Axis.X, 0, 8));
+        components.add(new Hid4JavaComponent("hat switch", Component.Identifier.Axis.POV, 4 * 8, 4));
+        components.add(new Hid4JavaComponent("button 0", Component.Identifier.Button._0, 4 * 8 + 4, 1));
+        components.add(new Hid4JavaComponent("odd", Component.Identifier.Value, 3, 27));
+        new DualShock4Plugin().getExtraComponents(null).forEach(c -> components.add((Hid4JavaComponent) c));
+        return components.toArray(Hid4JavaComponent[]::new);
+    }
+
+    @Test
+    @DisplayName("compiled extractors decode as same as fields and pickers")
+    void testDecode() throws Exception {
+        Hid4JavaComponent[] components = components();
+        Hid4JavaComponentTable table = Hid4JavaComponentTable.compile(components);
+
+        for (byte[] report : Hid4JavaInputEventBenchmark.load("/ds4_reports.txt")) {
+            for (int i = 0; i < table.size(); i++) {
+                assertEquals(components[i].getValue(report), table.decode(i, report), components[i].getName());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("changed values only by the table")
+    void testSet() throws Exception {
+        Hid4JavaComponent[] components = components();
+        Hid4JavaComponentTable table = Hid4JavaComponentTable.compile(components);
+        Hid4JavaInputEvent inputEvent = new Hid4JavaInputEvent(this);
+        Event event = new Event();
+
+        byte[] report = Hid4JavaInputEventBenchmark.load("/ds4_reports.txt").get(0);
+        inputEvent.set(table, report);
+        int n = 0;
+        while (inputEvent.getNextEvent(event)) {
+            assertEquals(((Hid4JavaComponent) event.getComponent()).getValue(report), event.getValue(), 0f);
+            n++;
+        }
+        assertTrue(n > 0);
+
+        inputEvent.set(table, report);
+        assertFalse(inputEvent.getNextEvent(event));
+    }
+
+    @Test
+    @DisplayName("bulk copy of changed values")
+    void testDrain() throws Exception {
+        Hid4JavaComponent[] components = components();
+        Hid4JavaComponentTable table = Hid4JavaComponentTable.compile(components);
+        Hid4JavaInputEvent inputEvent = new Hid4JavaInputEvent(this);
+        Event event = new Event();
+        int[] indices = new int[table.size()];
+        float[] values = new float[table.size()];
+
+        byte[] report = Hid4JavaInputEventBenchmark.load("/ds4_reports.txt").get(1);
+        inputEvent.set(table, report);
+        assertTrue(inputEvent.getNextEvent(event));
+        int remaining = inputEvent.getRemaining();
+        int n = inputEvent.drainTo(indices, values);
+        assertEquals(remaining, n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(components[indices[i]].getValue(report), values[i], 0f);
+        }
+        assertEquals(0, inputEvent.getRemaining());
+        assertFalse(inputEvent.getNextEvent(event));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.games.input.hid4java.spi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.java.games.input.Component;
+import net.java.games.input.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import vavi.games.input.hid4java.spi.plugin.DualShock4Plugin;
+
+
+/**
+ * Hid4JavaInputEventBenchmark. {@link Hid4JavaInputEvent#set} and draining events
+ * over the DualShock4 input reports in "/ds4_reports.txt",
+ * by the component array (decoded twice per component) and by the compiled {@link Hid4JavaComponentTable}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Hid4JavaInputEventBenchmark {
+
+    /** @return hex bytes lines as byte arrays */
+    static List<byte[]> load(String name) throws IOException {
+        List<byte[]> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Hid4JavaInputEventBenchmark.class.getResourceAsStream(name)))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] hexes = line.trim().split("\\s+");
+                byte[] bytes = new byte[hexes.length];
+                for (int i = 0; i < hexes.length; i++) {
+                    bytes[i] = (byte) Integer.parseInt(hexes[i], 16);
+                }
+                result.add(bytes);
+            }
+        }
+        return result;
+    }
+
+    byte[][] reports;
+    Hid4JavaComponent[] components;
+    Hid4JavaComponentTable table;
+    Hid4JavaInputEvent inputEvent;
+    Event event;
+    int index;
+    int[] indices;
+    float[] values;
+
+    @Setup
+    public void setup() throws Exception {
+        reports = load("/ds4_reports.txt").toArray(byte[][]::new);
+
+        List<Hid4JavaComponent> components = new ArrayList<>();
+        components.add(new Hid4JavaComponent("x", Component.Identifier.Axis.X, 0, 8));
+        components.add(new Hid4JavaComponent("y", Component.Identifier.Axis.Y, 8, 8));
+        components.add(new Hid4JavaComponent("z", Component.Identifier.Axis.Z, 2 * 8, 8));
+        components.add(new Hid4JavaComponent("rz", Component.Identifier.Axis.RZ, 3 * 8, 8));
+        components.add(new Hid4JavaComponent("hat switch", Component.Identifier.Axis.POV, 4 * 8, 4));
+        Component.Identifier.Button[] buttons = {
+                Component.Identifier.Button._0, Component.Identifier.Button._1, Component.Identifier.Button._2,
+                Component.Identifier.Button._3, Component.Identifier.Button._4, Component.Identifier.Button._5,
+                Component.Identifier.Button._6, Component.Identifier.Button._7, Component.Identifier.Button._8,
+                Component.Identifier.Button._9, Component.Identifier.Button._10, Component.Identifier.Button._11,
+                Component.Identifier.Button._12, Component.Identifier.Button._13
+        };
+        for (int i = 0; i < buttons.length; i++) {
+            components.add(new Hid4JavaComponent("button " + i, buttons[i], 4 * 8 + 4 + i, 1));
+        }
+        components.add(new Hid4JavaComponent("rx", Component.Identifier.Axis.RX, 7 * 8, 8));
+        components.add(new Hid4JavaComponent("ry", Component.Identifier.Axis.RY, 8 * 8, 8));
+        new DualShock4Plugin().getExtraComponents(null).forEach(c -> components.add((Hid4JavaComponent) c));
+        this.components = components.toArray(Hid4JavaComponent[]::new);
+        table = Hid4JavaComponentTable.compile(this.components);
+
+        inputEvent = new Hid4JavaInputEvent(this);
+        event = new Event();
+        indices = new int[this.components.length];
+        values = new float[this.components.length];
+    }
+
+    @Benchmark
+    public void set(Blackhole bh) {
+        byte[] report = reports[index++ % reports.length];
+        inputEvent.set(components, report);
+        while (inputEvent.getNextEvent(event)) {
+            bh.consume(event.getValue());
+        }
+    }
+
+    @Benchmark
+    public void setCompiled(Blackhole bh) {
+        byte[] report = reports[index++ % reports.length];
+        inputEvent.set(table, report);
+        while (inputEvent.getNextEvent(event)) {
+            bh.consume(event.getValue());
+        }
+    }
+
+    @Benchmark
+    public void drainCompiled(Blackhole bh) {
+        byte[] report = reports[index++ % reports.length];
+        inputEvent.set(table, report);
+        int n = inputEvent.drainTo(indices, values);
+        for (int i = 0; i < n; i++) {
+            bh.consume(values[i]);
+        }
+    }
+}